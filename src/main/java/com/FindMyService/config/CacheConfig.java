@@ -0,0 +1,36 @@
+package com.FindMyService.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String SERVICES = "services";
+    public static final String PROVIDERS = "providers";
+    public static final String USERS = "users";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.entities.maximum-size:10000}") long maximumSize,
+                                     @Value("${cache.entities.expire-after-write:10m}") Duration expireAfterWrite) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats());
+        caffeineCacheManager.setAllowNullValues(false);
+        caffeineCacheManager.setCacheNames(List.of(SERVICES, PROVIDERS, USERS));
+        // Evictions are deferred until commit so a concurrent read cannot re-cache the pre-update row.
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
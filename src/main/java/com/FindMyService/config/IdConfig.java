@@ -0,0 +1,16 @@
+package com.FindMyService.config;
+
+import com.FindMyService.model.id.TimeOrderedIds;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdConfig {
+
+    // Every instance writing to the same database needs its own node id (0-31).
+    @Bean
+    public TimeOrderedIds timeOrderedIds(@Value("${ids.node-id:0}") int nodeId) {
+        return new TimeOrderedIds(nodeId);
+    }
+}
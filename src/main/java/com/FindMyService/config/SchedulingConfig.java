@@ -0,0 +1,38 @@
+package com.FindMyService.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+// The outbox dispatcher can sit in webhook timeouts for a long time and the nightly rating reconciliation runs for
+// minutes, so each has its own thread and never delays the feedback write-behind drain on the default scheduler.
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    public static final String OUTBOX_SCHEDULER = "outboxScheduler";
+    public static final String RECONCILE_SCHEDULER = "reconcileScheduler";
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        return scheduler("scheduling-");
+    }
+
+    @Bean(OUTBOX_SCHEDULER)
+    public ThreadPoolTaskScheduler outboxScheduler() {
+        return scheduler("outbox-");
+    }
+
+    @Bean(RECONCILE_SCHEDULER)
+    public ThreadPoolTaskScheduler reconcileScheduler() {
+        return scheduler("rating-reconcile-");
+    }
+
+    private static ThreadPoolTaskScheduler scheduler(String threadNamePrefix) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix(threadNamePrefix);
+        return scheduler;
+    }
+}
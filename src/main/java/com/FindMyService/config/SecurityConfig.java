@@ -30,6 +30,7 @@ public class SecurityConfig {
             "/api/v1/services/**",
             "/api/v1/providers/**",
             "/api/v1/feedbacks/**",
+            "/api/v1/search/**",
             "/actuator/health/**"
     };
     private static final String[] SWAGGER_ENDPOINTS = {
@@ -58,6 +59,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(PUBLIC_ENDPOINTS).permitAll()
                         .requestMatchers(SWAGGER_ENDPOINTS).permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .anyRequest().authenticated()
                 )
@@ -1,8 +1,18 @@
 package com.FindMyService.controller;
 
+import com.FindMyService.ingest.FeedbackIngestor;
 import com.FindMyService.model.Feedback;
 import com.FindMyService.model.dto.FeedbackDto;
+import com.FindMyService.model.enums.DataFormat;
+import com.FindMyService.model.enums.FeedbackSort;
+import com.FindMyService.model.enums.FeedbackView;
+import com.FindMyService.model.enums.RatingScope;
+import com.FindMyService.service.ExportService;
 import com.FindMyService.service.FeedbackService;
+import com.FindMyService.service.RatingReconciliationService;
+import com.FindMyService.utils.ResponseBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -13,9 +23,18 @@ import java.util.List;
 public class FeedbackController {
 
     private final FeedbackService feedbackService;
+    private final ExportService exportService;
+    private final RatingReconciliationService ratingReconciliationService;
+    private final ObjectProvider<FeedbackIngestor> feedbackIngestor;
 
-    public FeedbackController(FeedbackService feedbackService) {
+    public FeedbackController(FeedbackService feedbackService,
+                              ExportService exportService,
+                              RatingReconciliationService ratingReconciliationService,
+                              ObjectProvider<FeedbackIngestor> feedbackIngestor) {
         this.feedbackService = feedbackService;
+        this.exportService = exportService;
+        this.ratingReconciliationService = ratingReconciliationService;
+        this.feedbackIngestor = feedbackIngestor;
     }
 
     @GetMapping
@@ -24,19 +43,88 @@ public class FeedbackController {
         return ResponseEntity.ok(feedbackService.getAllFeedbacks());
     }
 
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> exportFeedbacks(@RequestParam(required = false) String format) {
+        try {
+            return exportService.exportFeedbacks(DataFormat.fromParam(format));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseBuilder.badRequest(ex.getMessage()));
+        }
+    }
+
+    @PostMapping("/reconcile")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> reconcileRatings() {
+        try {
+            return ResponseEntity.ok(ratingReconciliationService.reconcile());
+        } catch (IllegalStateException ex) {
+            return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body(ResponseBuilder.conflict(ex.getMessage()));
+        }
+    }
+
     @GetMapping("/service/{serviceId}")
-    public ResponseEntity<?> getAllFeedbacksForService(@PathVariable Long serviceId) {
-        return feedbackService.getAllFeedbacksForService(serviceId);
+    public ResponseEntity<?> getAllFeedbacksForService(@PathVariable Long serviceId,
+                                                       @RequestParam(required = false) String sort,
+                                                       @RequestParam(required = false) String view,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer limit) {
+        try {
+            if (FeedbackView.fromParam(view) == FeedbackView.SUMMARY) {
+                return feedbackService.getFeedbackSummariesForService(serviceId, FeedbackSort.fromParam(sort), cursor, limit);
+            }
+            return feedbackService.getAllFeedbacksForService(serviceId, FeedbackSort.fromParam(sort), cursor, limit);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseBuilder.badRequest(ex.getMessage()));
+        }
+    }
+
+    @GetMapping("/{feedbackId}/comment")
+    public ResponseEntity<?> getFeedbackComment(@PathVariable Long feedbackId) {
+        return feedbackService.getFeedbackComment(feedbackId);
+    }
+
+    @GetMapping("/service/{serviceId}/histogram")
+    public ResponseEntity<?> getServiceRatingHistogram(@PathVariable Long serviceId) {
+        return feedbackService.getRatingHistogram(RatingScope.SERVICE, serviceId);
     }
 
     @PostMapping
     @PreAuthorize("hasAnyAuthority('USER','ADMIN')")
     public ResponseEntity<?> createFeedback(@RequestBody FeedbackDto feedbackDto) {
+        FeedbackIngestor ingestor = feedbackIngestor.getIfAvailable();
+        if (ingestor != null) {
+            return ingestor.submit(feedbackDto);
+        }
         return feedbackService.createFeedback(feedbackDto);
     }
 
     @GetMapping("/provider/{providerId}")
-    public ResponseEntity<?> getAllFeedbacksForProvider(@PathVariable Long providerId) {
-        return feedbackService.getAllFeedbacksForProvider(providerId);
+    public ResponseEntity<?> getAllFeedbacksForProvider(@PathVariable Long providerId,
+                                                        @RequestParam(required = false) String sort,
+                                                        @RequestParam(required = false) String view,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit) {
+        try {
+            if (FeedbackView.fromParam(view) == FeedbackView.SUMMARY) {
+                return feedbackService.getFeedbackSummariesForProvider(providerId, FeedbackSort.fromParam(sort), cursor, limit);
+            }
+            return feedbackService.getAllFeedbacksForProvider(providerId, FeedbackSort.fromParam(sort), cursor, limit);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseBuilder.badRequest(ex.getMessage()));
+        }
+    }
+
+    @GetMapping("/provider/{providerId}/histogram")
+    public ResponseEntity<?> getProviderRatingHistogram(@PathVariable Long providerId) {
+        return feedbackService.getRatingHistogram(RatingScope.PROVIDER, providerId);
     }
 }
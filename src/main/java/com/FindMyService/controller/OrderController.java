@@ -2,14 +2,23 @@ package com.FindMyService.controller;
 
 import com.FindMyService.model.Order;
 import com.FindMyService.model.dto.OrderDto;
+import com.FindMyService.model.dto.OrderFilter;
+import com.FindMyService.model.dto.ResourceVersion;
+import com.FindMyService.model.enums.DataFormat;
+import com.FindMyService.model.enums.OrderStatus;
+import com.FindMyService.service.ExportService;
 import com.FindMyService.service.OrderService;
+import com.FindMyService.utils.ETags;
 import com.FindMyService.utils.ResponseBuilder;
 import com.FindMyService.utils.OwnerCheck;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.time.Instant;
 import java.util.List;
 
 @RequestMapping("/api/v1/orders")
@@ -18,10 +27,12 @@ public class OrderController {
 
     private final OrderService orderService;
     private final OwnerCheck ownerCheck;
+    private final ExportService exportService;
 
-    public OrderController(OrderService orderService, OwnerCheck ownerCheck) {
+    public OrderController(OrderService orderService, OwnerCheck ownerCheck, ExportService exportService) {
         this.orderService = orderService;
         this.ownerCheck = ownerCheck;
+        this.exportService = exportService;
     }
 
     @GetMapping
@@ -30,8 +41,25 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getAllOrders());
     }
 
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> exportOrders(@RequestParam(required = false) String format) {
+        try {
+            return exportService.exportOrders(DataFormat.fromParam(format));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseBuilder.badRequest(ex.getMessage()));
+        }
+    }
+
     @GetMapping("/{orderId}")
-    public ResponseEntity<?> getOrderById(@PathVariable Long orderId) {
+    public ResponseEntity<?> getOrderById(@PathVariable Long orderId, WebRequest webRequest) {
+        ResourceVersion version = orderService.getOrderVersion(orderId);
+        if (version.exists()
+                && webRequest.checkNotModified(ETags.of("order", orderId, version), version.lastModifiedMillis())) {
+            return null;
+        }
         return orderService.getOrderById(orderId)
                 .map(order -> ResponseEntity.ok((Object) order))
                 .orElseGet(() -> ResponseEntity
@@ -90,7 +118,13 @@ public class OrderController {
 
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('USER')")
-    public ResponseEntity<?> getOrdersByUser(@PathVariable Long userId) {
+    public ResponseEntity<?> getOrdersByUser(@PathVariable Long userId,
+                                             @RequestParam(required = false) String status,
+                                             @RequestParam(required = false) Instant from,
+                                             @RequestParam(required = false) Instant to,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer limit,
+                                             WebRequest webRequest) {
         try {
             ownerCheck.verifyOwner(userId);
         } catch (AccessDeniedException ex) {
@@ -98,12 +132,34 @@ public class OrderController {
                     .status(HttpStatus.FORBIDDEN)
                     .body(ResponseBuilder.forbidden("You are not authorized to access these orders"));
         }
-        return orderService.getOrdersByUser(userId);
+        ResourceVersion version = orderService.getUserOrdersVersion(userId);
+        if (version.exists()
+                && webRequest.checkNotModified(ETags.of("user-orders", userId, version), version.lastModifiedMillis())) {
+            return null;
+        }
+        try {
+            OrderFilter filter = OrderFilter.builder()
+                    .status(OrderStatus.fromParam(status))
+                    .from(from)
+                    .to(to)
+                    .build();
+            return orderService.getOrdersByUser(userId, filter, cursor, limit);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseBuilder.badRequest(ex.getMessage()));
+        }
     }
 
     @GetMapping("/provider/{providerId}")
     @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('PROVIDER')")
-    public ResponseEntity<?> getOrdersByProvider(@PathVariable Long providerId) {
+    public ResponseEntity<?> getOrdersByProvider(@PathVariable Long providerId,
+                                                 @RequestParam(required = false) String status,
+                                                 @RequestParam(required = false) Instant from,
+                                                 @RequestParam(required = false) Instant to,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer limit,
+                                                 WebRequest webRequest) {
         try {
             ownerCheck.verifyOwner(providerId);
         } catch (AccessDeniedException ex) {
@@ -111,7 +167,23 @@ public class OrderController {
                     .status(HttpStatus.FORBIDDEN)
                     .body(ResponseBuilder.forbidden("You are not authorized to access these orders"));
         }
-        return orderService.getOrdersByProvider(providerId);
+        ResourceVersion version = orderService.getProviderOrdersVersion(providerId);
+        if (version.exists()
+                && webRequest.checkNotModified(ETags.of("provider-orders", providerId, version), version.lastModifiedMillis())) {
+            return null;
+        }
+        try {
+            OrderFilter filter = OrderFilter.builder()
+                    .status(OrderStatus.fromParam(status))
+                    .from(from)
+                    .to(to)
+                    .build();
+            return orderService.getOrdersByProvider(providerId, filter, cursor, limit);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseBuilder.badRequest(ex.getMessage()));
+        }
     }
 
     @PatchMapping("/{orderId}")
@@ -128,6 +200,10 @@ public class OrderController {
             return ResponseEntity
                     .status(HttpStatus.BAD_REQUEST)
                     .body(ResponseBuilder.badRequest(ex.getMessage()));
+        } catch (IllegalStateException | OptimisticLockingFailureException ex) {
+            return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body(ResponseBuilder.conflict(ex.getMessage()));
         } catch (Exception ex) {
             return ResponseEntity
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
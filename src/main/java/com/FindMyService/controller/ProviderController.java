@@ -1,19 +1,27 @@
 package com.FindMyService.controller;
 
 import com.FindMyService.model.Provider;
+import com.FindMyService.model.dto.LeaderboardEntryDto;
 import com.FindMyService.model.dto.ProviderDto;
+import com.FindMyService.model.dto.ResourceVersion;
+import com.FindMyService.model.enums.DataFormat;
+import com.FindMyService.service.CatalogSnapshotService;
+import com.FindMyService.service.ExportService;
 import com.FindMyService.service.ProviderService;
+import com.FindMyService.service.SearchService;
 import com.FindMyService.utils.DtoMapper;
+import com.FindMyService.utils.ETags;
 import com.FindMyService.utils.ResponseBuilder;
 import com.FindMyService.utils.OwnerCheck;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RequestMapping("/api/v1/providers")
 @RestController
@@ -21,23 +29,51 @@ public class ProviderController {
 
     private final ProviderService providerService;
     private final OwnerCheck ownerCheck;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final SearchService searchService;
+    private final ExportService exportService;
 
-    public ProviderController(ProviderService providerService, OwnerCheck ownerCheck) {
+    public ProviderController(ProviderService providerService, OwnerCheck ownerCheck,
+                              CatalogSnapshotService catalogSnapshotService, SearchService searchService,
+                              ExportService exportService) {
         this.providerService = providerService;
         this.ownerCheck = ownerCheck;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.searchService = searchService;
+        this.exportService = exportService;
     }
 
     @GetMapping
-    public ResponseEntity<List<ProviderDto>> getAllProviders() {
-        List<ProviderDto> dtos = providerService.getAllProviders()
-                .stream()
-                .map(DtoMapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<byte[]> getAllProviders(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return catalogSnapshotService.providers().toResponse(acceptEncoding);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> exportProviders(@RequestParam(required = false) String format) {
+        try {
+            return exportService.exportProviders(DataFormat.fromParam(format));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseBuilder.badRequest(ex.getMessage()));
+        }
+    }
+
+    @GetMapping("/top")
+    public ResponseEntity<List<LeaderboardEntryDto>> getTopProviders(@RequestParam(required = false) String city,
+                                                                     @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(searchService.topProviders(city, limit));
     }
 
     @GetMapping("/{providerId}")
-    public ResponseEntity<?> getProvider(@PathVariable Long providerId) {
+    public ResponseEntity<?> getProvider(@PathVariable Long providerId, WebRequest webRequest) {
+        ResourceVersion version = providerService.getProviderVersion(providerId);
+        if (version.exists()
+                && webRequest.checkNotModified(ETags.of("provider", providerId, version), version.lastModifiedMillis())) {
+            return null;
+        }
         return providerService.getProviderById(providerId)
                 .map(DtoMapper::toDto)
                 .map(dto -> ResponseEntity.ok((Object) dto))
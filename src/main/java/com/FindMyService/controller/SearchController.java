@@ -0,0 +1,54 @@
+package com.FindMyService.controller;
+
+import com.FindMyService.model.dto.NearbyServiceDto;
+import com.FindMyService.model.dto.SearchHitDto;
+import com.FindMyService.service.SearchService;
+import com.FindMyService.utils.ResponseBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RequestMapping("/api/v1/search")
+@RestController
+public class SearchController {
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam String q,
+                                    @RequestParam(required = false) Integer limit) {
+        try {
+            List<SearchHitDto> hits = searchService.searchServices(q, limit);
+            return ResponseEntity.ok(hits);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseBuilder.badRequest(ex.getMessage()));
+        }
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<?> nearby(@RequestParam(required = false) Double lat,
+                                    @RequestParam(required = false) Double lon,
+                                    @RequestParam(required = false) String zip,
+                                    @RequestParam(required = false) Double radiusKm,
+                                    @RequestParam(required = false) Integer limit) {
+        try {
+            List<NearbyServiceDto> services = searchService.findNearby(lat, lon, zip, radiusKm, limit);
+            return ResponseEntity.ok(services);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseBuilder.badRequest(ex.getMessage()));
+        } catch (IllegalStateException ex) {
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ResponseBuilder.build(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.FindMyService.controller;
+
+import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.dto.ServiceAttributeDto;
+import com.FindMyService.service.ServiceAttributeService;
+import com.FindMyService.service.ServiceCatalogService;
+import com.FindMyService.utils.OwnerCheck;
+import com.FindMyService.utils.ResponseBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import java.util.Map;
+import java.util.Optional;
+
+@RequestMapping("/api/v1/services/{serviceId}/attributes")
+@RestController
+public class ServiceAttributeController {
+
+    private final ServiceAttributeService serviceAttributeService;
+    private final ServiceCatalogService serviceCatalogService;
+    private final OwnerCheck ownerCheck;
+
+    public ServiceAttributeController(ServiceAttributeService serviceAttributeService,
+                                      ServiceCatalogService serviceCatalogService,
+                                      OwnerCheck ownerCheck) {
+        this.serviceAttributeService = serviceAttributeService;
+        this.serviceCatalogService = serviceCatalogService;
+        this.ownerCheck = ownerCheck;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getAttributes(@PathVariable Long serviceId) {
+        try {
+            return ResponseEntity.ok(serviceAttributeService.getAttributes(serviceId));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(ResponseBuilder.notFound(ex.getMessage()));
+        }
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('PROVIDER')")
+    public ResponseEntity<?> addAttribute(@PathVariable Long serviceId, @RequestBody ServiceAttributeDto attributeDto) {
+        try {
+            Optional<ServiceCatalog> service = serviceCatalogService.getServiceById(serviceId);
+            if (service.isEmpty()) {
+                return serviceNotFound(serviceId);
+            }
+            ownerCheck.verifyOwner(service.get().getProviderId().getProviderId());
+
+            ServiceAttributeDto created = serviceAttributeService.addAttribute(serviceId, attributeDto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (AccessDeniedException ex) {
+            return forbidden();
+        } catch (IllegalArgumentException ex) {
+            Map<String, Object> errorBody = ResponseBuilder.badRequest(ex.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBody);
+        } catch (Exception ex) {
+            Map<String, Object> errorBody = ResponseBuilder.internalServerError(
+                    "Failed to add attribute: " + ex.getMessage()
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorBody);
+        }
+    }
+
+    @PatchMapping("/{attributeId}")
+    @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('PROVIDER')")
+    public ResponseEntity<?> updateAttribute(@PathVariable Long serviceId,
+                                             @PathVariable Long attributeId,
+                                             @RequestBody ServiceAttributeDto attributeDto) {
+        try {
+            Optional<ServiceCatalog> service = serviceCatalogService.getServiceById(serviceId);
+            if (service.isEmpty()) {
+                return serviceNotFound(serviceId);
+            }
+            ownerCheck.verifyOwner(service.get().getProviderId().getProviderId());
+
+            ServiceAttributeDto updated = serviceAttributeService.updateAttribute(serviceId, attributeId, attributeDto);
+            return ResponseEntity.ok(updated);
+        } catch (AccessDeniedException ex) {
+            return forbidden();
+        } catch (IllegalArgumentException ex) {
+            Map<String, Object> errorBody = ResponseBuilder.badRequest(ex.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBody);
+        } catch (Exception ex) {
+            Map<String, Object> errorBody = ResponseBuilder.internalServerError(
+                    "Failed to update attribute: " + ex.getMessage()
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorBody);
+        }
+    }
+
+    @DeleteMapping("/{attributeId}")
+    @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('PROVIDER')")
+    public ResponseEntity<?> deleteAttribute(@PathVariable Long serviceId, @PathVariable Long attributeId) {
+        try {
+            Optional<ServiceCatalog> service = serviceCatalogService.getServiceById(serviceId);
+            if (service.isEmpty()) {
+                return serviceNotFound(serviceId);
+            }
+            ownerCheck.verifyOwner(service.get().getProviderId().getProviderId());
+
+            serviceAttributeService.deleteAttribute(serviceId, attributeId);
+            return ResponseEntity.ok(ResponseBuilder.ok("Attribute deleted successfully"));
+        } catch (AccessDeniedException ex) {
+            return forbidden();
+        } catch (IllegalArgumentException ex) {
+            Map<String, Object> errorBody = ResponseBuilder.notFound(ex.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorBody);
+        } catch (Exception ex) {
+            Map<String, Object> errorBody = ResponseBuilder.internalServerError(
+                    "Failed to delete attribute: " + ex.getMessage()
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorBody);
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> serviceNotFound(Long serviceId) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(ResponseBuilder.notFound("Service not found with id: " + serviceId));
+    }
+
+    private ResponseEntity<Map<String, Object>> forbidden() {
+        return ResponseEntity
+                .status(HttpStatus.FORBIDDEN)
+                .body(ResponseBuilder.forbidden("You are not authorized to change attributes of this service"));
+    }
+}
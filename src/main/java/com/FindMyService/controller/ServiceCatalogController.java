@@ -1,19 +1,37 @@
 package com.FindMyService.controller;
 
 import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.dto.CursorPageDto;
+import com.FindMyService.model.dto.ImportReportDto;
+import com.FindMyService.model.dto.LeaderboardEntryDto;
+import com.FindMyService.model.dto.ResourceVersion;
 import com.FindMyService.model.dto.ServiceCatalogDto;
+import com.FindMyService.model.dto.ServiceCatalogFilter;
+import com.FindMyService.model.dto.SuggestionDto;
+import com.FindMyService.model.enums.Availability;
+import com.FindMyService.model.enums.DataFormat;
+import com.FindMyService.model.enums.ServiceSort;
+import com.FindMyService.service.CatalogSnapshotService;
+import com.FindMyService.service.SearchService;
 import com.FindMyService.service.ServiceCatalogService;
+import com.FindMyService.service.ServiceImportService;
 import com.FindMyService.utils.DtoMapper;
+import com.FindMyService.utils.ETags;
 import com.FindMyService.utils.ResponseBuilder;
 import com.FindMyService.utils.OwnerCheck;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RequestMapping("/api/v1/services")
 @RestController
@@ -21,23 +39,110 @@ public class ServiceCatalogController {
 
     private final ServiceCatalogService serviceCatalogService;
     private final OwnerCheck ownerCheck;
+    private final SearchService searchService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ServiceImportService serviceImportService;
 
-    public ServiceCatalogController(ServiceCatalogService serviceCatalogService, OwnerCheck ownerCheck) {
+    public ServiceCatalogController(ServiceCatalogService serviceCatalogService, OwnerCheck ownerCheck,
+                                    SearchService searchService, CatalogSnapshotService catalogSnapshotService,
+                                    ServiceImportService serviceImportService) {
         this.ownerCheck = ownerCheck;
         this.serviceCatalogService = serviceCatalogService;
+        this.searchService = searchService;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.serviceImportService = serviceImportService;
     }
 
     @GetMapping
-    public ResponseEntity<List<ServiceCatalogDto>> getAllServices() {
-        List<ServiceCatalog> services = serviceCatalogService.getAllServices();
-        List<ServiceCatalogDto> serviceDtos = services.stream()
-                .map(DtoMapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(serviceDtos);
+    public ResponseEntity<?> getAllServices(@RequestParam(required = false) Boolean active,
+                                            @RequestParam(required = false) Availability availability,
+                                            @RequestParam(required = false) String location,
+                                            @RequestParam(required = false) BigDecimal minCost,
+                                            @RequestParam(required = false) BigDecimal maxCost,
+                                            @RequestParam(required = false) String attr,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(defaultValue = "false") boolean facets,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                            WebRequest webRequest) {
+        try {
+            // The unfiltered first page is what anonymous visitors load, so it is served from pre-serialized bytes.
+            if (active == null && availability == null && location == null && minCost == null && maxCost == null
+                    && attr == null && sort == null && cursor == null && limit == null && !facets) {
+                return catalogSnapshotService.services().toResponse(acceptEncoding);
+            }
+            ServiceCatalogFilter filter = ServiceCatalogFilter.builder()
+                    .active(active)
+                    .availability(availability)
+                    .location(location)
+                    .minCost(minCost)
+                    .maxCost(maxCost)
+                    .attributes(attr)
+                    .build();
+            if (webRequest.checkNotModified(listETag("services", filter, sort, cursor, limit, facets))) {
+                return null;
+            }
+            CursorPageDto<ServiceCatalogDto> page = serviceCatalogService.getServicesPage(
+                    filter, ServiceSort.fromParam(sort), cursor, limit);
+            if (facets) {
+                page.setFacets(serviceCatalogService.getFacetCounts(filter));
+            }
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseBuilder.badRequest(ex.getMessage()));
+        }
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<?> getFacets(@RequestParam(required = false) Boolean active,
+                                       @RequestParam(required = false) Availability availability,
+                                       @RequestParam(required = false) String location,
+                                       @RequestParam(required = false) BigDecimal minCost,
+                                       @RequestParam(required = false) BigDecimal maxCost,
+                                       @RequestParam(required = false) String attr,
+                                       WebRequest webRequest) {
+        ServiceCatalogFilter filter = ServiceCatalogFilter.builder()
+                .active(active)
+                .availability(availability)
+                .location(location)
+                .minCost(minCost)
+                .maxCost(maxCost)
+                .attributes(attr)
+                .build();
+        try {
+            if (webRequest.checkNotModified(listETag("facets", filter))) {
+                return null;
+            }
+            return ResponseEntity.ok(serviceCatalogService.getFacetCounts(filter));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseBuilder.badRequest(ex.getMessage()));
+        }
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDto>> suggest(@RequestParam(required = false) String q,
+                                                       @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(searchService.suggest(q, limit));
+    }
+
+    @GetMapping("/top")
+    public ResponseEntity<List<LeaderboardEntryDto>> getTopServices(@RequestParam(required = false) String city,
+                                                                    @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(searchService.topServices(city, limit));
     }
 
     @GetMapping("/{serviceId}")
-    public ResponseEntity<ServiceCatalogDto> getService(@PathVariable Long serviceId) {
+    public ResponseEntity<ServiceCatalogDto> getService(@PathVariable Long serviceId, WebRequest webRequest) {
+        ResourceVersion version = serviceCatalogService.getServiceVersion(serviceId);
+        if (version.exists()
+                && webRequest.checkNotModified(ETags.of("service", serviceId, version), version.lastModifiedMillis())) {
+            return null;
+        }
         return serviceCatalogService.getServiceById(serviceId)
                 .map(DtoMapper::toDto)
                 .map(ResponseEntity::ok)
@@ -45,13 +150,14 @@ public class ServiceCatalogController {
     }
 
     @GetMapping("/provider/{providerId}")
-    public ResponseEntity<?> getServicesByProvider(@PathVariable Long providerId) {
+    public ResponseEntity<?> getServicesByProvider(@PathVariable Long providerId, WebRequest webRequest) {
+        ResourceVersion version = serviceCatalogService.getProviderServicesVersion(providerId);
+        if (version.exists()
+                && webRequest.checkNotModified(ETags.of("provider-services", providerId, version), version.lastModifiedMillis())) {
+            return null;
+        }
         try {
-            List<ServiceCatalog> services = serviceCatalogService.getServicesByProvider(providerId);
-            List<ServiceCatalogDto> serviceDtos = services.stream()
-                    .map(DtoMapper::toDto)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(serviceDtos);
+            return ResponseEntity.ok(serviceCatalogService.getServicesByProvider(providerId));
         } catch (AccessDeniedException ex) {
             Map<String, Object> errorBody = ResponseBuilder.forbidden(
                     "You are not authorized to access services for this provider"
@@ -83,6 +189,32 @@ public class ServiceCatalogController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('PROVIDER')")
+    public ResponseEntity<?> importServices(@RequestParam Long providerId,
+                                            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                            InputStream body) {
+        try {
+            ownerCheck.verifyOwner(providerId);
+            ImportReportDto report = serviceImportService.importServices(
+                    providerId, DataFormat.fromContentType(contentType), body);
+            return ResponseEntity.ok(report);
+        } catch (AccessDeniedException ex) {
+            Map<String, Object> errorBody = ResponseBuilder.forbidden(
+                    "You are not authorized to import services for this provider"
+            );
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorBody);
+        } catch (IllegalArgumentException | IOException ex) {
+            Map<String, Object> errorBody = ResponseBuilder.badRequest(ex.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorBody);
+        } catch (Exception ex) {
+            Map<String, Object> errorBody = ResponseBuilder.internalServerError(
+                    "Failed to import services: " + ex.getMessage()
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorBody);
+        }
+    }
+
     @PatchMapping("/{serviceId}")
     @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('PROVIDER')")
     public ResponseEntity<?> updateService(@PathVariable Long serviceId, @RequestBody ServiceCatalogDto serviceDto) {
@@ -139,4 +271,13 @@ public class ServiceCatalogController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorBody);
         }
     }
+
+    // Versioned from the database, like the single-resource ETags, so every instance answers a conditional GET alike.
+    private String listETag(String resource, ServiceCatalogFilter filter, Object... params) {
+        ResourceVersion version = serviceCatalogService.getServicesVersion(filter);
+        return ETags.strong(resource, version.count(), version.lastModified(), version.relatedLastModified(),
+                serviceCatalogService.getIndexedMatchVersion(filter), filter.getActive(), filter.getAvailability(),
+                filter.getLocation(), filter.getMinCost(), filter.getMaxCost(), filter.getAttributes(),
+                Arrays.toString(params));
+    }
 }
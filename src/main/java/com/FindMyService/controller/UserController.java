@@ -3,6 +3,7 @@ package com.FindMyService.controller;
 import java.util.List;
 import java.util.stream.Collectors;
 import com.FindMyService.model.dto.UserDto;
+import com.FindMyService.model.enums.DataFormat;
 import com.FindMyService.utils.DtoMapper;
 import com.FindMyService.utils.ResponseBuilder;
 import com.FindMyService.utils.OwnerCheck;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import com.FindMyService.model.User;
+import com.FindMyService.service.ExportService;
 import com.FindMyService.service.UserService;
 
 @RequestMapping("/api/v1/users")
@@ -20,10 +22,12 @@ public class UserController {
 
     private final UserService userService;
     private final OwnerCheck ownerCheck;
+    private final ExportService exportService;
 
-    public UserController(UserService userService, OwnerCheck ownerCheck) {
+    public UserController(UserService userService, OwnerCheck ownerCheck, ExportService exportService) {
         this.userService = userService;
         this.ownerCheck = ownerCheck;
+        this.exportService = exportService;
     }
 
     @GetMapping
@@ -36,6 +40,18 @@ public class UserController {
         return ResponseEntity.ok(dtos);
     }
 
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> exportUsers(@RequestParam(required = false) String format) {
+        try {
+            return exportService.exportUsers(DataFormat.fromParam(format));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseBuilder.badRequest(ex.getMessage()));
+        }
+    }
+
     @GetMapping("/{userId}")
     public ResponseEntity<?> getUser(@PathVariable Long userId) {
         return userService.getUserById(userId)
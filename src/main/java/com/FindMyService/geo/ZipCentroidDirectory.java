@@ -0,0 +1,75 @@
+package com.FindMyService.geo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@Slf4j
+public class ZipCentroidDirectory {
+
+    private final Map<String, Coordinates> centroids = new HashMap<>();
+
+    public ZipCentroidDirectory(@Value("${geo.zip-centroids.location:classpath:geo/zip-centroids.csv}") Resource dataset) {
+        if (!dataset.exists()) {
+            log.warn("Zip centroid dataset {} not found; /api/v1/search/nearby?zip= answers 503 and coordinates will "
+                    + "only come from explicit values", dataset);
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(dataset.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#") || lineNumber == 1 && line.startsWith("zip")) {
+                    continue;
+                }
+                String[] columns = line.split(",");
+                if (columns.length < 3) {
+                    continue;
+                }
+                try {
+                    centroids.put(normalize(columns[0]),
+                            new Coordinates(Double.parseDouble(columns[1].trim()), Double.parseDouble(columns[2].trim())));
+                } catch (NumberFormatException e) {
+                    log.debug("Skipping malformed zip centroid on line {}", lineNumber);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read zip centroid dataset {}: {}", dataset, e.getMessage());
+        }
+        if (centroids.isEmpty()) {
+            log.warn("Zip centroid dataset {} has no entries; /api/v1/search/nearby?zip= answers 503 and zip codes are "
+                    + "not geocoded until geo.zip-centroids.location points at a populated file", dataset);
+        } else {
+            log.info("Loaded {} zip code centroids", centroids.size());
+        }
+    }
+
+    public boolean isEmpty() {
+        return centroids.isEmpty();
+    }
+
+    public Optional<Coordinates> resolve(String zipCode) {
+        if (zipCode == null || zipCode.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(centroids.get(normalize(zipCode)));
+    }
+
+    private static String normalize(String zipCode) {
+        return zipCode.replace(" ", "").trim().toUpperCase(Locale.ROOT);
+    }
+
+    public record Coordinates(double latitude, double longitude) {}
+}
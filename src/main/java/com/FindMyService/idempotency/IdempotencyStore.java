@@ -0,0 +1,59 @@
+package com.FindMyService.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+// In-process record of Idempotency-Key usage: the request fingerprint and, once the request has finished, the
+// response to replay. Entries expire after idempotency.ttl; keys are only deduplicated per application instance.
+// The cache is bounded by the bytes it holds, since one stored response body can be far larger than another.
+@Component
+public class IdempotencyStore {
+
+    // Rough per-entry cost of the map node, records and array headers on top of the variable-length parts.
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    private final Cache<String, Entry> entries;
+
+    public IdempotencyStore(@Value("${idempotency.ttl:24h}") Duration ttl,
+                            @Value("${idempotency.max-memory:64MB}") DataSize maxMemory) {
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumWeight(maxMemory.toBytes())
+                .weigher(IdempotencyStore::weigh)
+                .build();
+    }
+
+    // Returns null when the caller now owns the key and must complete or release it, otherwise the existing entry.
+    Entry claim(String key, byte[] requestHash) {
+        return entries.asMap().putIfAbsent(key, new Entry(requestHash, null));
+    }
+
+    void complete(String key, byte[] requestHash, StoredResponse response) {
+        entries.put(key, new Entry(requestHash, response));
+    }
+
+    void release(String key) {
+        entries.invalidate(key);
+    }
+
+    private static int weigh(String key, Entry entry) {
+        long bytes = ENTRY_OVERHEAD_BYTES + 2L * key.length() + entry.requestHash().length;
+        StoredResponse response = entry.response();
+        if (response != null) {
+            bytes += response.body().length + (response.contentType() != null ? 2L * response.contentType().length() : 0);
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    // A null response means the first request with this key is still being processed.
+    record Entry(byte[] requestHash, StoredResponse response) {
+    }
+
+    record StoredResponse(int status, String contentType, byte[] body) {
+    }
+}
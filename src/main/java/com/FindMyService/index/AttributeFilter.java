@@ -0,0 +1,79 @@
+package com.FindMyService.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public record AttributeFilter(String name, Operator operator, List<String> values) {
+
+    public enum Operator { EQ, NE, GT, GE, LT, LE, IN }
+
+    private static final Pattern COMPARISON = Pattern.compile("^([^\\s=!<>()]+)\\s*(>=|<=|!=|=|>|<)\\s*(.+)$");
+    private static final Pattern MEMBERSHIP = Pattern.compile("^([^\\s=!<>()]+)\\s+in\\s*\\((.*)\\)$", Pattern.CASE_INSENSITIVE);
+
+    // Filters are separated by ';' so that commas stay available for 'in' lists.
+    public static List<AttributeFilter> parseAll(String expression) {
+        List<AttributeFilter> filters = new ArrayList<>();
+        if (expression == null || expression.isBlank()) {
+            return filters;
+        }
+        for (String part : expression.split(";")) {
+            if (!part.isBlank()) {
+                filters.add(parse(part));
+            }
+        }
+        return filters;
+    }
+
+    public static AttributeFilter parse(String expression) {
+        String trimmed = expression.trim();
+        Matcher membership = MEMBERSHIP.matcher(trimmed);
+        if (membership.matches()) {
+            List<String> values = Arrays.stream(membership.group(2).split(","))
+                    .map(AttributeFilter::unquote)
+                    .filter(value -> !value.isEmpty())
+                    .toList();
+            if (values.isEmpty()) {
+                throw new IllegalArgumentException("Attribute filter has an empty 'in' list: " + trimmed);
+            }
+            return new AttributeFilter(normalizeName(membership.group(1)), Operator.IN, values);
+        }
+        Matcher comparison = COMPARISON.matcher(trimmed);
+        if (!comparison.matches()) {
+            throw new IllegalArgumentException("Invalid attribute filter: " + trimmed);
+        }
+        Operator operator = switch (comparison.group(2)) {
+            case "=" -> Operator.EQ;
+            case "!=" -> Operator.NE;
+            case ">" -> Operator.GT;
+            case ">=" -> Operator.GE;
+            case "<" -> Operator.LT;
+            default -> Operator.LE;
+        };
+        String value = unquote(comparison.group(3));
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Invalid attribute filter: " + trimmed);
+        }
+        return new AttributeFilter(normalizeName(comparison.group(1)), operator, List.of(value));
+    }
+
+    static String normalizeName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static String normalizeValue(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String unquote(String value) {
+        String trimmed = value.trim();
+        if (trimmed.length() >= 2
+                && (trimmed.startsWith("'") && trimmed.endsWith("'") || trimmed.startsWith("\"") && trimmed.endsWith("\""))) {
+            return trimmed.substring(1, trimmed.length() - 1).trim();
+        }
+        return trimmed;
+    }
+}
@@ -0,0 +1,400 @@
+package com.FindMyService.index;
+
+import com.FindMyService.model.ServiceAttribute;
+import com.FindMyService.model.enums.AttributeValueType;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Registered as a CatalogIndex only for removals: CatalogIndexer already knows which services a deleted provider owned,
+// so service and provider deletions reach this index the same way they reach the others. Attribute values themselves
+// come from AttributesChangedEvent, not from catalog entries.
+@Component
+public class AttributeIndex implements CatalogIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> docIdByServiceId = new HashMap<>();
+    private final List<Long> serviceIdByDocId = new ArrayList<>();
+    private final Deque<Integer> freeDocIds = new ArrayDeque<>();
+    private final Map<Integer, List<IndexedValue>> valuesByDocId = new HashMap<>();
+    private final Map<String, AttributePostings> attributes = new HashMap<>();
+
+    public void replace(Long serviceId, Collection<ServiceAttribute> serviceAttributes) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(serviceId);
+            serviceAttributes.forEach(attribute -> addLocked(serviceId, attribute));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(Long serviceId, ServiceAttribute attribute) {
+        lock.writeLock().lock();
+        try {
+            addLocked(serviceId, attribute);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(CatalogEntry entry) {
+    }
+
+    @Override
+    public void remove(Long serviceId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(serviceId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdByServiceId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Matching service ids in ascending order, so callers can page over them with a keyset.
+    public long[] match(List<AttributeFilter> filters) {
+        lock.readLock().lock();
+        if (needsRebuild(filters)) {
+            lock.readLock().unlock();
+            lock.writeLock().lock();
+            try {
+                for (AttributeFilter filter : filters) {
+                    AttributePostings postings = attributes.get(filter.name());
+                    if (postings != null && postings.numeric != null) {
+                        postings.numeric.rebuildIfDirty();
+                    }
+                }
+                lock.readLock().lock();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        try {
+            RoaringBitmap result = null;
+            for (AttributeFilter filter : filters) {
+                RoaringBitmap matches = evaluate(filter);
+                result = result == null ? matches : RoaringBitmap.and(result, matches);
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            if (result == null) {
+                return new long[0];
+            }
+            long[] serviceIds = new long[result.getCardinality()];
+            int[] next = {0};
+            result.forEach((int docId) -> serviceIds[next[0]++] = serviceIdByDocId.get(docId));
+            Arrays.sort(serviceIds);
+            return serviceIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean needsRebuild(List<AttributeFilter> filters) {
+        for (AttributeFilter filter : filters) {
+            AttributePostings postings = attributes.get(filter.name());
+            if (postings != null && postings.numeric != null && postings.numeric.dirty) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private RoaringBitmap evaluate(AttributeFilter filter) {
+        AttributePostings postings = attributes.get(filter.name());
+        return switch (filter.operator()) {
+            case EQ, IN -> {
+                RoaringBitmap matches = new RoaringBitmap();
+                if (postings != null) {
+                    filter.values().forEach(value -> matches.or(postings.equalTo(value)));
+                }
+                yield matches;
+            }
+            case NE -> postings == null
+                    ? new RoaringBitmap()
+                    : RoaringBitmap.andNot(postings.docs, postings.equalTo(filter.values().getFirst()));
+            case GT, GE, LT, LE -> {
+                double bound = orderedValue(filter.values().getFirst());
+                if (Double.isNaN(bound)) {
+                    throw new IllegalArgumentException("Attribute filter '" + filter.name()
+                            + "' needs a numeric or yyyy-MM-dd value");
+                }
+                if (postings == null || postings.numeric == null) {
+                    yield new RoaringBitmap();
+                }
+                yield switch (filter.operator()) {
+                    case GT -> postings.numeric.range(bound, false, Double.POSITIVE_INFINITY, true);
+                    case GE -> postings.numeric.range(bound, true, Double.POSITIVE_INFINITY, true);
+                    case LT -> postings.numeric.range(Double.NEGATIVE_INFINITY, true, bound, false);
+                    default -> postings.numeric.range(Double.NEGATIVE_INFINITY, true, bound, true);
+                };
+            }
+        };
+    }
+
+    private void addLocked(Long serviceId, ServiceAttribute attribute) {
+        if (attribute.getAttributeName() == null || attribute.getAttributeValue() == null) {
+            return;
+        }
+        IndexedValue value = indexedValue(attribute);
+        Integer docId = docIdByServiceId.get(serviceId);
+        if (docId == null) {
+            docId = freeDocIds.isEmpty() ? serviceIdByDocId.size() : freeDocIds.pop();
+            if (docId == serviceIdByDocId.size()) {
+                serviceIdByDocId.add(serviceId);
+            } else {
+                serviceIdByDocId.set(docId, serviceId);
+            }
+            docIdByServiceId.put(serviceId, docId);
+        }
+        valuesByDocId.computeIfAbsent(docId, id -> new ArrayList<>()).add(value);
+        attributes.computeIfAbsent(value.name(), name -> new AttributePostings()).add(docId, value);
+    }
+
+    private void removeLocked(Long serviceId) {
+        Integer docId = docIdByServiceId.remove(serviceId);
+        if (docId == null) {
+            return;
+        }
+        for (IndexedValue value : valuesByDocId.remove(docId)) {
+            // A multi-valued attribute may already have been dropped together with its last document.
+            AttributePostings postings = attributes.get(value.name());
+            if (postings == null) {
+                continue;
+            }
+            postings.remove(docId, value);
+            if (postings.docs.isEmpty()) {
+                attributes.remove(value.name());
+            }
+        }
+        serviceIdByDocId.set(docId, null);
+        freeDocIds.push(docId);
+    }
+
+    // Rows written outside the API may carry an unknown type or malformed value; those are matched as plain strings.
+    private static IndexedValue indexedValue(ServiceAttribute attribute) {
+        String name = AttributeFilter.normalizeName(attribute.getAttributeName());
+        try {
+            AttributeValueType type = AttributeValueType.fromParam(attribute.getValueType());
+            String canonical = type.canonicalize(attribute.getAttributeValue());
+            double number = type.isNumeric() ? type.numericValue(canonical) : Double.NaN;
+            return new IndexedValue(name, AttributeFilter.normalizeValue(canonical), number);
+        } catch (IllegalArgumentException e) {
+            return new IndexedValue(name, AttributeFilter.normalizeValue(attribute.getAttributeValue()), Double.NaN);
+        }
+    }
+
+    private static double orderedValue(String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            try {
+                return LocalDate.parse(value.trim()).toEpochDay();
+            } catch (DateTimeParseException ignored) {
+                return Double.NaN;
+            }
+        }
+    }
+
+    private record IndexedValue(String name, String key, double number) {
+        boolean isNumeric() {
+            return !Double.isNaN(number);
+        }
+    }
+
+    private static final class AttributePostings {
+        private final RoaringBitmap docs = new RoaringBitmap();
+        private final Map<String, RoaringBitmap> docsByValue = new HashMap<>();
+        private NumericColumn numeric;
+
+        void add(int docId, IndexedValue value) {
+            docs.add(docId);
+            docsByValue.computeIfAbsent(value.key(), key -> new RoaringBitmap()).add(docId);
+            if (value.isNumeric()) {
+                if (numeric == null) {
+                    numeric = new NumericColumn();
+                }
+                numeric.add(docId, value.number());
+            }
+        }
+
+        void remove(int docId, IndexedValue value) {
+            docs.remove(docId);
+            RoaringBitmap valueDocs = docsByValue.get(value.key());
+            if (valueDocs != null) {
+                valueDocs.remove(docId);
+                if (valueDocs.isEmpty()) {
+                    docsByValue.remove(value.key());
+                }
+            }
+            if (numeric != null) {
+                numeric.remove(docId);
+            }
+        }
+
+        RoaringBitmap equalTo(String value) {
+            RoaringBitmap valueDocs = docsByValue.get(AttributeFilter.normalizeValue(value));
+            RoaringBitmap matches = valueDocs != null ? valueDocs.clone() : new RoaringBitmap();
+            double number = numeric != null ? orderedValue(value) : Double.NaN;
+            if (!Double.isNaN(number)) {
+                matches.or(numeric.range(number, true, number, true));
+            }
+            return matches;
+        }
+    }
+
+    // Values are collected per document and only sorted into flat arrays when a range query needs them. A rebuild
+    // keeps the already sorted entries of unchanged documents and merges in the re-sorted entries of changed ones.
+    private static final class NumericColumn {
+        private static final double[] NO_VALUES = new double[0];
+
+        private final Map<Integer, double[]> valuesByDocId = new HashMap<>();
+        private final RoaringBitmap changedDocIds = new RoaringBitmap();
+        private double[] sortedValues = NO_VALUES;
+        private int[] sortedDocIds = new int[0];
+        private boolean dirty;
+
+        void add(int docId, double value) {
+            double[] existing = valuesByDocId.getOrDefault(docId, NO_VALUES);
+            double[] updated = Arrays.copyOf(existing, existing.length + 1);
+            updated[existing.length] = value;
+            valuesByDocId.put(docId, updated);
+            changedDocIds.add(docId);
+            dirty = true;
+        }
+
+        void remove(int docId) {
+            if (valuesByDocId.remove(docId) != null) {
+                changedDocIds.add(docId);
+                dirty = true;
+            }
+        }
+
+        void rebuildIfDirty() {
+            if (!dirty) {
+                return;
+            }
+            int kept = 0;
+            double[] keptValues = new double[sortedValues.length];
+            int[] keptDocIds = new int[sortedDocIds.length];
+            for (int i = 0; i < sortedValues.length; i++) {
+                if (!changedDocIds.contains(sortedDocIds[i])) {
+                    keptValues[kept] = sortedValues[i];
+                    keptDocIds[kept++] = sortedDocIds[i];
+                }
+            }
+
+            int added = 0;
+            for (int docId : changedDocIds) {
+                added += valuesByDocId.getOrDefault(docId, NO_VALUES).length;
+            }
+            double[] addedValues = new double[added];
+            int[] addedDocIds = new int[added];
+            int j = 0;
+            for (int docId : changedDocIds) {
+                for (double value : valuesByDocId.getOrDefault(docId, NO_VALUES)) {
+                    addedValues[j] = value;
+                    addedDocIds[j++] = docId;
+                }
+            }
+            sortByValue(addedValues, addedDocIds);
+
+            sortedValues = new double[kept + added];
+            sortedDocIds = new int[kept + added];
+            merge(keptValues, keptDocIds, 0, kept, addedValues, addedDocIds, 0, added, sortedValues, sortedDocIds, 0);
+            changedDocIds.clear();
+            dirty = false;
+        }
+
+        // Bottom-up merge sort of the values with their doc ids carried along, without boxing either.
+        private static void sortByValue(double[] values, int[] docIds) {
+            int size = values.length;
+            double[] valueBuffer = new double[size];
+            int[] docIdBuffer = new int[size];
+            for (int width = 1; width < size; width *= 2) {
+                for (int from = 0; from < size; from += 2 * width) {
+                    int middle = Math.min(from + width, size);
+                    int to = Math.min(from + 2 * width, size);
+                    merge(values, docIds, from, middle, values, docIds, middle, to, valueBuffer, docIdBuffer, from);
+                }
+                System.arraycopy(valueBuffer, 0, values, 0, size);
+                System.arraycopy(docIdBuffer, 0, docIds, 0, size);
+            }
+        }
+
+        private static void merge(double[] leftValues, int[] leftDocIds, int left, int leftEnd,
+                                  double[] rightValues, int[] rightDocIds, int right, int rightEnd,
+                                  double[] values, int[] docIds, int out) {
+            while (left < leftEnd && right < rightEnd) {
+                if (rightValues[right] < leftValues[left]) {
+                    values[out] = rightValues[right];
+                    docIds[out++] = rightDocIds[right++];
+                } else {
+                    values[out] = leftValues[left];
+                    docIds[out++] = leftDocIds[left++];
+                }
+            }
+            while (left < leftEnd) {
+                values[out] = leftValues[left];
+                docIds[out++] = leftDocIds[left++];
+            }
+            while (right < rightEnd) {
+                values[out] = rightValues[right];
+                docIds[out++] = rightDocIds[right++];
+            }
+        }
+
+        RoaringBitmap range(double min, boolean minInclusive, double max, boolean maxInclusive) {
+            int from = minInclusive ? firstAtLeast(min) : firstAbove(min);
+            int to = maxInclusive ? firstAbove(max) : firstAtLeast(max);
+            RoaringBitmap matches = new RoaringBitmap();
+            for (int i = from; i < to; i++) {
+                matches.add(sortedDocIds[i]);
+            }
+            return matches;
+        }
+
+        private int firstAtLeast(double value) {
+            int low = 0;
+            int high = sortedValues.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sortedValues[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int firstAbove(double value) {
+            int low = 0;
+            int high = sortedValues.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sortedValues[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.FindMyService.index;
+
+import com.FindMyService.model.ServiceAttribute;
+import com.FindMyService.repository.ServiceAttributeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Component
+@Slf4j
+public class AttributeIndexer {
+
+    private static final int BOOTSTRAP_BATCH_SIZE = 1000;
+
+    private final AttributeIndex attributeIndex;
+    private final ServiceAttributeRepository serviceAttributeRepository;
+
+    public AttributeIndexer(AttributeIndex attributeIndex, ServiceAttributeRepository serviceAttributeRepository) {
+        this.attributeIndex = attributeIndex;
+        this.serviceAttributeRepository = serviceAttributeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        int loaded = 0;
+        long lastAttributeId = 0L;
+        try {
+            List<ServiceAttribute> batch;
+            do {
+                batch = serviceAttributeRepository.findByAttributeIdGreaterThanOrderByAttributeIdAsc(
+                        lastAttributeId, Limit.of(BOOTSTRAP_BATCH_SIZE));
+                for (ServiceAttribute attribute : batch) {
+                    attributeIndex.add(attribute.getServiceId().getServiceId(), attribute);
+                }
+                loaded += batch.size();
+                if (!batch.isEmpty()) {
+                    lastAttributeId = batch.getLast().getAttributeId();
+                }
+            } while (batch.size() == BOOTSTRAP_BATCH_SIZE);
+            log.info("Loaded {} attributes for {} services in {} ms",
+                    loaded, attributeIndex.size(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.warn("Attribute index bootstrap stopped after {} attributes: {}", loaded, e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onAttributesChanged(AttributesChangedEvent event) {
+        attributeIndex.replace(event.serviceId(),
+                serviceAttributeRepository.findByServiceId_ServiceIdOrderByAttributeIdAsc(event.serviceId()));
+    }
+}
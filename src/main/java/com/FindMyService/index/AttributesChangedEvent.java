@@ -0,0 +1,3 @@
+package com.FindMyService.index;
+
+public record AttributesChangedEvent(Long serviceId) {}
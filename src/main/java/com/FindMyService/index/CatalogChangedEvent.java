@@ -0,0 +1,22 @@
+package com.FindMyService.index;
+
+// ratingsOnly marks upserts that only moved the rating aggregates (feedback, reconciliation), which listeners whose
+// output does not depend on ratings being current to the second can coalesce.
+public record CatalogChangedEvent(Long serviceId, CatalogEntry entry, boolean ratingsOnly) {
+
+    public static CatalogChangedEvent upserted(CatalogEntry entry) {
+        return new CatalogChangedEvent(entry.serviceId(), entry, false);
+    }
+
+    public static CatalogChangedEvent rated(CatalogEntry entry) {
+        return new CatalogChangedEvent(entry.serviceId(), entry, true);
+    }
+
+    public static CatalogChangedEvent removed(Long serviceId) {
+        return new CatalogChangedEvent(serviceId, null, false);
+    }
+
+    public boolean isRemoval() {
+        return entry == null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.FindMyService.index;
+
+import com.FindMyService.model.Provider;
+import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.enums.Availability;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record CatalogEntry(
+        Long serviceId,
+        Long providerId,
+        String providerName,
+        String providerCity,
+        String serviceName,
+        String description,
+        String location,
+        BigDecimal cost,
+        Availability availability,
+        Integer warrantyPeriodMonths,
+        boolean active,
+        BigDecimal avgRating,
+        int totalRatings,
+        Instant updatedAt,
+        Double latitude,
+        Double longitude,
+        BigDecimal providerAvgRating,
+        int providerTotalRatings
+) {
+
+    public static CatalogEntry of(ServiceCatalog service) {
+        Provider provider = service.getProviderId();
+        boolean ownCoordinates = service.getLatitude() != null && service.getLongitude() != null;
+        return new CatalogEntry(
+                service.getServiceId(),
+                provider != null ? provider.getProviderId() : null,
+                provider != null ? provider.getProviderName() : null,
+                provider != null ? provider.getCity() : null,
+                service.getServiceName(),
+                service.getDescription(),
+                service.getLocation(),
+                service.getCost(),
+                service.getAvailability(),
+                service.getWarrantyPeriodMonths(),
+                service.isActive(),
+                service.getAvgRating(),
+                service.getTotalRatings(),
+                service.getUpdatedAt(),
+                ownCoordinates ? service.getLatitude() : provider != null ? provider.getLatitude() : null,
+                ownCoordinates ? service.getLongitude() : provider != null ? provider.getLongitude() : null,
+                provider != null ? provider.getAvgRating() : null,
+                provider != null ? provider.getTotalRatings() : 0
+        );
+    }
+}
@@ -0,0 +1,288 @@
+package com.FindMyService.index;
+
+import com.FindMyService.model.dto.FacetCountsDto;
+import com.FindMyService.model.dto.ServiceCatalogFilter;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class CatalogFacetIndex implements CatalogIndex {
+
+    public static final String AVAILABILITY = "availability";
+    public static final String LOCATION = "location";
+    public static final String PRICE = "price";
+    public static final String RATING = "rating";
+    public static final String WARRANTY = "warranty";
+
+    private static final List<String> FACETS = List.of(AVAILABILITY, LOCATION, PRICE, RATING, WARRANTY);
+
+    // Lower bounds (inclusive) of each bucket; a bucket ends where the next one starts.
+    private static final BigDecimal[] PRICE_BOUNDS = {
+            BigDecimal.ZERO, new BigDecimal("500"), new BigDecimal("1000"), new BigDecimal("2500"), new BigDecimal("5000")
+    };
+    private static final String[] PRICE_LABELS = {"0-500", "500-1000", "1000-2500", "2500-5000", "5000+"};
+    private static final BigDecimal[] RATING_BOUNDS = {
+            BigDecimal.ZERO, new BigDecimal("2.0"), new BigDecimal("3.0"), new BigDecimal("4.0"), new BigDecimal("4.5")
+    };
+    private static final String[] RATING_LABELS = {"0-2", "2-3", "3-4", "4-4.5", "4.5+"};
+    private static final String UNRATED = "unrated";
+    private static final int[] WARRANTY_BOUNDS = {1, 7, 13, 25};
+    private static final String[] WARRANTY_LABELS = {"1-6", "7-12", "13-24", "25+"};
+    private static final String NO_WARRANTY = "none";
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> docIdByServiceId = new HashMap<>();
+    private final Deque<Integer> freeDocIds = new ArrayDeque<>();
+    private final List<DocFacets> docs = new ArrayList<>();
+    private final RoaringBitmap allDocs = new RoaringBitmap();
+    private final RoaringBitmap activeDocs = new RoaringBitmap();
+    private final Map<String, Map<String, RoaringBitmap>> bitmaps = new HashMap<>();
+    private final Map<String, String> locationLabels = new HashMap<>();
+
+    public CatalogFacetIndex() {
+        FACETS.forEach(facet -> bitmaps.put(facet, new HashMap<>()));
+    }
+
+    @Override
+    public void upsert(CatalogEntry entry) {
+        String location = entry.location() != null && !entry.location().isBlank() ? entry.location() : entry.providerCity();
+        Map<String, String> values = new HashMap<>();
+        if (entry.availability() != null) {
+            values.put(AVAILABILITY, entry.availability().name());
+        }
+        if (location != null && !location.isBlank()) {
+            values.put(LOCATION, locationKey(location));
+        }
+        if (entry.cost() != null) {
+            values.put(PRICE, PRICE_LABELS[bucketOf(PRICE_BOUNDS, entry.cost())]);
+        }
+        values.put(RATING, entry.avgRating() == null || entry.totalRatings() == 0
+                ? UNRATED
+                : RATING_LABELS[bucketOf(RATING_BOUNDS, entry.avgRating())]);
+        values.put(WARRANTY, warrantyLabel(entry.warrantyPeriodMonths()));
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(entry.serviceId());
+            int docId = freeDocIds.isEmpty() ? docs.size() : freeDocIds.pop();
+            DocFacets doc = new DocFacets(entry.serviceId(), values, entry.cost());
+            if (docId == docs.size()) {
+                docs.add(doc);
+            } else {
+                docs.set(docId, doc);
+            }
+            docIdByServiceId.put(entry.serviceId(), docId);
+            allDocs.add(docId);
+            if (entry.active()) {
+                activeDocs.add(docId);
+            }
+            values.forEach((facet, value) ->
+                    bitmaps.get(facet).computeIfAbsent(value, v -> new RoaringBitmap()).add(docId));
+            if (location != null && !location.isBlank()) {
+                locationLabels.putIfAbsent(locationKey(location), location.trim());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long serviceId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(serviceId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // serviceIds is the sorted attribute match, or null when the filter has no attribute conditions.
+    public FacetCountsDto count(ServiceCatalogFilter filter, long[] serviceIds) {
+        lock.readLock().lock();
+        try {
+            Map<String, RoaringBitmap> selections = selections(filter);
+            RoaringBitmap base = filter != null && Boolean.TRUE.equals(filter.getActive())
+                    ? activeDocs
+                    : filter != null && Boolean.FALSE.equals(filter.getActive())
+                    ? RoaringBitmap.andNot(allDocs, activeDocs)
+                    : allDocs;
+            if (serviceIds != null) {
+                base = RoaringBitmap.and(base, docsOf(serviceIds));
+            }
+
+            Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+            for (String facet : FACETS) {
+                // Each facet is counted against every filter except its own so clients can widen a selection.
+                RoaringBitmap scope = intersect(base, selections, facet);
+                Map<String, Integer> facetCounts = new LinkedHashMap<>();
+                for (Map.Entry<String, RoaringBitmap> value : bitmaps.get(facet).entrySet()) {
+                    int count = RoaringBitmap.andCardinality(scope, value.getValue());
+                    if (count > 0) {
+                        facetCounts.put(label(facet, value.getKey()), count);
+                    }
+                }
+                counts.put(facet, facetCounts);
+            }
+
+            return FacetCountsDto.builder()
+                    .total(intersect(base, selections, null).getCardinality())
+                    .counts(counts)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Sorted ids of the services in a location facet value: the service's own location, else its provider's city,
+    // compared case- and accent-insensitively. The service listing filters through this so it agrees with the counts.
+    public long[] matchLocation(String location) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap located = valueBitmap(LOCATION, locationKey(location));
+            long[] serviceIds = new long[located.getCardinality()];
+            int i = 0;
+            for (int docId : located) {
+                serviceIds[i++] = docs.get(docId).serviceId();
+            }
+            Arrays.sort(serviceIds);
+            return serviceIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, RoaringBitmap> selections(ServiceCatalogFilter filter) {
+        Map<String, RoaringBitmap> selections = new HashMap<>();
+        if (filter == null) {
+            return selections;
+        }
+        if (filter.getAvailability() != null) {
+            selections.put(AVAILABILITY, valueBitmap(AVAILABILITY, filter.getAvailability().name()));
+        }
+        if (filter.getLocation() != null && !filter.getLocation().isBlank()) {
+            selections.put(LOCATION, valueBitmap(LOCATION, locationKey(filter.getLocation())));
+        }
+        if (filter.getMinCost() != null || filter.getMaxCost() != null) {
+            selections.put(PRICE, costRange(filter.getMinCost(), filter.getMaxCost()));
+        }
+        return selections;
+    }
+
+    private RoaringBitmap intersect(RoaringBitmap base, Map<String, RoaringBitmap> selections, String excludedFacet) {
+        RoaringBitmap result = base.clone();
+        selections.forEach((facet, selection) -> {
+            if (!facet.equals(excludedFacet)) {
+                result.and(selection);
+            }
+        });
+        return result;
+    }
+
+    private RoaringBitmap docsOf(long[] serviceIds) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (long serviceId : serviceIds) {
+            Integer docId = docIdByServiceId.get(serviceId);
+            if (docId != null) {
+                result.add(docId);
+            }
+        }
+        return result;
+    }
+
+    private RoaringBitmap valueBitmap(String facet, String value) {
+        RoaringBitmap bitmap = bitmaps.get(facet).get(value);
+        return bitmap != null ? bitmap : new RoaringBitmap();
+    }
+
+    // Buckets fully inside the range are taken whole; only the edge buckets are checked per document.
+    private RoaringBitmap costRange(BigDecimal min, BigDecimal max) {
+        RoaringBitmap result = new RoaringBitmap();
+        Map<String, RoaringBitmap> priceBitmaps = bitmaps.get(PRICE);
+        for (int i = 0; i < PRICE_LABELS.length; i++) {
+            RoaringBitmap bucket = priceBitmaps.get(PRICE_LABELS[i]);
+            if (bucket == null) {
+                continue;
+            }
+            BigDecimal lower = PRICE_BOUNDS[i];
+            BigDecimal upper = i + 1 < PRICE_BOUNDS.length ? PRICE_BOUNDS[i + 1] : null;
+            boolean belowMin = min != null && upper != null && upper.compareTo(min) <= 0;
+            boolean aboveMax = max != null && lower.compareTo(max) > 0;
+            if (belowMin || aboveMax) {
+                continue;
+            }
+            boolean coversMin = min == null || lower.compareTo(min) >= 0;
+            boolean coversMax = max == null || (upper != null && upper.compareTo(max) <= 0);
+            if (coversMin && coversMax) {
+                result.or(bucket);
+            } else {
+                bucket.forEach((int docId) -> {
+                    BigDecimal cost = docs.get(docId).cost();
+                    if ((min == null || cost.compareTo(min) >= 0) && (max == null || cost.compareTo(max) <= 0)) {
+                        result.add(docId);
+                    }
+                });
+            }
+        }
+        return result;
+    }
+
+    private void removeLocked(Long serviceId) {
+        Integer docId = docIdByServiceId.remove(serviceId);
+        if (docId == null) {
+            return;
+        }
+        docs.get(docId).values().forEach((facet, value) -> {
+            RoaringBitmap bitmap = bitmaps.get(facet).get(value);
+            if (bitmap != null) {
+                bitmap.remove(docId);
+                if (bitmap.isEmpty()) {
+                    bitmaps.get(facet).remove(value);
+                    if (LOCATION.equals(facet)) {
+                        locationLabels.remove(value);
+                    }
+                }
+            }
+        });
+        allDocs.remove(docId);
+        activeDocs.remove(docId);
+        docs.set(docId, null);
+        freeDocIds.push(docId);
+    }
+
+    private String label(String facet, String value) {
+        return LOCATION.equals(facet) ? locationLabels.getOrDefault(value, value) : value;
+    }
+
+    private static String locationKey(String location) {
+        return TextTokenizer.normalize(location.trim());
+    }
+
+    private static int bucketOf(BigDecimal[] bounds, BigDecimal value) {
+        int bucket = 0;
+        for (int i = 1; i < bounds.length; i++) {
+            if (value.compareTo(bounds[i]) >= 0) {
+                bucket = i;
+            }
+        }
+        return bucket;
+    }
+
+    private static String warrantyLabel(Integer months) {
+        if (months == null || months < WARRANTY_BOUNDS[0]) {
+            return NO_WARRANTY;
+        }
+        int bucket = 0;
+        for (int i = 1; i < WARRANTY_BOUNDS.length; i++) {
+            if (months >= WARRANTY_BOUNDS[i]) {
+                bucket = i;
+            }
+        }
+        return WARRANTY_LABELS[bucket];
+    }
+
+    private record DocFacets(Long serviceId, Map<String, String> values, BigDecimal cost) {}
+}
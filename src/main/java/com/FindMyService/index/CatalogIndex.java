@@ -0,0 +1,8 @@
+package com.FindMyService.index;
+
+public interface CatalogIndex {
+
+    void upsert(CatalogEntry entry);
+
+    void remove(Long serviceId);
+}
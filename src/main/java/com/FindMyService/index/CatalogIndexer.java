@@ -0,0 +1,127 @@
+package com.FindMyService.index;
+
+import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.enums.ServiceSort;
+import com.FindMyService.repository.ServiceCatalogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@Slf4j
+public class CatalogIndexer {
+
+    private static final int BOOTSTRAP_BATCH_SIZE = 1000;
+
+    private final List<CatalogIndex> indexes;
+    private final ServiceCatalogRepository serviceCatalogRepository;
+    // Which services each provider owns, so a deleted provider's services can be dropped after the rows are gone.
+    private final Map<Long, Set<Long>> serviceIdsByProviderId = new HashMap<>();
+    private final Map<Long, Long> providerIdByServiceId = new HashMap<>();
+
+    public CatalogIndexer(List<CatalogIndex> indexes, ServiceCatalogRepository serviceCatalogRepository) {
+        this.indexes = indexes;
+        this.serviceCatalogRepository = serviceCatalogRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        int loaded = 0;
+        Long lastServiceId = null;
+        try {
+            List<ServiceCatalog> batch;
+            do {
+                batch = serviceCatalogRepository.findPage(null, ServiceSort.SERVICE_ID, null, lastServiceId, BOOTSTRAP_BATCH_SIZE);
+                for (ServiceCatalog service : batch) {
+                    upsert(CatalogEntry.of(service));
+                }
+                loaded += batch.size();
+                if (!batch.isEmpty()) {
+                    lastServiceId = batch.getLast().getServiceId();
+                }
+            } while (batch.size() == BOOTSTRAP_BATCH_SIZE);
+            log.info("Loaded {} services into {} catalog indexes in {} ms",
+                    loaded, indexes.size(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.warn("Catalog index bootstrap stopped after {} services: {}", loaded, e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.isRemoval()) {
+            remove(event.serviceId());
+        } else {
+            upsert(event.entry());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProviderChanged(ProviderChangedEvent event) {
+        if (event.removed()) {
+            for (Long serviceId : servicesOf(event.providerId())) {
+                remove(serviceId);
+            }
+            return;
+        }
+        for (ServiceCatalog service : serviceCatalogRepository.findWithProviderByProviderId_ProviderId(event.providerId())) {
+            upsert(CatalogEntry.of(service));
+        }
+    }
+
+    private void upsert(CatalogEntry entry) {
+        track(entry.serviceId(), entry.providerId());
+        for (CatalogIndex index : indexes) {
+            try {
+                index.upsert(entry);
+            } catch (RuntimeException e) {
+                log.warn("Failed to index service {} in {}: {}",
+                        entry.serviceId(), index.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private void remove(Long serviceId) {
+        track(serviceId, null);
+        for (CatalogIndex index : indexes) {
+            try {
+                index.remove(serviceId);
+            } catch (RuntimeException e) {
+                log.warn("Failed to remove service {} from {}: {}",
+                        serviceId, index.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private synchronized void track(Long serviceId, Long providerId) {
+        Long previous = providerId != null
+                ? providerIdByServiceId.put(serviceId, providerId)
+                : providerIdByServiceId.remove(serviceId);
+        if (previous != null && !previous.equals(providerId)) {
+            Set<Long> owned = serviceIdsByProviderId.get(previous);
+            owned.remove(serviceId);
+            if (owned.isEmpty()) {
+                serviceIdsByProviderId.remove(previous);
+            }
+        }
+        if (providerId != null) {
+            serviceIdsByProviderId.computeIfAbsent(providerId, id -> new HashSet<>()).add(serviceId);
+        }
+    }
+
+    private synchronized List<Long> servicesOf(Long providerId) {
+        return List.copyOf(serviceIdsByProviderId.getOrDefault(providerId, Set.of()));
+    }
+}
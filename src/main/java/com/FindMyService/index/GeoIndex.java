@@ -0,0 +1,183 @@
+package com.FindMyService.index;
+
+import com.FindMyService.geo.GeoUtils;
+import com.FindMyService.model.dto.NearbyServiceDto;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class GeoIndex implements CatalogIndex {
+
+    // 25-bit geohash cells (precision 5): 13 longitude bits and 12 latitude bits, roughly 4.9 km on a side.
+    private static final int LON_BITS = 13;
+    private static final int LAT_BITS = 12;
+    private static final double CELL_LON_DEGREES = 360.0 / (1 << LON_BITS);
+    private static final double CELL_LAT_DEGREES = 180.0 / (1 << LAT_BITS);
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    static final double MAX_RADIUS_KM = 500;
+    private static final double INITIAL_KNN_RADIUS_KM = 5;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, GeoPoint> pointsByServiceId = new HashMap<>();
+    private final Map<Long, List<GeoPoint>> cells = new HashMap<>();
+
+    @Override
+    public void upsert(CatalogEntry entry) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(entry.serviceId());
+            if (!entry.active() || !GeoUtils.isValid(entry.latitude(), entry.longitude())) {
+                return;
+            }
+            GeoPoint point = new GeoPoint(entry.serviceId(), entry.serviceName(), entry.providerId(),
+                    entry.providerName(), entry.location(), entry.cost(), entry.avgRating(),
+                    entry.latitude(), entry.longitude());
+            pointsByServiceId.put(entry.serviceId(), point);
+            cells.computeIfAbsent(cellOf(point.latitude(), point.longitude()), c -> new ArrayList<>()).add(point);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long serviceId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(serviceId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<NearbyServiceDto> withinRadius(double latitude, double longitude, double radiusKm, int limit) {
+        lock.readLock().lock();
+        try {
+            List<NearbyServiceDto> found = collect(latitude, longitude, Math.min(radiusKm, MAX_RADIUS_KM));
+            found.sort(Comparator.comparingDouble(NearbyServiceDto::getDistanceKm));
+            return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Grows the search circle until it holds k points; anything outside the circle is farther than everything inside.
+    public List<NearbyServiceDto> nearest(double latitude, double longitude, int k) {
+        lock.readLock().lock();
+        try {
+            double radius = INITIAL_KNN_RADIUS_KM;
+            List<NearbyServiceDto> found = collect(latitude, longitude, radius);
+            while (found.size() < k && radius < MAX_RADIUS_KM && found.size() < pointsByServiceId.size()) {
+                radius = Math.min(radius * 2, MAX_RADIUS_KM);
+                found = collect(latitude, longitude, radius);
+            }
+            found.sort(Comparator.comparingDouble(NearbyServiceDto::getDistanceKm));
+            return found.size() > k ? new ArrayList<>(found.subList(0, k)) : found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<NearbyServiceDto> collect(double latitude, double longitude, double radiusKm) {
+        double latDelta = radiusKm / KM_PER_DEGREE_LAT;
+        double minLat = Math.max(-90, latitude - latDelta);
+        double maxLat = Math.min(90, latitude + latDelta);
+        double cosLat = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        double lonDelta = cosLat < 1e-6 ? 180 : Math.min(180, radiusKm / (KM_PER_DEGREE_LAT * cosLat));
+
+        int minLatIndex = latIndex(minLat);
+        int maxLatIndex = latIndex(maxLat);
+        int minLonIndex = lonIndex(longitude - lonDelta);
+        int lonCells = lonDelta >= 180 ? 1 << LON_BITS : lonIndex(longitude + lonDelta) - minLonIndex + 1;
+        if (lonCells <= 0) {
+            lonCells += 1 << LON_BITS;
+        }
+
+        List<NearbyServiceDto> found = new ArrayList<>();
+        for (int latIdx = minLatIndex; latIdx <= maxLatIndex; latIdx++) {
+            for (int offset = 0; offset < Math.min(lonCells, 1 << LON_BITS); offset++) {
+                int lonIdx = (minLonIndex + offset) & ((1 << LON_BITS) - 1);
+                List<GeoPoint> points = cells.get(interleave(lonIdx, latIdx));
+                if (points == null) {
+                    continue;
+                }
+                for (GeoPoint point : points) {
+                    double distance = GeoUtils.distanceKm(latitude, longitude, point.latitude(), point.longitude());
+                    if (distance <= radiusKm) {
+                        found.add(point.toDto(distance));
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private void removeLocked(Long serviceId) {
+        GeoPoint existing = pointsByServiceId.remove(serviceId);
+        if (existing == null) {
+            return;
+        }
+        long cell = cellOf(existing.latitude(), existing.longitude());
+        List<GeoPoint> points = cells.get(cell);
+        if (points != null) {
+            points.removeIf(point -> point.serviceId().equals(serviceId));
+            if (points.isEmpty()) {
+                cells.remove(cell);
+            }
+        }
+    }
+
+    private static long cellOf(double latitude, double longitude) {
+        return interleave(lonIndex(longitude), latIndex(latitude));
+    }
+
+    private static int latIndex(double latitude) {
+        return Math.min((1 << LAT_BITS) - 1, (int) Math.floor((latitude + 90) / CELL_LAT_DEGREES));
+    }
+
+    private static int lonIndex(double longitude) {
+        double wrapped = ((longitude + 180) % 360 + 360) % 360;
+        return Math.min((1 << LON_BITS) - 1, (int) Math.floor(wrapped / CELL_LON_DEGREES));
+    }
+
+    // Geohash bit order: longitude and latitude bits alternate, starting with longitude.
+    private static long interleave(int lonIdx, int latIdx) {
+        long hash = 0;
+        for (int bit = LON_BITS - 1; bit >= 0; bit--) {
+            hash = (hash << 1) | ((lonIdx >> bit) & 1);
+            if (bit - (LON_BITS - LAT_BITS) >= 0) {
+                hash = (hash << 1) | ((latIdx >> (bit - (LON_BITS - LAT_BITS))) & 1);
+            }
+        }
+        return hash;
+    }
+
+    private record GeoPoint(Long serviceId,
+                            String serviceName,
+                            Long providerId,
+                            String providerName,
+                            String location,
+                            BigDecimal cost,
+                            BigDecimal avgRating,
+                            double latitude,
+                            double longitude) {
+
+        NearbyServiceDto toDto(double distanceKm) {
+            return NearbyServiceDto.builder()
+                    .serviceId(serviceId)
+                    .serviceName(serviceName)
+                    .providerId(providerId)
+                    .providerName(providerName)
+                    .location(location)
+                    .cost(cost)
+                    .avgRating(avgRating)
+                    .latitude(latitude)
+                    .longitude(longitude)
+                    .distanceKm(distanceKm)
+                    .build();
+        }
+    }
+}
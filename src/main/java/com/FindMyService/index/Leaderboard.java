@@ -0,0 +1,74 @@
+package com.FindMyService.index;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+final class Leaderboard {
+
+    record Ranked(long id, String name, String city, String scope, BigDecimal avgRating, int totalRatings, double score) {
+    }
+
+    private static final Comparator<Ranked> ORDER = Comparator.comparingDouble(Ranked::score).reversed()
+            .thenComparing(Comparator.comparingInt(Ranked::totalRatings).reversed())
+            .thenComparingLong(Ranked::id);
+
+    private final Map<Long, Ranked> byId = new ConcurrentHashMap<>();
+    private final NavigableSet<Ranked> global = new ConcurrentSkipListSet<>(ORDER);
+    private final Map<String, NavigableSet<Ranked>> byScope = new ConcurrentHashMap<>();
+
+    // Writers are serialized so an id is never present twice; readers walk the skip lists without locking.
+    synchronized void put(Ranked ranked) {
+        removeLocked(ranked.id());
+        byId.put(ranked.id(), ranked);
+        global.add(ranked);
+        if (ranked.scope() != null) {
+            byScope.computeIfAbsent(ranked.scope(), s -> new ConcurrentSkipListSet<>(ORDER)).add(ranked);
+        }
+    }
+
+    synchronized void remove(long id) {
+        removeLocked(id);
+    }
+
+    List<Ranked> top(String scope, int limit) {
+        NavigableSet<Ranked> ranking = scope == null ? global : byScope.get(scope);
+        if (ranking == null) {
+            return List.of();
+        }
+        List<Ranked> top = new ArrayList<>(limit);
+        for (Ranked ranked : ranking) {
+            if (top.size() == limit) {
+                break;
+            }
+            top.add(ranked);
+        }
+        return top;
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    private void removeLocked(long id) {
+        Ranked previous = byId.remove(id);
+        if (previous == null) {
+            return;
+        }
+        global.remove(previous);
+        if (previous.scope() != null) {
+            NavigableSet<Ranked> scoped = byScope.get(previous.scope());
+            if (scoped != null) {
+                scoped.remove(previous);
+                if (scoped.isEmpty()) {
+                    byScope.remove(previous.scope());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.FindMyService.index;
+
+import com.FindMyService.model.dto.LeaderboardEntryDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class LeaderboardIndex implements CatalogIndex {
+
+    private final double priorMean;
+    private final int priorWeight;
+    private final Leaderboard services = new Leaderboard();
+    private final Leaderboard providers = new Leaderboard();
+    private final Map<Long, Long> providerByService = new HashMap<>();
+    private final Map<Long, Integer> serviceCountByProvider = new HashMap<>();
+
+    public LeaderboardIndex(@Value("${leaderboard.prior-mean:3.5}") double priorMean,
+                            @Value("${leaderboard.prior-weight:10}") int priorWeight) {
+        this.priorMean = priorMean;
+        this.priorWeight = priorWeight;
+    }
+
+    @Override
+    public synchronized void upsert(CatalogEntry entry) {
+        Long previousProvider = providerByService.put(entry.serviceId(), entry.providerId());
+        if (previousProvider != null && !previousProvider.equals(entry.providerId())) {
+            release(previousProvider);
+        }
+        if (entry.providerId() != null && !entry.providerId().equals(previousProvider)) {
+            serviceCountByProvider.merge(entry.providerId(), 1, Integer::sum);
+        }
+
+        String city = entry.location() != null && !entry.location().isBlank() ? entry.location() : entry.providerCity();
+        if (entry.active() && isRated(entry.avgRating(), entry.totalRatings())) {
+            services.put(ranked(entry.serviceId(), entry.serviceName(), city, entry.avgRating(), entry.totalRatings()));
+        } else {
+            services.remove(entry.serviceId());
+        }
+
+        if (entry.providerId() == null) {
+            return;
+        }
+        if (isRated(entry.providerAvgRating(), entry.providerTotalRatings())) {
+            providers.put(ranked(entry.providerId(), entry.providerName(), entry.providerCity(),
+                    entry.providerAvgRating(), entry.providerTotalRatings()));
+        } else {
+            providers.remove(entry.providerId());
+        }
+    }
+
+    @Override
+    public synchronized void remove(Long serviceId) {
+        services.remove(serviceId);
+        Long providerId = providerByService.remove(serviceId);
+        if (providerId != null) {
+            release(providerId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProviderChanged(ProviderChangedEvent event) {
+        if (!event.removed()) {
+            return;
+        }
+        providers.remove(event.providerId());
+        serviceCountByProvider.remove(event.providerId());
+        providerByService.entrySet().removeIf(e -> {
+            if (event.providerId().equals(e.getValue())) {
+                services.remove(e.getKey());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    public List<LeaderboardEntryDto> topServices(String city, int limit) {
+        return toDtos(services.top(scopeOf(city), limit));
+    }
+
+    public List<LeaderboardEntryDto> topProviders(String city, int limit) {
+        return toDtos(providers.top(scopeOf(city), limit));
+    }
+
+    int rankedServices() {
+        return services.size();
+    }
+
+    int rankedProviders() {
+        return providers.size();
+    }
+
+    // A fixed prior keeps each update local; a prior that tracked the catalog mean would reorder every entry.
+    double score(BigDecimal avgRating, int totalRatings) {
+        return (priorWeight * priorMean + avgRating.doubleValue() * totalRatings) / (priorWeight + totalRatings);
+    }
+
+    // Providers are only ranked while at least one of their services is in the catalog feed.
+    private void release(Long providerId) {
+        Integer remaining = serviceCountByProvider.computeIfPresent(providerId, (id, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            providers.remove(providerId);
+        }
+    }
+
+    private Leaderboard.Ranked ranked(Long id, String name, String city, BigDecimal avgRating, int totalRatings) {
+        return new Leaderboard.Ranked(id, name, city, scopeOf(city), avgRating, totalRatings, score(avgRating, totalRatings));
+    }
+
+    private static boolean isRated(BigDecimal avgRating, int totalRatings) {
+        return avgRating != null && totalRatings > 0;
+    }
+
+    private static String scopeOf(String city) {
+        return city == null || city.isBlank() ? null : TextTokenizer.normalize(city.trim());
+    }
+
+    private static List<LeaderboardEntryDto> toDtos(List<Leaderboard.Ranked> ranking) {
+        List<LeaderboardEntryDto> dtos = new ArrayList<>(ranking.size());
+        for (Leaderboard.Ranked ranked : ranking) {
+            dtos.add(LeaderboardEntryDto.builder()
+                    .rank(dtos.size() + 1)
+                    .id(ranked.id())
+                    .name(ranked.name())
+                    .city(ranked.city())
+                    .avgRating(ranked.avgRating())
+                    .totalRatings(ranked.totalRatings())
+                    .score(ranked.score())
+                    .build());
+        }
+        return dtos;
+    }
+}
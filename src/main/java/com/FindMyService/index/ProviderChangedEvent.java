@@ -0,0 +1,16 @@
+package com.FindMyService.index;
+
+public record ProviderChangedEvent(Long providerId, boolean removed, boolean ratingsOnly) {
+
+    public static ProviderChangedEvent updated(Long providerId) {
+        return new ProviderChangedEvent(providerId, false, false);
+    }
+
+    public static ProviderChangedEvent rated(Long providerId) {
+        return new ProviderChangedEvent(providerId, false, true);
+    }
+
+    public static ProviderChangedEvent deleted(Long providerId) {
+        return new ProviderChangedEvent(providerId, true, false);
+    }
+}
@@ -0,0 +1,254 @@
+package com.FindMyService.index;
+
+import com.FindMyService.model.dto.SearchHitDto;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class ServiceSearchIndex implements CatalogIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final float SERVICE_NAME_WEIGHT = 3f;
+    private static final float PROVIDER_NAME_WEIGHT = 2f;
+    private static final float LOCATION_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> docIdByServiceId = new HashMap<>();
+    private final List<Doc> docs = new ArrayList<>();
+    private final Deque<Integer> freeDocIds = new ArrayDeque<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private double totalLength;
+
+    @Override
+    public void upsert(CatalogEntry entry) {
+        IndexedText text = new IndexedText(entry.serviceName(), entry.providerName(), entry.location(),
+                entry.providerCity(), entry.description());
+        lock.writeLock().lock();
+        try {
+            // Rating and price updates, e.g. one per review, keep the postings and only swap the stored fields.
+            Integer existing = docIdByServiceId.get(entry.serviceId());
+            if (existing != null && entry.active() && docs.get(existing).text().equals(text)) {
+                docs.set(existing, docs.get(existing).with(entry));
+                return;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<String, Float> termFrequencies = new HashMap<>();
+        addTerms(termFrequencies, entry.serviceName(), SERVICE_NAME_WEIGHT);
+        addTerms(termFrequencies, entry.providerName(), PROVIDER_NAME_WEIGHT);
+        addTerms(termFrequencies, entry.location(), LOCATION_WEIGHT);
+        addTerms(termFrequencies, entry.providerCity(), LOCATION_WEIGHT);
+        addTerms(termFrequencies, entry.description(), DESCRIPTION_WEIGHT);
+
+        float length = 0f;
+        for (float tf : termFrequencies.values()) {
+            length += tf;
+        }
+        String[] terms = termFrequencies.keySet().toArray(String[]::new);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(entry.serviceId());
+            if (!entry.active()) {
+                return;
+            }
+            int docId = freeDocIds.isEmpty() ? docs.size() : freeDocIds.pop();
+            Doc doc = new Doc(entry.serviceId(), entry.serviceName(), entry.providerId(), entry.providerName(),
+                    entry.location(), entry.cost(), entry.avgRating(), entry.totalRatings(),
+                    text, terms, new int[terms.length], length);
+            if (docId == docs.size()) {
+                docs.add(doc);
+            } else {
+                docs.set(docId, doc);
+            }
+            docIdByServiceId.put(entry.serviceId(), docId);
+            totalLength += length;
+            for (int slot = 0; slot < terms.length; slot++) {
+                doc.positions()[slot] = postings.computeIfAbsent(terms[slot], t -> new Postings())
+                        .add(docId, termFrequencies.get(terms[slot]), slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long serviceId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(serviceId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SearchHitDto> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(TextTokenizer.tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int liveDocs = docIdByServiceId.size();
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            float avgLength = (float) (totalLength / liveDocs);
+            float[] scores = new float[docs.size()];
+            int[] candidates = new int[docs.size()];
+            int candidateCount = 0;
+
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (liveDocs - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int docId = list.docIds[i];
+                    float tf = list.frequencies[i];
+                    float norm = K1 * (1 - B + B * docs.get(docId).length() / avgLength);
+                    if (scores[docId] == 0f) {
+                        candidates[candidateCount++] = docId;
+                    }
+                    scores[docId] += (float) (idf * (tf * (K1 + 1)) / (tf + norm));
+                }
+            }
+
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(d -> scores[d]));
+            for (int i = 0; i < candidateCount; i++) {
+                int docId = candidates[i];
+                if (top.size() < limit) {
+                    top.add(docId);
+                } else if (scores[docId] > scores[top.peek()]) {
+                    top.poll();
+                    top.add(docId);
+                }
+            }
+
+            List<SearchHitDto> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                int docId = top.poll();
+                hits.add(docs.get(docId).toHit(scores[docId]));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdByServiceId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long serviceId) {
+        Integer docId = docIdByServiceId.remove(serviceId);
+        if (docId == null) {
+            return;
+        }
+        Doc doc = docs.get(docId);
+        for (int slot = 0; slot < doc.terms().length; slot++) {
+            Postings list = postings.get(doc.terms()[slot]);
+            int moved = list.removeAt(doc.positions()[slot]);
+            if (moved >= 0) {
+                docs.get(list.docIds[moved]).positions()[list.slots[moved]] = moved;
+            }
+            if (list.size == 0) {
+                postings.remove(doc.terms()[slot]);
+            }
+        }
+        totalLength -= doc.length();
+        docs.set(docId, null);
+        freeDocIds.push(docId);
+    }
+
+    private static void addTerms(Map<String, Float> termFrequencies, String text, float weight) {
+        for (String token : TextTokenizer.tokenize(text)) {
+            termFrequencies.merge(token, weight, Float::sum);
+        }
+    }
+
+    private record Doc(Long serviceId,
+                       String serviceName,
+                       Long providerId,
+                       String providerName,
+                       String location,
+                       BigDecimal cost,
+                       BigDecimal avgRating,
+                       int totalRatings,
+                       IndexedText text,
+                       String[] terms,
+                       int[] positions,
+                       float length) {
+
+        Doc with(CatalogEntry entry) {
+            return new Doc(serviceId, serviceName, entry.providerId(), providerName, location, entry.cost(),
+                    entry.avgRating(), entry.totalRatings(), text, terms, positions, length);
+        }
+
+        SearchHitDto toHit(float score) {
+            return SearchHitDto.builder()
+                    .serviceId(serviceId)
+                    .serviceName(serviceName)
+                    .providerId(providerId)
+                    .providerName(providerName)
+                    .location(location)
+                    .cost(cost)
+                    .avgRating(avgRating)
+                    .totalRatings(totalRatings)
+                    .score(score)
+                    .build();
+        }
+    }
+
+    private record IndexedText(String serviceName, String providerName, String location, String providerCity,
+                               String description) {}
+
+    // Each entry records which of its document's terms it belongs to (slot), and each document records where its
+    // entries sit (Doc.positions), so removing a document is a swap with the last entry instead of a scan.
+    private static final class Postings {
+        private int[] docIds = new int[4];
+        private float[] frequencies = new float[4];
+        private int[] slots = new int[4];
+        private int size;
+
+        int add(int docId, float frequency, int slot) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            docIds[size] = docId;
+            frequencies[size] = frequency;
+            slots[size] = slot;
+            return size++;
+        }
+
+        // Returns the position the last entry was moved to, or -1 when the removed entry was the last one.
+        int removeAt(int position) {
+            size--;
+            if (position == size) {
+                return -1;
+            }
+            docIds[position] = docIds[size];
+            frequencies[position] = frequencies[size];
+            slots[position] = slots[size];
+            return position;
+        }
+    }
+}
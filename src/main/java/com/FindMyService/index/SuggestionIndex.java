@@ -0,0 +1,272 @@
+package com.FindMyService.index;
+
+import com.FindMyService.model.dto.SuggestionDto;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class SuggestionIndex implements CatalogIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final String SERVICE = "SERVICE";
+    private static final String PROVIDER = "PROVIDER";
+    private static final String LOCATION = "LOCATION";
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    private final Map<String, Suggestion> suggestions = new HashMap<>();
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+
+    @Override
+    public void upsert(CatalogEntry entry) {
+        lock.writeLock().lock();
+        try {
+            Set<Suggestion> touched = new LinkedHashSet<>(removeContribution(entry.serviceId()));
+            if (entry.active()) {
+                long weight = 1L + entry.totalRatings();
+                List<Suggestion> contributed = new ArrayList<>(3);
+                addSuggestion(contributed, SERVICE, entry.serviceName());
+                addSuggestion(contributed, PROVIDER, entry.providerName());
+                addSuggestion(contributed, LOCATION, entry.location());
+                for (Suggestion suggestion : contributed) {
+                    suggestion.weight += weight;
+                    suggestion.references++;
+                }
+                contributions.put(entry.serviceId(), new Contribution(contributed, weight));
+                touched.addAll(contributed);
+            }
+            touched.forEach(this::refresh);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long serviceId) {
+        lock.writeLock().lock();
+        try {
+            removeContribution(serviceId).forEach(this::refresh);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        String key = String.join(" ", TextTokenizer.tokenize(prefix));
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            int count = Math.min(limit, node.top.length);
+            List<SuggestionDto> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Suggestion suggestion = node.top[i];
+                result.add(SuggestionDto.builder()
+                        .text(suggestion.text)
+                        .type(suggestion.type)
+                        .weight(suggestion.weight)
+                        .build());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addSuggestion(List<Suggestion> contributed, String type, String text) {
+        List<String> tokens = TextTokenizer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return;
+        }
+        String key = type + ':' + String.join(" ", tokens);
+        Suggestion suggestion = suggestions.get(key);
+        if (suggestion == null) {
+            suggestion = new Suggestion(key, type, text.trim(), paths(tokens));
+            suggestions.put(key, suggestion);
+            for (String path : suggestion.paths) {
+                Node node = root;
+                for (int i = 0; i < path.length(); i++) {
+                    node = node.getOrCreateChild(path.charAt(i));
+                }
+                node.terminals = append(node.terminals, suggestion);
+            }
+        }
+        contributed.add(suggestion);
+    }
+
+    private List<Suggestion> removeContribution(Long serviceId) {
+        Contribution previous = contributions.remove(serviceId);
+        if (previous == null) {
+            return List.of();
+        }
+        for (Suggestion suggestion : previous.suggestions()) {
+            suggestion.weight -= previous.weight();
+            suggestion.references--;
+            if (suggestion.references == 0) {
+                suggestions.remove(suggestion.key);
+            }
+        }
+        return previous.suggestions();
+    }
+
+    // Recomputes the cached top-k lists on every node from the suggestion's terminals back up to the root.
+    private void refresh(Suggestion suggestion) {
+        boolean detached = suggestion.references == 0;
+        for (String path : suggestion.paths) {
+            Node[] trail = trail(path);
+            if (trail == null) {
+                continue;
+            }
+            if (detached) {
+                trail[path.length()].terminals = without(trail[path.length()].terminals, suggestion);
+            }
+            for (int depth = path.length(); depth >= 0; depth--) {
+                Node node = trail[depth];
+                node.recomputeTop();
+                if (depth > 0 && node.isEmpty()) {
+                    trail[depth - 1].removeChild(path.charAt(depth - 1));
+                }
+            }
+        }
+    }
+
+    private Node[] trail(String path) {
+        Node[] trail = new Node[path.length() + 1];
+        trail[0] = root;
+        for (int i = 0; i < path.length(); i++) {
+            trail[i + 1] = trail[i].child(path.charAt(i));
+            if (trail[i + 1] == null) {
+                return null;
+            }
+        }
+        return trail;
+    }
+
+    private static List<String> paths(List<String> tokens) {
+        List<String> paths = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            String path = String.join(" ", tokens.subList(i, tokens.size()));
+            if (!paths.contains(path)) {
+                paths.add(path);
+            }
+        }
+        return paths;
+    }
+
+    private static Suggestion[] append(Suggestion[] array, Suggestion suggestion) {
+        for (Suggestion existing : array) {
+            if (existing == suggestion) {
+                return array;
+            }
+        }
+        Suggestion[] copy = Arrays.copyOf(array, array.length + 1);
+        copy[array.length] = suggestion;
+        return copy;
+    }
+
+    private static Suggestion[] without(Suggestion[] array, Suggestion suggestion) {
+        return Arrays.stream(array).filter(existing -> existing != suggestion).toArray(Suggestion[]::new);
+    }
+
+    private static final Comparator<Suggestion> BY_WEIGHT = Comparator
+            .comparingLong((Suggestion s) -> s.weight).reversed()
+            .thenComparing(s -> s.text);
+
+    private static final class Suggestion {
+        private final String key;
+        private final String type;
+        private final String text;
+        private final List<String> paths;
+        private long weight;
+        private int references;
+
+        Suggestion(String key, String type, String text, List<String> paths) {
+            this.key = key;
+            this.type = type;
+            this.text = text;
+            this.paths = paths;
+        }
+    }
+
+    private record Contribution(List<Suggestion> suggestions, long weight) {}
+
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private Suggestion[] terminals = NO_SUGGESTIONS;
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node getOrCreateChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = c;
+            Node created = new Node();
+            newChildren[insertAt] = created;
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return created;
+        }
+
+        void removeChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return terminals.length == 0 && children.length == 0;
+        }
+
+        void recomputeTop() {
+            List<Suggestion> candidates = new ArrayList<>(terminals.length + children.length * MAX_SUGGESTIONS);
+            Collections.addAll(candidates, terminals);
+            for (Node child : children) {
+                for (Suggestion suggestion : child.top) {
+                    if (!candidates.contains(suggestion)) {
+                        candidates.add(suggestion);
+                    }
+                }
+            }
+            candidates.sort(BY_WEIGHT);
+            top = candidates.subList(0, Math.min(MAX_SUGGESTIONS, candidates.size())).toArray(Suggestion[]::new);
+        }
+    }
+}
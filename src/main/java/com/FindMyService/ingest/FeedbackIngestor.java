@@ -0,0 +1,293 @@
+package com.FindMyService.ingest;
+
+import com.FindMyService.model.Feedback;
+import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.dto.FeedbackDto;
+import com.FindMyService.model.id.TimeOrderedIds;
+import com.FindMyService.notification.Notification;
+import com.FindMyService.notification.NotificationOutbox;
+import com.FindMyService.service.FeedbackService;
+import com.FindMyService.service.FeedbackService.RatingDelta;
+import com.FindMyService.service.ServiceCatalogService;
+import com.FindMyService.service.UserService;
+import com.FindMyService.utils.ResponseBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.TimeZone;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// Write-behind path for reviews: a submission is validated against cached entities, journaled and acknowledged,
+// and a single background writer applies the backlog in batches with one coalesced rating update per row.
+@Component
+@ConditionalOnProperty(name = "feedback.ingest.write-behind", havingValue = "true")
+@Slf4j
+public class FeedbackIngestor {
+
+    private static final String INSERT_SQL =
+            "insert into feedbacks (feedback_id, service_id, user_id, comment, comment_preview, rating, created_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String READ_CHECKPOINT_SQL =
+            "select applied_sequence from ingest_checkpoints where journal = ?";
+    private static final String WRITE_CHECKPOINT_SQL =
+            "insert into ingest_checkpoints (journal, applied_sequence) values (?, ?) "
+            + "on duplicate key update applied_sequence = greatest(applied_sequence, values(applied_sequence))";
+
+    private final UserService userService;
+    private final ServiceCatalogService serviceCatalogService;
+    private final FeedbackService feedbackService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TimeOrderedIds timeOrderedIds;
+    private final NotificationOutbox notificationOutbox;
+    private final FeedbackJournal journal;
+    private final String journalName;
+    private final int capacity;
+    private final int batchSize;
+    private final BlockingQueue<PendingFeedback> queue = new LinkedBlockingQueue<>();
+    private final Object submitLock = new Object();
+    private List<PendingFeedback> carriedOver = List.of();
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter applied;
+    private final Counter dropped;
+    private final Timer batchTimer;
+
+    public FeedbackIngestor(UserService userService,
+                            ServiceCatalogService serviceCatalogService,
+                            FeedbackService feedbackService,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            TimeOrderedIds timeOrderedIds,
+                            NotificationOutbox notificationOutbox,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${feedback.ingest.journal-dir:data/feedback-journal}") String journalDir,
+                            @Value("${feedback.ingest.journal-name:}") String journalName,
+                            @Value("${feedback.ingest.fsync:true}") boolean fsync,
+                            @Value("${feedback.ingest.segment-size:8MB}") DataSize segmentSize,
+                            @Value("${feedback.ingest.queue-capacity:10000}") int capacity,
+                            @Value("${feedback.ingest.batch-size:500}") int batchSize) throws IOException {
+        // Journal files and the checkpoint row are found by this name after a restart, so it must outlive the
+        // process; a derived default such as the container hostname changes on every redeploy and strands the backlog.
+        if (journalName == null || journalName.isBlank()) {
+            throw new IllegalStateException(
+                    "feedback.ingest.journal-name must be set to a stable name when feedback.ingest.write-behind is on");
+        }
+        this.userService = userService;
+        this.serviceCatalogService = serviceCatalogService;
+        this.feedbackService = feedbackService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.timeOrderedIds = timeOrderedIds;
+        this.notificationOutbox = notificationOutbox;
+        this.journalName = journalName;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.journal = new FeedbackJournal(Path.of(journalDir), journalName, objectMapper, fsync, segmentSize.toBytes());
+
+        // Recovered before the bean is published, so sequence numbers continue from the journal and checkpoint.
+        Long appliedSequence = jdbcTemplate.query(READ_CHECKPOINT_SQL, rs -> rs.next() ? rs.getLong(1) : 0L, journalName);
+        List<PendingFeedback> pending = journal.recover(appliedSequence != null ? appliedSequence : 0L);
+        if (!pending.isEmpty()) {
+            log.info("Replaying {} journaled feedback submissions", pending.size());
+        }
+        queue.addAll(pending);
+
+        this.accepted = Counter.builder("feedback.ingest.accepted").register(meterRegistry);
+        this.rejected = Counter.builder("feedback.ingest.rejected")
+                .description("Submissions refused because the ingest queue was full")
+                .register(meterRegistry);
+        this.applied = Counter.builder("feedback.ingest.applied").register(meterRegistry);
+        this.dropped = Counter.builder("feedback.ingest.dropped")
+                .description("Journaled submissions that could not be written, e.g. because the service was deleted")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("feedback.ingest.batch").register(meterRegistry);
+        Gauge.builder("feedback.ingest.queue.size", queue, Collection::size).register(meterRegistry);
+        Gauge.builder("feedback.ingest.lag.seconds", this, FeedbackIngestor::lagSeconds).register(meterRegistry);
+    }
+
+    public ResponseEntity<?> submit(FeedbackDto feedbackDto) {
+        BigDecimal rating = feedbackDto.getRating();
+        if (rating == null || rating.compareTo(BigDecimal.ZERO) < 0 || rating.compareTo(new BigDecimal("5.0")) > 0) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseBuilder.build(HttpStatus.BAD_REQUEST, "Rating must be between 0 and 5"));
+        }
+        if (feedbackDto.getUserId() == null || userService.getUserById(feedbackDto.getUserId()).isEmpty()) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(ResponseBuilder.notFound("User not found"));
+        }
+        Optional<ServiceCatalog> service = feedbackDto.getServiceId() != null
+                ? serviceCatalogService.getServiceById(feedbackDto.getServiceId())
+                : Optional.empty();
+        if (service.isEmpty()) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(ResponseBuilder.notFound("Service catalog not found"));
+        }
+
+        PendingFeedback entry = new PendingFeedback(0,
+                feedbackDto.getServiceId(),
+                service.get().getProviderId().getProviderId(),
+                feedbackDto.getUserId(),
+                feedbackDto.getComment(),
+                rating,
+                Instant.now().truncatedTo(ChronoUnit.MICROS));
+        synchronized (submitLock) {
+            if (queue.size() >= capacity) {
+                rejected.increment();
+                return ResponseEntity
+                        .status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(ResponseBuilder.build(HttpStatus.SERVICE_UNAVAILABLE, "Feedback queue is full, retry shortly"));
+            }
+            try {
+                entry = journal.append(entry);
+            } catch (IOException e) {
+                log.error("Failed to journal feedback for service {}", entry.serviceId(), e);
+                return ResponseEntity
+                        .status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body(ResponseBuilder.build(HttpStatus.SERVICE_UNAVAILABLE, "Feedback could not be recorded"));
+            }
+            queue.add(entry);
+        }
+        // Forced outside the submit lock, so concurrent submissions share one flush instead of queueing behind it.
+        try {
+            journal.sync(entry.sequence());
+        } catch (IOException e) {
+            // The entry is queued and the writer will apply it, so it is still acknowledged: a 503 here would make the
+            // client retry and store the review twice. Only its survival across a crash before it is applied is lost.
+            log.error("Failed to flush the feedback journal up to {}", entry.sequence(), e);
+        }
+        accepted.increment();
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(FeedbackDto.builder()
+                .serviceId(entry.serviceId())
+                .userId(entry.userId())
+                .comment(entry.comment())
+                .rating(entry.rating())
+                .createdAt(entry.createdAt())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${feedback.ingest.flush-interval-ms:200}")
+    public synchronized void drain() {
+        List<PendingFeedback> batch = new ArrayList<>(carriedOver);
+        carriedOver = List.of();
+        while (!batch.isEmpty() || queue.drainTo(batch, batchSize) > 0) {
+            List<PendingFeedback> unapplied = apply(batch);
+            if (!unapplied.isEmpty()) {
+                carriedOver = unapplied;
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        drain();
+        journal.close();
+    }
+
+    // Returns the entries that could not be written yet (the database is unavailable); they are retried next run.
+    private List<PendingFeedback> apply(List<PendingFeedback> batch) {
+        try {
+            batchTimer.record(() -> transactionTemplate.executeWithoutResult(status -> write(batch)));
+            applied.increment(batch.size());
+        } catch (DataIntegrityViolationException e) {
+            // A service or user was deleted after acceptance; apply one by one so only the orphaned entries are lost.
+            for (int i = 0; i < batch.size(); i++) {
+                PendingFeedback entry = batch.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> write(List.of(entry)));
+                    applied.increment();
+                } catch (DataIntegrityViolationException entryFailure) {
+                    log.warn("Dropping feedback {} for service {}: {}", entry.sequence(), entry.serviceId(),
+                            entryFailure.getMostSpecificCause().getMessage());
+                    dropped.increment();
+                    transactionTemplate.executeWithoutResult(status -> checkpoint(entry.sequence()));
+                } catch (RuntimeException entryFailure) {
+                    log.warn("Feedback writer paused: {}", entryFailure.getMessage());
+                    return List.copyOf(batch.subList(i, batch.size()));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Feedback writer paused with {} entries pending: {}", batch.size(), e.getMessage());
+            return List.copyOf(batch);
+        }
+        try {
+            journal.releaseApplied(batch.getLast().sequence());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return List.of();
+    }
+
+    private void write(List<PendingFeedback> batch) {
+        // Aggregates first, so the service rows are exclusively locked before the inserts' foreign key checks.
+        feedbackService.applyRatings(batch.stream()
+                .map(entry -> new RatingDelta(entry.serviceId(), entry.providerId(), entry.rating()))
+                .toList());
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        List<Notification> notifications = new ArrayList<>(batch.size());
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+            long feedbackId = timeOrderedIds.nextId();
+            notifications.add(Notification.feedbackCreated(feedbackId, entry.serviceId(), entry.providerId(),
+                    entry.userId()));
+            ps.setLong(1, feedbackId);
+            ps.setLong(2, entry.serviceId());
+            ps.setLong(3, entry.userId());
+            ps.setString(4, entry.comment());
+            ps.setString(5, Feedback.previewOf(entry.comment()));
+            ps.setBigDecimal(6, entry.rating());
+            ps.setTimestamp(7, Timestamp.from(entry.createdAt()), utc);
+        });
+        notificationOutbox.appendAll(notifications);
+        checkpoint(batch.getLast().sequence());
+    }
+
+    // Stored in the same transaction as the rows, so a replay after a crash never applies an entry twice.
+    private void checkpoint(long sequence) {
+        jdbcTemplate.update(WRITE_CHECKPOINT_SQL, journalName, sequence);
+    }
+
+    private double lagSeconds() {
+        PendingFeedback oldest = carriedOver.isEmpty() ? queue.peek() : carriedOver.getFirst();
+        return oldest == null ? 0 : Duration.between(oldest.createdAt(), Instant.now()).toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,220 @@
+package com.FindMyService.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// Append-only NDJSON log of accepted feedback, split into segments named after the first sequence they may hold.
+// Entries are acknowledged only once they are on disk. A segment is deleted as soon as everything in it has been
+// applied, and the active one is truncated when the whole backlog is applied, so the journal never holds much more
+// than the backlog plus one segment.
+@Slf4j
+class FeedbackJournal implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".ndjson";
+
+    private final Path directory;
+    private final String name;
+    private final ObjectMapper objectMapper;
+    private final boolean fsync;
+    private final long segmentBytes;
+    // Closed segments, oldest first; each one holds sequences up to the first sequence of the next segment minus one.
+    private final Deque<Segment> sealed = new ArrayDeque<>();
+    private final Object syncLock = new Object();
+    private Segment active;
+    private FileChannel channel;
+    private long lastSequence;
+    private volatile long durableSequence;
+
+    FeedbackJournal(Path directory, String name, ObjectMapper objectMapper, boolean fsync, long segmentBytes)
+            throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.name = name;
+        this.objectMapper = objectMapper;
+        this.fsync = fsync;
+        this.segmentBytes = segmentBytes;
+    }
+
+    // Returns the entries after the applied sequence and deletes the segments that are fully applied. Only the last
+    // segment can end in a torn line from a crash mid-write; it is cut off so the next append starts on a fresh line.
+    synchronized List<PendingFeedback> recover(long appliedSequence) throws IOException {
+        lastSequence = appliedSequence;
+        List<Segment> segments = listSegments();
+        List<PendingFeedback> pending = new ArrayList<>();
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            boolean last = i == segments.size() - 1;
+            if (!last && segments.get(i + 1).firstSequence() - 1 <= appliedSequence) {
+                Files.delete(segment.path());
+                continue;
+            }
+            pending.addAll(read(segment, appliedSequence, last));
+            if (!last) {
+                sealed.add(segment);
+            }
+        }
+        active = segments.isEmpty() ? new Segment(segmentPath(lastSequence + 1), lastSequence + 1) : segments.getLast();
+        channel = open(active.path());
+        durableSequence = lastSequence;
+        return pending;
+    }
+
+    // Writes the entry without forcing it to disk; callers acknowledge it only after sync(sequence) returns.
+    synchronized PendingFeedback append(PendingFeedback entry) throws IOException {
+        if (channel.size() >= segmentBytes) {
+            rotate();
+        }
+        PendingFeedback sequenced = entry.withSequence(lastSequence + 1);
+        byte[] line = (objectMapper.writeValueAsString(sequenced) + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        lastSequence = sequenced.sequence();
+        return sequenced;
+    }
+
+    // Group commit: whoever gets here first forces everything appended so far, and the submitters that queued up
+    // behind it find their entry already durable and return without another force.
+    void sync(long sequence) throws IOException {
+        if (!fsync) {
+            return;
+        }
+        synchronized (syncLock) {
+            while (durableSequence < sequence) {
+                FileChannel current;
+                long target;
+                synchronized (this) {
+                    current = channel;
+                    target = lastSequence;
+                }
+                try {
+                    current.force(false);
+                } catch (ClosedChannelException e) {
+                    // Rotated meanwhile; the closed segment was forced before it was closed, so just try again.
+                    continue;
+                }
+                durableSequence = Math.max(durableSequence, target);
+            }
+        }
+    }
+
+    synchronized void releaseApplied(long appliedSequence) throws IOException {
+        while (!sealed.isEmpty() && nextFirstSequence(sealed.getFirst()) - 1 <= appliedSequence) {
+            Files.delete(sealed.removeFirst().path());
+        }
+        if (appliedSequence >= lastSequence && channel.size() > 0) {
+            channel.truncate(0);
+            if (fsync) {
+                channel.force(false);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void rotate() throws IOException {
+        if (fsync) {
+            channel.force(false);
+        }
+        channel.close();
+        sealed.add(active);
+        active = new Segment(segmentPath(lastSequence + 1), lastSequence + 1);
+        channel = open(active.path());
+    }
+
+    private long nextFirstSequence(Segment segment) {
+        for (Segment next : sealed) {
+            if (next.firstSequence() > segment.firstSequence()) {
+                return next.firstSequence();
+            }
+        }
+        return active.firstSequence();
+    }
+
+    private List<PendingFeedback> read(Segment segment, long appliedSequence, boolean last) throws IOException {
+        byte[] content = Files.readAllBytes(segment.path());
+        int end = content.length;
+        while (end > 0 && content[end - 1] != '\n') {
+            end--;
+        }
+        if (end < content.length && last) {
+            log.warn("Discarding {} bytes of incomplete feedback journal entry", content.length - end);
+            try (FileChannel torn = FileChannel.open(segment.path(), StandardOpenOption.WRITE)) {
+                torn.truncate(end);
+            }
+        }
+
+        List<PendingFeedback> pending = new ArrayList<>();
+        for (String line : new String(content, 0, end, StandardCharsets.UTF_8).split("\n")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            PendingFeedback entry;
+            try {
+                entry = objectMapper.readValue(line, PendingFeedback.class);
+            } catch (JsonProcessingException e) {
+                log.warn("Ignoring unreadable feedback journal entry: {}", e.getOriginalMessage());
+                continue;
+            }
+            lastSequence = Math.max(lastSequence, entry.sequence());
+            if (entry.sequence() > appliedSequence) {
+                pending.add(entry);
+            }
+        }
+        return pending;
+    }
+
+    // Segments sorted by first sequence. A journal from before segmenting (<name>.ndjson) becomes the first segment.
+    private List<Segment> listSegments() throws IOException {
+        Path legacy = directory.resolve(name + SEGMENT_SUFFIX);
+        if (Files.exists(legacy)) {
+            Files.move(legacy, segmentPath(0));
+        }
+        List<Segment> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, name + ".*" + SEGMENT_SUFFIX)) {
+            for (Path path : files) {
+                String fileName = path.getFileName().toString();
+                String sequence = fileName.substring(name.length() + 1, fileName.length() - SEGMENT_SUFFIX.length());
+                try {
+                    segments.add(new Segment(path, Long.parseLong(sequence)));
+                } catch (NumberFormatException e) {
+                    log.warn("Ignoring unexpected file {} in the feedback journal directory", fileName);
+                }
+            }
+        }
+        segments.sort((left, right) -> Long.compare(left.firstSequence(), right.firstSequence()));
+        return segments;
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return directory.resolve(String.format("%s.%020d%s", name, firstSequence, SEGMENT_SUFFIX));
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private record Segment(Path path, long firstSequence) {}
+}
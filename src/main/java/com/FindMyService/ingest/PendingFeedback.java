@@ -0,0 +1,17 @@
+package com.FindMyService.ingest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+record PendingFeedback(long sequence,
+                       Long serviceId,
+                       Long providerId,
+                       Long userId,
+                       String comment,
+                       BigDecimal rating,
+                       Instant createdAt) {
+
+    PendingFeedback withSequence(long sequence) {
+        return new PendingFeedback(sequence, serviceId, providerId, userId, comment, rating, createdAt);
+    }
+}
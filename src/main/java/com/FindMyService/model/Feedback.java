@@ -1,5 +1,6 @@
 package com.FindMyService.model;
 
+import com.FindMyService.model.id.TimeOrderedId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
@@ -10,15 +11,21 @@ import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
-@Table(name = "feedbacks")
+@Table(name = "feedbacks",
+        indexes = {
+                @Index(name = "idx_feedbacks_service_created_at", columnList = "service_id, created_at, feedback_id"),
+                @Index(name = "idx_feedbacks_service_rating", columnList = "service_id, rating, feedback_id")
+        })
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Feedback {
+    public static final int PREVIEW_LENGTH = 140;
+
     @Id
     @Column(length = 64)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long feedbackId;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -32,6 +39,10 @@ public class Feedback {
     @Lob
     private String comment;
 
+    // Kept next to the LOB so review listings can be served without reading it.
+    @Column(name = "comment_preview", length = PREVIEW_LENGTH)
+    private String commentPreview;
+
     @Column(nullable = false, precision = 2, scale = 1)
     @DecimalMin(value = "0.0", message = "Rating must be at least 0")
     @DecimalMax(value = "5.0", message = "Rating must be at most 5")
@@ -39,4 +50,23 @@ public class Feedback {
 
     @CreationTimestamp
     private Instant createdAt;
+
+    @PrePersist
+    @PreUpdate
+    void fillCommentPreview() {
+        commentPreview = previewOf(comment);
+    }
+
+    public static String previewOf(String comment) {
+        if (comment == null) {
+            return null;
+        }
+        String trimmed = comment.strip();
+        int lineEnd = trimmed.indexOf('\n');
+        String firstLine = (lineEnd < 0 ? trimmed : trimmed.substring(0, lineEnd)).strip();
+        if (firstLine.length() > PREVIEW_LENGTH) {
+            return firstLine.substring(0, PREVIEW_LENGTH - 1).stripTrailing() + "\u2026";
+        }
+        return lineEnd < 0 ? firstLine : firstLine + "\u2026";
+    }
 }
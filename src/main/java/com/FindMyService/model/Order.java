@@ -1,6 +1,7 @@
 package com.FindMyService.model;
 
 import com.FindMyService.model.enums.OrderStatus;
+import com.FindMyService.model.id.TimeOrderedId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import lombok.*;
@@ -10,7 +11,13 @@ import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders",
+        indexes = {
+                @Index(name = "idx_orders_user_created_at", columnList = "ordered_by_user_id, created_at, order_id"),
+                @Index(name = "idx_orders_provider_created_at", columnList = "provider_id, created_at, order_id"),
+                @Index(name = "idx_orders_provider_status_created_at",
+                        columnList = "provider_id, order_status, created_at, order_id")
+        })
 @Data
 @Builder
 @NoArgsConstructor
@@ -18,7 +25,7 @@ import java.time.Instant;
 public class Order {
     @Id
     @Column(length = 64)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long orderId;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -59,4 +66,9 @@ public class Order {
 
     @UpdateTimestamp
     private Instant updatedAt;
+
+    // Bumped on every write; status transitions and edits only apply to the version they were validated against.
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,50 @@
+package com.FindMyService.model;
+
+import com.FindMyService.model.enums.NotificationType;
+import com.FindMyService.model.enums.OutboxStatus;
+import com.FindMyService.model.id.TimeOrderedId;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// Written in the transaction that changes the order or review and deleted once delivered, so the table only
+// holds the backlog and the dead letters.
+@Entity
+@Table(name = "outbox_events",
+        indexes = @Index(name = "idx_outbox_events_status_event_id", columnList = "status, event_id, available_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    @Id
+    @TimeOrderedId
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private NotificationType eventType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OutboxStatus status;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant availableAt;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(length = 512)
+    private String lastError;
+}
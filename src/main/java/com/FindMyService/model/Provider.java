@@ -1,9 +1,12 @@
 package com.FindMyService.model;
 
+import com.FindMyService.model.id.TimeOrderedId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -18,7 +21,7 @@ import java.util.List;
 public class Provider {
     @Id
     @Column(length = 64)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long providerId;
 
     @Column(nullable = false, length = 160)
@@ -42,22 +45,33 @@ public class Provider {
 
     private String zipCode;
 
+    private Double latitude;
+
+    private Double longitude;
+
     @NotBlank(message = "Password is required")
     private String password;
 
     private String profilePictureUrl;
 
     @ElementCollection
+    @BatchSize(size = 100)
     @Column(name = "image_url")
     private List<String> imageUrls;
 
     @CreationTimestamp
     private Instant createdAt;
 
+    @UpdateTimestamp
+    private Instant updatedAt;
+
     @Column(precision = 2, scale = 1)
     @DecimalMin("0.0")
     @DecimalMax("5.0")
     private BigDecimal avgRating;
 
     private int totalRatings;
+
+    @Column(precision = 12, scale = 1)
+    private BigDecimal ratingSum;
 }
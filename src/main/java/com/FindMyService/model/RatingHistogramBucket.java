@@ -0,0 +1,39 @@
+package com.FindMyService.model;
+
+import com.FindMyService.model.enums.RatingScope;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+// One row per non-empty half-star bucket, so a histogram is at most eleven rows read by primary key.
+@Entity
+@Table(name = "rating_histograms")
+@IdClass(RatingHistogramBucket.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingHistogramBucket {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private RatingScope scope;
+
+    @Id
+    private Long ownerId;
+
+    @Id
+    private int bucket;
+
+    private long ratings;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private RatingScope scope;
+        private Long ownerId;
+        private int bucket;
+    }
+}
@@ -1,5 +1,6 @@
 package com.FindMyService.model;
 
+import com.FindMyService.model.id.TimeOrderedId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Pattern;
 import lombok.*;
@@ -16,7 +17,7 @@ import java.time.Instant;
 public class ServiceAttribute {
     @Id
     @Column(length = 64)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long attributeId;
 
     @ManyToOne(fetch = FetchType.LAZY)
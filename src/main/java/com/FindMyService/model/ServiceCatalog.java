@@ -1,6 +1,7 @@
 package com.FindMyService.model;
 
 import com.FindMyService.model.enums.Availability;
+import com.FindMyService.model.id.TimeOrderedId;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMax;
@@ -15,7 +16,11 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "services",
-        uniqueConstraints = @UniqueConstraint(name = "uk_service_provider_name", columnNames = {"provider_id","service_name"}))
+        uniqueConstraints = @UniqueConstraint(name = "uk_service_provider_name", columnNames = {"provider_id","service_name"}),
+        indexes = {
+                @Index(name = "idx_services_updated_at", columnList = "updated_at, service_id"),
+                @Index(name = "idx_services_avg_rating", columnList = "avg_rating, service_id")
+        })
 @Data
 @Builder
 @NoArgsConstructor
@@ -23,7 +28,7 @@ import java.time.Instant;
 public class ServiceCatalog {
     @Id
     @Column(length = 64)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long serviceId;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -44,6 +49,10 @@ public class ServiceCatalog {
     @Column(length = 120)
     private String location;
 
+    private Double latitude;
+
+    private Double longitude;
+
     @Enumerated(EnumType.STRING)
     @Column(length = 30)
     private Availability availability;
@@ -66,4 +75,7 @@ public class ServiceCatalog {
     private BigDecimal avgRating;
 
     private int totalRatings;
+
+    @Column(precision = 12, scale = 1)
+    private BigDecimal ratingSum;
 }
@@ -1,6 +1,7 @@
 package com.FindMyService.model;
 
 import com.FindMyService.model.enums.Role;
+import com.FindMyService.model.id.TimeOrderedId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -17,7 +18,7 @@ import java.time.Instant;
 public class User {
     @Id
     @Column(length = 64)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long userId;
 
     @NonNull
@@ -14,7 +14,7 @@ import java.time.Instant;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class FeedbackDto {
+public class FeedbackDto implements FeedbackPageItem {
 
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private Long feedbackId;
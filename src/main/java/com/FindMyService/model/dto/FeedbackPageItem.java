@@ -0,0 +1,13 @@
+package com.FindMyService.model.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Keyset columns shared by the feedback page views, so one cursor format serves both.
+public interface FeedbackPageItem {
+    Long getFeedbackId();
+
+    BigDecimal getRating();
+
+    Instant getCreatedAt();
+}
@@ -0,0 +1,23 @@
+package com.FindMyService.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackSummaryDto implements FeedbackPageItem {
+    private Long feedbackId;
+    private Long serviceId;
+    private String authorName;
+    private BigDecimal rating;
+    // First line of the comment, ending in an ellipsis when the full text is longer.
+    private String commentPreview;
+    private Instant createdAt;
+}
@@ -0,0 +1,20 @@
+package com.FindMyService.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDto {
+    private int received;
+    private int created;
+    private int updated;
+    private int failed;
+    private List<ImportErrorDto> errors;
+}
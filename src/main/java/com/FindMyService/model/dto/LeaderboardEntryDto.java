@@ -0,0 +1,22 @@
+package com.FindMyService.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDto {
+    private int rank;
+    private Long id;
+    private String name;
+    private String city;
+    private BigDecimal avgRating;
+    private int totalRatings;
+    private double score;
+}
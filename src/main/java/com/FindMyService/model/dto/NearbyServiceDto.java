@@ -0,0 +1,25 @@
+package com.FindMyService.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyServiceDto {
+    private Long serviceId;
+    private String serviceName;
+    private Long providerId;
+    private String providerName;
+    private String location;
+    private BigDecimal cost;
+    private BigDecimal avgRating;
+    private Double latitude;
+    private Double longitude;
+    private double distanceKm;
+}
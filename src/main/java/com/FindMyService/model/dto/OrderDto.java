@@ -25,5 +25,7 @@ public class OrderDto {
     private Instant scheduledDate;
     private Instant createdAt;
     private Instant updatedAt;
+    // Optional on PATCH: when sent, the update is rejected with 409 if the order has changed since it was read.
+    private Long version;
 }
 
@@ -0,0 +1,20 @@
+package com.FindMyService.model.dto;
+
+import com.FindMyService.model.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderFilter {
+    private OrderStatus status;
+    // Creation time range, from inclusive and to exclusive; null leaves that side open.
+    private Instant from;
+    private Instant to;
+}
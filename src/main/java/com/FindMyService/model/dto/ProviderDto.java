@@ -27,7 +27,10 @@ public class ProviderDto{
     private String city;
     private String state;
     private String zipCode;
+    private Double latitude;
+    private Double longitude;
     private Instant createdAt;
+    private Instant updatedAt;
     private String profilePictureUrl;
     private List<String> imageUrls;
     private BigDecimal avgRating;
@@ -0,0 +1,26 @@
+package com.FindMyService.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingReconciliationReportDto {
+    private Instant startedAt;
+    private long durationMs;
+    private int servicesScanned;
+    private int servicesCorrected;
+    private int providersScanned;
+    private int providersCorrected;
+    // Drifted rows that took a new review while being reconciled; they are picked up by the next run.
+    private int skipped;
+    private long ratingCountDrift;
+    private BigDecimal maxAverageDrift;
+}
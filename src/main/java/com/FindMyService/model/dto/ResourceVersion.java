@@ -0,0 +1,22 @@
+package com.FindMyService.model.dto;
+
+import java.time.Instant;
+
+public record ResourceVersion(Long count, Instant lastModified, Instant relatedLastModified) {
+
+    public ResourceVersion(Long count, Instant lastModified) {
+        this(count, lastModified, null);
+    }
+
+    public boolean exists() {
+        return count != null && count > 0;
+    }
+
+    public long lastModifiedMillis() {
+        Instant latest = lastModified;
+        if (relatedLastModified != null && (latest == null || relatedLastModified.isAfter(latest))) {
+            latest = relatedLastModified;
+        }
+        return latest != null ? latest.toEpochMilli() : -1;
+    }
+}
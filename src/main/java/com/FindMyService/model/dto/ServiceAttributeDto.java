@@ -0,0 +1,29 @@
+package com.FindMyService.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceAttributeDto {
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long attributeId;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long serviceId;
+
+    private String attributeName;
+    private String attributeValue;
+    private String valueType;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant createdAt;
+}
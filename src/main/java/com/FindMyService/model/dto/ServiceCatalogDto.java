@@ -21,6 +21,8 @@ public class ServiceCatalogDto {
     private String description;
     private BigDecimal cost;
     private String location;
+    private Double latitude;
+    private Double longitude;
     private Availability availability;
     private Integer warrantyPeriodMonths;
     private String imageUrl;
@@ -0,0 +1,22 @@
+package com.FindMyService.model.dto;
+
+import com.FindMyService.model.enums.Availability;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceCatalogFilter {
+    private Boolean active;
+    private Availability availability;
+    private String location;
+    private BigDecimal minCost;
+    private BigDecimal maxCost;
+    private String attributes;
+}
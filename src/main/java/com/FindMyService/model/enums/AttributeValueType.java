@@ -0,0 +1,71 @@
+package com.FindMyService.model.enums;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+public enum AttributeValueType {
+    STRING("string"),
+    INTEGER("integer"),
+    FLOAT("float"),
+    BOOLEAN("boolean"),
+    DATE("date"),
+    ENUM("enum");
+
+    private final String param;
+
+    AttributeValueType(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public boolean isNumeric() {
+        return this == INTEGER || this == FLOAT || this == DATE;
+    }
+
+    public static AttributeValueType fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return STRING;
+        }
+        for (AttributeValueType type : values()) {
+            if (type.param.equalsIgnoreCase(value.trim())) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("valueType must be one of: string, integer, float, boolean, date, enum");
+    }
+
+    public String canonicalize(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Attribute value is required");
+        }
+        String trimmed = value.trim();
+        try {
+            return switch (this) {
+                case STRING, ENUM -> trimmed;
+                case INTEGER -> Long.toString(Long.parseLong(trimmed));
+                case FLOAT -> new BigDecimal(trimmed).stripTrailingZeros().toPlainString();
+                case DATE -> LocalDate.parse(trimmed).toString();
+                case BOOLEAN -> switch (trimmed.toLowerCase(Locale.ROOT)) {
+                    case "true", "false" -> trimmed.toLowerCase(Locale.ROOT);
+                    default -> throw new IllegalArgumentException("Value '" + trimmed + "' is not a valid boolean");
+                };
+            };
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Value '" + trimmed + "' is not a valid " + param);
+        }
+    }
+
+    // Dates are compared as epoch days so every ordered type shares one numeric representation.
+    public double numericValue(String canonicalValue) {
+        return switch (this) {
+            case INTEGER, FLOAT -> Double.parseDouble(canonicalValue);
+            case DATE -> LocalDate.parse(canonicalValue).toEpochDay();
+            default -> throw new IllegalStateException(param + " values are not ordered");
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.FindMyService.model.enums;
+
+public enum FeedbackSort {
+    CREATED_AT("createdAt"),
+    RATING("rating");
+
+    private final String param;
+
+    FeedbackSort(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public static FeedbackSort fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return CREATED_AT;
+        }
+        for (FeedbackSort sort : values()) {
+            if (sort.param.equalsIgnoreCase(value) || sort.name().equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + value + " (expected createdAt or rating)");
+    }
+}
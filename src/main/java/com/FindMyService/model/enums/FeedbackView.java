@@ -0,0 +1,28 @@
+package com.FindMyService.model.enums;
+
+public enum FeedbackView {
+    FULL("full"),
+    SUMMARY("summary");
+
+    private final String param;
+
+    FeedbackView(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public static FeedbackView fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL;
+        }
+        for (FeedbackView view : values()) {
+            if (view.param.equalsIgnoreCase(value)) {
+                return view;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported view: " + value + " (expected full or summary)");
+    }
+}
@@ -0,0 +1,7 @@
+package com.FindMyService.model.enums;
+
+public enum NotificationType {
+    ORDER_CREATED,
+    ORDER_STATUS_CHANGED,
+    FEEDBACK_CREATED
+}
@@ -1,9 +1,38 @@
 package com.FindMyService.model.enums;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     REQUESTED,
     PAID,
     SCHEDULED,
     COMPLETED,
-    CANCELLED
+    CANCELLED;
+
+    // COMPLETED and CANCELLED are final; everything else can still be cancelled.
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(Map.of(
+            REQUESTED, EnumSet.of(PAID, SCHEDULED, CANCELLED),
+            PAID, EnumSet.of(SCHEDULED, CANCELLED),
+            SCHEDULED, EnumSet.of(COMPLETED, CANCELLED),
+            COMPLETED, EnumSet.noneOf(OrderStatus.class),
+            CANCELLED, EnumSet.noneOf(OrderStatus.class)));
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
+
+    public static OrderStatus fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        for (OrderStatus status : values()) {
+            if (status.name().equalsIgnoreCase(value)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported status: " + value);
+    }
 }
@@ -0,0 +1,6 @@
+package com.FindMyService.model.enums;
+
+public enum RatingScope {
+    SERVICE,
+    PROVIDER
+}
@@ -0,0 +1,29 @@
+package com.FindMyService.model.enums;
+
+public enum ServiceSort {
+    SERVICE_ID("serviceId"),
+    UPDATED_AT("updatedAt"),
+    AVG_RATING("avgRating");
+
+    private final String param;
+
+    ServiceSort(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public static ServiceSort fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return SERVICE_ID;
+        }
+        for (ServiceSort sort : values()) {
+            if (sort.param.equalsIgnoreCase(value) || sort.name().equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + value + " (expected serviceId, updatedAt or avgRating)");
+    }
+}
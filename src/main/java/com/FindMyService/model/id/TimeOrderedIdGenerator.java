@@ -0,0 +1,31 @@
+package com.FindMyService.model.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.EnumSet;
+
+// Created through Spring's bean container (Hibernate asks it for generator instances), so entities and the JDBC
+// batch inserts draw from the same TimeOrderedIds and cannot hand out the same id twice. Contexts without IdConfig,
+// such as JPA test slices, fall back to a private allocator on node 0.
+public class TimeOrderedIdGenerator implements BeforeExecutionGenerator {
+
+    private final TimeOrderedIds ids;
+
+    public TimeOrderedIdGenerator(ObjectProvider<TimeOrderedIds> ids) {
+        this.ids = ids.getIfAvailable(() -> new TimeOrderedIds(0));
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return ids.nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,75 @@
+package com.FindMyService.model.id;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Snowflake-style ids allocated in memory, so rows can be inserted in JDBC batches and land at the right-hand end of
+// the primary key index. Layout, most significant first: 41 bits of milliseconds since EPOCH, 7 bits of sequence and
+// 5 bits of node id. At 53 bits the ids stay exact as JSON numbers in JavaScript clients.
+public class TimeOrderedIds {
+
+    public static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+
+    static final int SEQUENCE_BITS = 7;
+    static final int NODE_BITS = 5;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final int nodeId;
+    private final Clock clock;
+    // Milliseconds since EPOCH shifted left by SEQUENCE_BITS, plus the sequence within that millisecond.
+    private final AtomicLong lastState = new AtomicLong();
+
+    public TimeOrderedIds(int nodeId) {
+        this(nodeId, Clock.systemUTC());
+    }
+
+    public TimeOrderedIds(int nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    // Never runs ahead of the clock, so a restarted node cannot reissue ids from before the restart: when the sequence
+    // of the current millisecond is exhausted the caller spins into the next one, and when the clock steps back it
+    // waits until the clock has caught up with the last issued millisecond.
+    public long nextId() {
+        while (true) {
+            long last = lastState.get();
+            long lastMillis = last >>> SEQUENCE_BITS;
+            long nowMillis = clock.millis() - EPOCH.toEpochMilli();
+            long next;
+            if (nowMillis > lastMillis) {
+                next = nowMillis << SEQUENCE_BITS;
+            } else if (nowMillis == lastMillis && (last & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = last + 1;
+            } else {
+                awaitMillis(lastMillis - nowMillis);
+                continue;
+            }
+            if (lastState.compareAndSet(last, next)) {
+                return (next << NODE_BITS) | nodeId;
+            }
+        }
+    }
+
+    public static Instant timestampOf(long id) {
+        return EPOCH.plusMillis(id >>> (SEQUENCE_BITS + NODE_BITS));
+    }
+
+    private static void awaitMillis(long behind) {
+        if (behind == 0) {
+            Thread.onSpinWait();
+            return;
+        }
+        try {
+            Thread.sleep(Math.min(behind, 10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the clock to pass the last issued id", e);
+        }
+    }
+}
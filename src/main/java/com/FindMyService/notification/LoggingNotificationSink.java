@@ -0,0 +1,23 @@
+package com.FindMyService.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Default sink for local runs and tests: notifications are only logged.
+@Component
+@ConditionalOnProperty(name = "notifications.sink", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LoggingNotificationSink implements NotificationSink {
+
+    @Override
+    public void deliver(List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            log.info("Notification {} {} for {} (user {}, provider {}, status {})", notification.eventId(),
+                    notification.type(), notification.aggregateId(), notification.userId(),
+                    notification.providerId(), notification.status());
+        }
+    }
+}
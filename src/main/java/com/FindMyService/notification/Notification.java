@@ -0,0 +1,40 @@
+package com.FindMyService.notification;
+
+import com.FindMyService.model.dto.OrderDto;
+import com.FindMyService.model.enums.NotificationType;
+
+import java.time.Instant;
+
+// eventId and occurredAt are assigned when the notification is written to the outbox; receivers can use the
+// event id to drop the duplicates that at-least-once delivery allows.
+public record Notification(Long eventId,
+                           NotificationType type,
+                           Long aggregateId,
+                           Long userId,
+                           Long providerId,
+                           Long serviceId,
+                           String status,
+                           Instant occurredAt) {
+
+    public static Notification orderCreated(OrderDto order) {
+        return ofOrder(NotificationType.ORDER_CREATED, order);
+    }
+
+    public static Notification orderStatusChanged(OrderDto order) {
+        return ofOrder(NotificationType.ORDER_STATUS_CHANGED, order);
+    }
+
+    public static Notification feedbackCreated(Long feedbackId, Long serviceId, Long providerId, Long userId) {
+        return new Notification(null, NotificationType.FEEDBACK_CREATED, feedbackId, userId, providerId, serviceId,
+                null, null);
+    }
+
+    Notification recorded(long eventId, Instant occurredAt) {
+        return new Notification(eventId, type, aggregateId, userId, providerId, serviceId, status, occurredAt);
+    }
+
+    private static Notification ofOrder(NotificationType type, OrderDto order) {
+        return new Notification(null, type, order.getOrderId(), order.getUserId(), order.getProviderId(),
+                order.getServiceId(), order.getOrderStatus() != null ? order.getOrderStatus().name() : null, null);
+    }
+}
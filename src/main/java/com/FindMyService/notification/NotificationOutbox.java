@@ -0,0 +1,75 @@
+package com.FindMyService.notification;
+
+import com.FindMyService.model.enums.OutboxStatus;
+import com.FindMyService.model.id.TimeOrderedIds;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+// Records notifications in the caller's transaction, so they are sent if and only if the change they describe
+// commits. Delivery happens later, off the request path, in OutboxDispatcher.
+@Component
+public class NotificationOutbox {
+
+    private static final String INSERT_SQL = "insert into outbox_events "
+            + "(event_id, event_type, aggregate_id, payload, status, attempts, available_at, created_at) "
+            + "values (?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TimeOrderedIds timeOrderedIds;
+    private final ObjectMapper objectMapper;
+
+    public NotificationOutbox(JdbcTemplate jdbcTemplate, TimeOrderedIds timeOrderedIds, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.timeOrderedIds = timeOrderedIds;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Notification notification) {
+        appendAll(List.of(notification));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        List<Notification> recorded = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            recorded.add(notification.recorded(timeOrderedIds.nextId(), now));
+        }
+
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        Timestamp createdAt = Timestamp.from(now);
+        jdbcTemplate.batchUpdate(INSERT_SQL, recorded, recorded.size(), (ps, notification) -> {
+            ps.setLong(1, notification.eventId());
+            ps.setString(2, notification.type().name());
+            ps.setLong(3, notification.aggregateId());
+            ps.setString(4, toJson(notification));
+            ps.setString(5, OutboxStatus.PENDING.name());
+            ps.setTimestamp(6, createdAt, utc);
+            ps.setTimestamp(7, createdAt, utc);
+        });
+    }
+
+    private String toJson(Notification notification) {
+        try {
+            return objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Notification " + notification.eventId() + " could not be serialized", e);
+        }
+    }
+}
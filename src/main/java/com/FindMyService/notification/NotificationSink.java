@@ -0,0 +1,11 @@
+package com.FindMyService.notification;
+
+import java.util.List;
+
+// A delivery channel for outbox notifications. Implementations throw to signal that the batch was not delivered;
+// the dispatcher then retries the notifications individually with backoff. A NotificationTransportException instead
+// marks the whole channel as down, so the dispatcher reschedules the batch without trying each notification.
+public interface NotificationSink {
+
+    void deliver(List<Notification> notifications);
+}
@@ -0,0 +1,10 @@
+package com.FindMyService.notification;
+
+// Thrown by a sink when the channel itself is unavailable (connection refused, timeout, gateway errors) rather than
+// the receiver rejecting particular notifications. Retrying the same batch one notification at a time cannot help.
+public class NotificationTransportException extends RuntimeException {
+
+    public NotificationTransportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,233 @@
+package com.FindMyService.notification;
+
+import com.FindMyService.config.SchedulingConfig;
+import com.FindMyService.model.enums.OutboxStatus;
+import com.FindMyService.model.id.TimeOrderedIds;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+// Drains the outbox in event id (creation) order. Rows are claimed with SKIP LOCKED and leased by pushing
+// available_at forward, so several instances can dispatch side by side without holding locks during delivery;
+// a row whose dispatcher died is picked up again once its lease runs out. Delivery is at least once.
+@Component
+@ConditionalOnProperty(name = "notifications.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxDispatcher {
+
+    private static final String CLAIM_SQL = "select event_id, payload, attempts from outbox_events "
+            + "where status = ? and available_at <= ? order by event_id limit ? for update skip locked";
+    private static final String LEASE_SQL = "update outbox_events set available_at = ? where event_id = ?";
+    private static final String DELETE_SQL = "delete from outbox_events where event_id = ?";
+    private static final String RETRY_SQL =
+            "update outbox_events set attempts = ?, available_at = ?, last_error = ? where event_id = ?";
+    private static final String DEAD_SQL =
+            "update outbox_events set status = ?, attempts = ?, last_error = ? where event_id = ?";
+    private static final String OLDEST_PENDING_SQL = "select min(event_id) from outbox_events where status = ?";
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationSink sink;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private volatile double lagSeconds;
+
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter dead;
+    private final Timer deliveryLag;
+
+    public OutboxDispatcher(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            NotificationSink sink,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${notifications.outbox.batch-size:100}") int batchSize,
+                            @Value("${notifications.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${notifications.outbox.lease:5m}") Duration lease,
+                            @Value("${notifications.outbox.initial-backoff:1s}") Duration initialBackoff,
+                            @Value("${notifications.outbox.max-backoff:10m}") Duration maxBackoff) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sink = sink;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+
+        this.delivered = Counter.builder("notifications.outbox.delivered").register(meterRegistry);
+        this.retried = Counter.builder("notifications.outbox.retried")
+                .description("Failed deliveries that were rescheduled with backoff")
+                .register(meterRegistry);
+        this.dead = Counter.builder("notifications.outbox.dead")
+                .description("Notifications moved to the dead letters after the last attempt failed")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("notifications.outbox.delivery.lag")
+                .description("Time from the committed change to the delivered notification")
+                .register(meterRegistry);
+        Gauge.builder("notifications.outbox.lag.seconds", this, dispatcher -> dispatcher.lagSeconds)
+                .description("Age of the oldest undelivered notification")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll-interval-ms:500}", scheduler = SchedulingConfig.OUTBOX_SCHEDULER)
+    public void dispatch() {
+        try {
+            List<ClaimedEvent> batch;
+            boolean reachable = true;
+            do {
+                batch = claim();
+                if (!batch.isEmpty()) {
+                    reachable = deliver(batch);
+                }
+            } while (reachable && batch.size() == batchSize);
+            Long oldest = jdbcTemplate.queryForObject(OLDEST_PENDING_SQL, Long.class, OutboxStatus.PENDING.name());
+            lagSeconds = oldest == null
+                    ? 0
+                    : Duration.between(TimeOrderedIds.timestampOf(oldest), Instant.now()).toMillis() / 1000.0;
+        } catch (RuntimeException e) {
+            log.warn("Outbox dispatcher paused: {}", e.getMessage());
+        }
+    }
+
+    private List<ClaimedEvent> claim() {
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        return transactionTemplate.execute(status -> {
+            List<ClaimedEvent> claimed = jdbcTemplate.query(CLAIM_SQL, ps -> {
+                        ps.setString(1, OutboxStatus.PENDING.name());
+                        ps.setTimestamp(2, Timestamp.from(now), utc);
+                        ps.setInt(3, batchSize);
+                    },
+                    (rs, rowNum) -> new ClaimedEvent(rs.getLong(1), read(rs.getString(2)), rs.getInt(3)));
+            Timestamp leasedUntil = Timestamp.from(now.plus(lease));
+            jdbcTemplate.batchUpdate(LEASE_SQL, claimed, claimed.size(), (ps, event) -> {
+                ps.setTimestamp(1, leasedUntil, utc);
+                ps.setLong(2, event.eventId());
+            });
+            return claimed;
+        });
+    }
+
+    // Returns false when the sink reported its channel down, so the caller stops claiming more work this round.
+    private boolean deliver(List<ClaimedEvent> batch) {
+        List<ClaimedEvent> readable = new ArrayList<>(batch.size());
+        for (ClaimedEvent event : batch) {
+            if (event.notification() == null) {
+                deadLetter(event, event.attempts(), "Unreadable payload");
+            } else {
+                readable.add(event);
+            }
+        }
+        if (readable.isEmpty()) {
+            return true;
+        }
+        try {
+            sink.deliver(readable.stream().map(ClaimedEvent::notification).toList());
+            delivered(readable);
+        } catch (NotificationTransportException e) {
+            readable.forEach(event -> failed(event, e));
+            return false;
+        } catch (RuntimeException e) {
+            if (readable.size() == 1) {
+                failed(readable.getFirst(), e);
+                return true;
+            }
+            // Deliver one by one so a single rejected notification does not hold back the rest of the batch. If the
+            // channel goes down meanwhile, the rest is rescheduled as is instead of timing out once per notification.
+            for (int i = 0; i < readable.size(); i++) {
+                ClaimedEvent event = readable.get(i);
+                try {
+                    sink.deliver(List.of(event.notification()));
+                    delivered(List.of(event));
+                } catch (NotificationTransportException transportFailure) {
+                    readable.subList(i, readable.size()).forEach(remaining -> failed(remaining, transportFailure));
+                    return false;
+                } catch (RuntimeException eventFailure) {
+                    failed(event, eventFailure);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void delivered(List<ClaimedEvent> events) {
+        jdbcTemplate.batchUpdate(DELETE_SQL, events, events.size(), (ps, event) -> ps.setLong(1, event.eventId()));
+        Instant now = Instant.now();
+        for (ClaimedEvent event : events) {
+            deliveryLag.record(Duration.between(event.notification().occurredAt(), now));
+        }
+        delivered.increment(events.size());
+    }
+
+    private void failed(ClaimedEvent event, RuntimeException e) {
+        int attempts = event.attempts() + 1;
+        String error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+        if (attempts >= maxAttempts) {
+            deadLetter(event, attempts, error);
+            return;
+        }
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        Instant retryAt = Instant.now().plus(backoff(attempts)).truncatedTo(ChronoUnit.MICROS);
+        jdbcTemplate.update(RETRY_SQL, ps -> {
+            ps.setInt(1, attempts);
+            ps.setTimestamp(2, Timestamp.from(retryAt), utc);
+            ps.setString(3, truncate(error));
+            ps.setLong(4, event.eventId());
+        });
+        retried.increment();
+    }
+
+    private void deadLetter(ClaimedEvent event, int attempts, String error) {
+        log.warn("Notification {} moved to the dead letters after {} attempts: {}", event.eventId(), attempts, error);
+        jdbcTemplate.update(DEAD_SQL, OutboxStatus.DEAD.name(), attempts, truncate(error), event.eventId());
+        dead.increment();
+    }
+
+    // Doubles from initial-backoff with every failed attempt, capped at max-backoff.
+    Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private Notification read(String payload) {
+        try {
+            return objectMapper.readValue(payload, Notification.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private record ClaimedEvent(long eventId, Notification notification, int attempts) {}
+}
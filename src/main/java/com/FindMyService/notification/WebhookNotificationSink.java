@@ -0,0 +1,86 @@
+package com.FindMyService.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+// Posts each batch as one JSON array. With a secret configured the body is signed (HMAC-SHA256, hex) so the
+// receiver can verify where it came from; any non-2xx response counts as a failed delivery. I/O failures and gateway
+// or unavailable responses mean the receiver is down rather than rejecting the batch, and are reported as such.
+@Component
+@ConditionalOnProperty(name = "notifications.sink", havingValue = "webhook")
+public class WebhookNotificationSink implements NotificationSink {
+
+    static final String SIGNATURE_HEADER = "X-Signature-SHA256";
+    private static final Set<Integer> UNAVAILABLE_STATUSES = Set.of(502, 503, 504);
+
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+    private final String url;
+    private final SecretKeySpec signingKey;
+
+    public WebhookNotificationSink(ObjectMapper objectMapper,
+                                   @Value("${notifications.webhook.url}") String url,
+                                   @Value("${notifications.webhook.secret:}") String secret,
+                                   @Value("${notifications.webhook.timeout:5s}") Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+        this.objectMapper = objectMapper;
+        this.url = url;
+        this.signingKey = secret.isEmpty() ? null : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    @Override
+    public void deliver(List<Notification> notifications) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(notifications);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Notifications could not be serialized", e);
+        }
+        RestClient.RequestBodySpec request = restClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (signingKey != null) {
+            request.header(SIGNATURE_HEADER, sign(body));
+        }
+        try {
+            request.body(body).retrieve().toBodilessEntity();
+        } catch (ResourceAccessException e) {
+            throw new NotificationTransportException("Webhook unreachable: " + e.getMessage(), e);
+        } catch (HttpServerErrorException e) {
+            if (UNAVAILABLE_STATUSES.contains(e.getStatusCode().value())) {
+                throw new NotificationTransportException("Webhook unavailable: " + e.getStatusCode(), e);
+            }
+            throw e;
+        }
+    }
+
+    private String sign(byte[] body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(signingKey);
+            return HexFormat.of().formatHex(mac.doFinal(body));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
@@ -2,12 +2,28 @@ package com.FindMyService.repository;
 
 import com.FindMyService.model.Feedback;
 import com.FindMyService.model.Provider;
-import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.dto.FeedbackCommentDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
-    List<Feedback> findByServiceId(ServiceCatalog serviceId);
+public interface FeedbackRepository extends JpaRepository<Feedback, Long>, FeedbackRepositoryCustom {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select f from Feedback f order by f.feedbackId")
+    Stream<Feedback> streamAll();
+
+    @Query("select new com.FindMyService.model.dto.FeedbackCommentDto(f.feedbackId, f.comment) "
+            + "from Feedback f where f.feedbackId = :feedbackId")
+    Optional<FeedbackCommentDto> findCommentByFeedbackId(@Param("feedbackId") Long feedbackId);
 }
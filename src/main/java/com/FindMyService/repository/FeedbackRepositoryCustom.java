@@ -0,0 +1,33 @@
+package com.FindMyService.repository;
+
+import com.FindMyService.model.dto.FeedbackDto;
+import com.FindMyService.model.dto.FeedbackSummaryDto;
+import com.FindMyService.model.enums.FeedbackSort;
+
+import java.util.List;
+
+public interface FeedbackRepositoryCustom {
+    List<FeedbackDto> findDtoPageByServiceId(Long serviceId,
+                                             FeedbackSort sort,
+                                             Comparable<?> lastSortValue,
+                                             Long lastFeedbackId,
+                                             int limit);
+
+    List<FeedbackDto> findDtoPageByProviderId(Long providerId,
+                                              FeedbackSort sort,
+                                              Comparable<?> lastSortValue,
+                                              Long lastFeedbackId,
+                                              int limit);
+
+    List<FeedbackSummaryDto> findSummaryPageByServiceId(Long serviceId,
+                                                        FeedbackSort sort,
+                                                        Comparable<?> lastSortValue,
+                                                        Long lastFeedbackId,
+                                                        int limit);
+
+    List<FeedbackSummaryDto> findSummaryPageByProviderId(Long providerId,
+                                                         FeedbackSort sort,
+                                                         Comparable<?> lastSortValue,
+                                                         Long lastFeedbackId,
+                                                         int limit);
+}
@@ -0,0 +1,154 @@
+package com.FindMyService.repository;
+
+import com.FindMyService.model.Feedback;
+import com.FindMyService.model.dto.FeedbackDto;
+import com.FindMyService.model.dto.FeedbackSummaryDto;
+import com.FindMyService.model.enums.FeedbackSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+public class FeedbackRepositoryCustomImpl implements FeedbackRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<FeedbackDto> findDtoPageByServiceId(Long serviceId,
+                                                    FeedbackSort sort,
+                                                    Comparable<?> lastSortValue,
+                                                    Long lastFeedbackId,
+                                                    int limit) {
+        return findPage(FeedbackDto.class, FeedbackRepositoryCustomImpl::fullSelection, byService(serviceId),
+                sort, lastSortValue, lastFeedbackId, limit);
+    }
+
+    @Override
+    public List<FeedbackDto> findDtoPageByProviderId(Long providerId,
+                                                     FeedbackSort sort,
+                                                     Comparable<?> lastSortValue,
+                                                     Long lastFeedbackId,
+                                                     int limit) {
+        return findPage(FeedbackDto.class, FeedbackRepositoryCustomImpl::fullSelection, byProvider(providerId),
+                sort, lastSortValue, lastFeedbackId, limit);
+    }
+
+    @Override
+    public List<FeedbackSummaryDto> findSummaryPageByServiceId(Long serviceId,
+                                                               FeedbackSort sort,
+                                                               Comparable<?> lastSortValue,
+                                                               Long lastFeedbackId,
+                                                               int limit) {
+        return findPage(FeedbackSummaryDto.class, FeedbackRepositoryCustomImpl::summarySelection, byService(serviceId),
+                sort, lastSortValue, lastFeedbackId, limit);
+    }
+
+    @Override
+    public List<FeedbackSummaryDto> findSummaryPageByProviderId(Long providerId,
+                                                                FeedbackSort sort,
+                                                                Comparable<?> lastSortValue,
+                                                                Long lastFeedbackId,
+                                                                int limit) {
+        return findPage(FeedbackSummaryDto.class, FeedbackRepositoryCustomImpl::summarySelection, byProvider(providerId),
+                sort, lastSortValue, lastFeedbackId, limit);
+    }
+
+    private static Scope byService(Long serviceId) {
+        return (cb, root) -> cb.equal(root.get("serviceId").get("serviceId"), serviceId);
+    }
+
+    private static Scope byProvider(Long providerId) {
+        return (cb, root) -> cb.equal(root.join("serviceId", JoinType.INNER).get("providerId").get("providerId"), providerId);
+    }
+
+    // Selects foreign keys rather than navigating to services and users, so a page is one query with no lazy loads.
+    private static Selection<?>[] fullSelection(Root<Feedback> root) {
+        return new Selection<?>[]{
+                root.get("feedbackId"),
+                root.get("serviceId").get("serviceId"),
+                root.get("userId").get("userId"),
+                root.get("comment"),
+                root.get("rating"),
+                root.get("createdAt")
+        };
+    }
+
+    // Reads the stored preview instead of the comment LOB; the author name comes from the users primary key lookup.
+    private static Selection<?>[] summarySelection(Root<Feedback> root) {
+        return new Selection<?>[]{
+                root.get("feedbackId"),
+                root.get("serviceId").get("serviceId"),
+                root.join("userId", JoinType.INNER).get("name"),
+                root.get("rating"),
+                root.get("commentPreview"),
+                root.get("createdAt")
+        };
+    }
+
+    private <T> List<T> findPage(Class<T> type,
+                                 Function<Root<Feedback>, Selection<?>[]> columns,
+                                 Scope scope,
+                                 FeedbackSort sort,
+                                 Comparable<?> lastSortValue,
+                                 Long lastFeedbackId,
+                                 int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<Feedback> root = query.from(Feedback.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(scope.predicate(cb, root));
+        if (lastFeedbackId != null) {
+            predicates.add(keysetPredicate(cb, root, sort, lastSortValue, lastFeedbackId));
+        }
+
+        query.select(cb.construct(type, columns.apply(root)))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(orderFor(cb, root, sort));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private Predicate keysetPredicate(CriteriaBuilder cb,
+                                      Root<Feedback> root,
+                                      FeedbackSort sort,
+                                      Comparable<?> lastSortValue,
+                                      Long lastFeedbackId) {
+        Path<Long> feedbackId = root.get("feedbackId");
+        return switch (sort) {
+            case CREATED_AT -> descendingAfter(cb, root.get("createdAt"), (Instant) lastSortValue, feedbackId, lastFeedbackId);
+            case RATING -> descendingAfter(cb, root.get("rating"), (BigDecimal) lastSortValue, feedbackId, lastFeedbackId);
+        };
+    }
+
+    private <Y extends Comparable<? super Y>> Predicate descendingAfter(CriteriaBuilder cb,
+                                                                       Path<Y> key,
+                                                                       Y lastValue,
+                                                                       Path<Long> feedbackId,
+                                                                       Long lastFeedbackId) {
+        return cb.or(
+                cb.lessThan(key, lastValue),
+                cb.and(cb.equal(key, lastValue), cb.lessThan(feedbackId, lastFeedbackId))
+        );
+    }
+
+    private List<Order> orderFor(CriteriaBuilder cb, Root<Feedback> root, FeedbackSort sort) {
+        return switch (sort) {
+            case CREATED_AT -> List.of(cb.desc(root.get("createdAt")), cb.desc(root.get("feedbackId")));
+            case RATING -> List.of(cb.desc(root.get("rating")), cb.desc(root.get("feedbackId")));
+        };
+    }
+
+    @FunctionalInterface
+    private interface Scope {
+        Predicate predicate(CriteriaBuilder cb, Root<Feedback> root);
+    }
+}
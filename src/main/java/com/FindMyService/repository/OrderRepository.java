@@ -1,14 +1,49 @@
 package com.FindMyService.repository;
 
 import com.FindMyService.model.Order;
-import com.FindMyService.model.Provider;
-import com.FindMyService.model.User;
+import com.FindMyService.model.dto.ResourceVersion;
+import com.FindMyService.model.enums.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.Instant;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByUserId(User userId);
-    List<Order> findByProviderId(Provider providerId);
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
+    @Query("select new com.FindMyService.model.dto.ResourceVersion(count(o), max(o.updatedAt)) "
+            + "from Order o where o.orderId = :orderId")
+    ResourceVersion findVersionByOrderId(@Param("orderId") Long orderId);
+
+    @Query("select new com.FindMyService.model.dto.ResourceVersion(count(o), max(o.updatedAt)) "
+            + "from Order o where o.userId.userId = :userId")
+    ResourceVersion findVersionByUserId(@Param("userId") Long userId);
+
+    @Query("select new com.FindMyService.model.dto.ResourceVersion(count(o), max(o.updatedAt)) "
+            + "from Order o where o.providerId.providerId = :providerId")
+    ResourceVersion findVersionByProviderId(@Param("providerId") Long providerId);
+
+    // Applies the transition only if the order still has the status and version it was validated against;
+    // returns 0 when another request got there first.
+    @Modifying(clearAutomatically = true)
+    @Query("update Order o set o.orderStatus = :target, o.version = o.version + 1, o.updatedAt = :updatedAt "
+            + "where o.orderId = :orderId and o.orderStatus = :expected and o.version = :version")
+    int transitionStatus(@Param("orderId") Long orderId,
+                         @Param("expected") OrderStatus expected,
+                         @Param("version") Long version,
+                         @Param("target") OrderStatus target,
+                         @Param("updatedAt") Instant updatedAt);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from Order o order by o.orderId")
+    Stream<Order> streamAll();
 }
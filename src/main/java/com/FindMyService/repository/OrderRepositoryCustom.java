@@ -0,0 +1,21 @@
+package com.FindMyService.repository;
+
+import com.FindMyService.model.dto.OrderDto;
+import com.FindMyService.model.dto.OrderFilter;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+    List<OrderDto> findPageByUserId(Long userId,
+                                    OrderFilter filter,
+                                    Instant lastCreatedAt,
+                                    Long lastOrderId,
+                                    int limit);
+
+    List<OrderDto> findPageByProviderId(Long providerId,
+                                        OrderFilter filter,
+                                        Instant lastCreatedAt,
+                                        Long lastOrderId,
+                                        int limit);
+}
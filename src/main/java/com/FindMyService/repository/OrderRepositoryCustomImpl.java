@@ -0,0 +1,92 @@
+package com.FindMyService.repository;
+
+import com.FindMyService.model.Order;
+import com.FindMyService.model.dto.OrderDto;
+import com.FindMyService.model.dto.OrderFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderDto> findPageByUserId(Long userId,
+                                           OrderFilter filter,
+                                           Instant lastCreatedAt,
+                                           Long lastOrderId,
+                                           int limit) {
+        return findPage("userId", userId, filter, lastCreatedAt, lastOrderId, limit);
+    }
+
+    @Override
+    public List<OrderDto> findPageByProviderId(Long providerId,
+                                               OrderFilter filter,
+                                               Instant lastCreatedAt,
+                                               Long lastOrderId,
+                                               int limit) {
+        return findPage("providerId", providerId, filter, lastCreatedAt, lastOrderId, limit);
+    }
+
+    // Newest first on (created_at, order_id), which the (owner, created_at, order_id) indexes serve without sorting.
+    // Foreign keys are selected directly, so a page is one query with no lazy loads of users, providers or services.
+    private List<OrderDto> findPage(String owner,
+                                    Long ownerId,
+                                    OrderFilter filter,
+                                    Instant lastCreatedAt,
+                                    Long lastOrderId,
+                                    int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderDto> query = cb.createQuery(OrderDto.class);
+        Root<Order> root = query.from(Order.class);
+        Path<Instant> createdAt = root.get("createdAt");
+        Path<Long> orderId = root.get("orderId");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get(owner).get(owner), ownerId));
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(root.get("orderStatus"), filter.getStatus()));
+        }
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThan(createdAt, filter.getTo()));
+        }
+        if (lastOrderId != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, lastCreatedAt),
+                    cb.and(cb.equal(createdAt, lastCreatedAt), cb.lessThan(orderId, lastOrderId))));
+        }
+
+        query.select(cb.construct(OrderDto.class,
+                        orderId,
+                        root.get("userId").get("userId"),
+                        root.get("providerId").get("providerId"),
+                        root.get("serviceId").get("serviceId"),
+                        root.get("orderStatus"),
+                        root.get("totalCost"),
+                        root.get("quantity"),
+                        root.get("requestedDate"),
+                        root.get("scheduledDate"),
+                        createdAt,
+                        root.get("updatedAt"),
+                        root.get("version")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(createdAt), cb.desc(orderId));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,13 +1,49 @@
 package com.FindMyService.repository;
 
 import com.FindMyService.model.Provider;
+import com.FindMyService.model.dto.ResourceVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProviderRepository extends JpaRepository<Provider, Long> {
     Optional<Provider> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    @EntityGraph(attributePaths = "imageUrls")
+    Optional<Provider> findWithImageUrlsByProviderId(Long providerId);
+
+    @Query("select new com.FindMyService.model.dto.ResourceVersion(count(p), max(p.updatedAt)) "
+            + "from Provider p where p.providerId = :providerId")
+    ResourceVersion findVersionByProviderId(@Param("providerId") Long providerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Provider p set p.avgRating = round((coalesce(p.ratingSum, 0) + :ratingSum) / (p.totalRatings + :ratings), 1), "
+            + "p.ratingSum = coalesce(p.ratingSum, 0) + :ratingSum, "
+            + "p.totalRatings = p.totalRatings + :ratings, "
+            + "p.updatedAt = :now "
+            + "where p.providerId = :providerId")
+    int addRatings(@Param("providerId") Long providerId,
+                   @Param("ratingSum") BigDecimal ratingSum,
+                   @Param("ratings") int ratings,
+                   @Param("now") Instant now);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Provider p order by p.providerId")
+    Stream<Provider> streamAll();
 }
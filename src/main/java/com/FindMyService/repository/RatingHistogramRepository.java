@@ -0,0 +1,33 @@
+package com.FindMyService.repository;
+
+import com.FindMyService.model.RatingHistogramBucket;
+import com.FindMyService.model.enums.RatingScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface RatingHistogramRepository extends JpaRepository<RatingHistogramBucket, RatingHistogramBucket.Key> {
+    List<RatingHistogramBucket> findByScopeAndOwnerId(RatingScope scope, Long ownerId);
+
+    @Modifying
+    @Query(value = "insert into rating_histograms (scope, owner_id, bucket, ratings) values (:scope, :ownerId, :bucket, :ratings) "
+            + "on duplicate key update ratings = ratings + :ratings", nativeQuery = true)
+    int increment(@Param("scope") String scope,
+                  @Param("ownerId") Long ownerId,
+                  @Param("bucket") int bucket,
+                  @Param("ratings") long ratings);
+
+    @Modifying
+    @Query(value = "delete from rating_histograms where scope = :scope and owner_id = :ownerId", nativeQuery = true)
+    int deleteByOwner(@Param("scope") String scope, @Param("ownerId") Long ownerId);
+
+    // Run before the provider row is deleted: afterwards its services (and their ids) are gone.
+    @Modifying
+    @Query(value = "delete from rating_histograms where scope = 'SERVICE' "
+            + "and owner_id in (select service_id from services where provider_id = :providerId)", nativeQuery = true)
+    int deleteServicesOfProvider(@Param("providerId") Long providerId);
+}
@@ -0,0 +1,17 @@
+package com.FindMyService.repository;
+
+import com.FindMyService.model.ServiceAttribute;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ServiceAttributeRepository extends JpaRepository<ServiceAttribute, Long> {
+    List<ServiceAttribute> findByServiceId_ServiceIdOrderByAttributeIdAsc(Long serviceId);
+
+    Optional<ServiceAttribute> findByAttributeIdAndServiceId_ServiceId(Long attributeId, Long serviceId);
+
+    List<ServiceAttribute> findByAttributeIdGreaterThanOrderByAttributeIdAsc(Long attributeId, Limit limit);
+}
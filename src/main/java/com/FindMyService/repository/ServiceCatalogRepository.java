@@ -1,11 +1,54 @@
 package com.FindMyService.repository;
 
 import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.dto.ResourceVersion;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ServiceCatalogRepository extends JpaRepository<ServiceCatalog, Long> {
+public interface ServiceCatalogRepository extends JpaRepository<ServiceCatalog, Long>, ServiceCatalogRepositoryCustom {
     List<ServiceCatalog> findByProviderId_ProviderId(Long providerId);
+
+    boolean existsByProviderId_ProviderId(Long providerId);
+
+    @EntityGraph(attributePaths = "providerId")
+    List<ServiceCatalog> findWithProviderByProviderId_ProviderId(Long providerId);
+
+    @EntityGraph(attributePaths = "providerId")
+    List<ServiceCatalog> findWithProviderByProviderId_ProviderIdAndUpdatedAt(Long providerId, Instant updatedAt);
+
+    @EntityGraph(attributePaths = "providerId")
+    Optional<ServiceCatalog> findWithProviderByServiceId(Long serviceId);
+
+    @EntityGraph(attributePaths = "providerId")
+    List<ServiceCatalog> findWithProviderByServiceIdIn(Collection<Long> serviceIds);
+
+    @Query("select new com.FindMyService.model.dto.ResourceVersion(count(s), max(s.updatedAt), max(p.updatedAt)) "
+            + "from ServiceCatalog s join s.providerId p where s.serviceId = :serviceId")
+    ResourceVersion findVersionByServiceId(@Param("serviceId") Long serviceId);
+
+    @Query("select new com.FindMyService.model.dto.ResourceVersion(count(s), max(s.updatedAt), max(p.updatedAt)) "
+            + "from ServiceCatalog s join s.providerId p where p.providerId = :providerId")
+    ResourceVersion findVersionByProviderId(@Param("providerId") Long providerId);
+
+    // avgRating is assigned first: MySQL evaluates SET left to right, so it must still see the old sum and count.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ServiceCatalog s set s.avgRating = round((coalesce(s.ratingSum, 0) + :ratingSum) / (s.totalRatings + :ratings), 1), "
+            + "s.ratingSum = coalesce(s.ratingSum, 0) + :ratingSum, "
+            + "s.totalRatings = s.totalRatings + :ratings, "
+            + "s.updatedAt = :now "
+            + "where s.serviceId = :serviceId")
+    int addRatings(@Param("serviceId") Long serviceId,
+                   @Param("ratingSum") BigDecimal ratingSum,
+                   @Param("ratings") int ratings,
+                   @Param("now") Instant now);
 }
@@ -0,0 +1,33 @@
+package com.FindMyService.repository;
+
+import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.dto.ResourceVersion;
+import com.FindMyService.model.dto.ServiceCatalogDto;
+import com.FindMyService.model.dto.ServiceCatalogFilter;
+import com.FindMyService.model.enums.ServiceSort;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ServiceCatalogRepositoryCustom {
+    List<ServiceCatalog> findPage(ServiceCatalogFilter filter,
+                                  ServiceSort sort,
+                                  Comparable<?> lastSortValue,
+                                  Long lastServiceId,
+                                  int limit);
+
+    // serviceIds, when not null, restricts the page to those services; callers keep it short (it becomes an IN list).
+    // The filter's location and attributes are not applied here: callers resolve them to serviceIds.
+    List<ServiceCatalogDto> findDtoPage(ServiceCatalogFilter filter,
+                                        Collection<Long> serviceIds,
+                                        ServiceSort sort,
+                                        Comparable<?> lastSortValue,
+                                        Long lastServiceId,
+                                        int limit);
+
+    List<ServiceCatalogDto> findDtosByProviderId(Long providerId);
+
+    // Count and latest service and provider update over every service the filter's columns select. Like findDtoPage,
+    // this ignores the filter's location and attributes; callers resolve those to service ids.
+    ResourceVersion findVersion(ServiceCatalogFilter filter);
+}
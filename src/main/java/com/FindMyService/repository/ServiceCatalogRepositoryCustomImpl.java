@@ -0,0 +1,189 @@
+package com.FindMyService.repository;
+
+import com.FindMyService.model.Provider;
+import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.dto.ResourceVersion;
+import com.FindMyService.model.dto.ServiceCatalogDto;
+import com.FindMyService.model.dto.ServiceCatalogFilter;
+import com.FindMyService.model.enums.ServiceSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class ServiceCatalogRepositoryCustomImpl implements ServiceCatalogRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ServiceCatalog> findPage(ServiceCatalogFilter filter,
+                                         ServiceSort sort,
+                                         Comparable<?> lastSortValue,
+                                         Long lastServiceId,
+                                         int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ServiceCatalog> query = cb.createQuery(ServiceCatalog.class);
+        Root<ServiceCatalog> root = query.from(ServiceCatalog.class);
+        root.fetch("providerId", JoinType.INNER);
+
+        List<Predicate> predicates = filterPredicates(cb, root, filter, null);
+        if (lastServiceId != null) {
+            predicates.add(keysetPredicate(cb, root, sort, lastSortValue, lastServiceId));
+        }
+
+        query.select(root)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(orderFor(cb, root, sort));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<ServiceCatalogDto> findDtoPage(ServiceCatalogFilter filter,
+                                               Collection<Long> serviceIds,
+                                               ServiceSort sort,
+                                               Comparable<?> lastSortValue,
+                                               Long lastServiceId,
+                                               int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ServiceCatalogDto> query = cb.createQuery(ServiceCatalogDto.class);
+        Root<ServiceCatalog> root = query.from(ServiceCatalog.class);
+
+        List<Predicate> predicates = filterPredicates(cb, root, filter, serviceIds);
+        if (lastServiceId != null) {
+            predicates.add(keysetPredicate(cb, root, sort, lastSortValue, lastServiceId));
+        }
+
+        query.select(dtoSelection(cb, root))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(orderFor(cb, root, sort));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<ServiceCatalogDto> findDtosByProviderId(Long providerId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ServiceCatalogDto> query = cb.createQuery(ServiceCatalogDto.class);
+        Root<ServiceCatalog> root = query.from(ServiceCatalog.class);
+
+        query.select(dtoSelection(cb, root))
+                .where(cb.equal(root.get("providerId").get("providerId"), providerId))
+                .orderBy(cb.asc(root.get("serviceId")));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public ResourceVersion findVersion(ServiceCatalogFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ResourceVersion> query = cb.createQuery(ResourceVersion.class);
+        Root<ServiceCatalog> root = query.from(ServiceCatalog.class);
+        Join<ServiceCatalog, Provider> provider = root.join("providerId", JoinType.INNER);
+
+        query.select(cb.construct(ResourceVersion.class,
+                        cb.count(root),
+                        cb.greatest(root.<Instant>get("updatedAt")),
+                        cb.greatest(provider.<Instant>get("updatedAt"))))
+                .where(filterPredicates(cb, root, filter, null).toArray(Predicate[]::new));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // Reads the DTO columns straight from one join so list endpoints never hydrate services or their providers.
+    private CompoundSelection<ServiceCatalogDto> dtoSelection(CriteriaBuilder cb, Root<ServiceCatalog> root) {
+        Join<ServiceCatalog, Provider> provider = root.join("providerId", JoinType.INNER);
+        return cb.construct(ServiceCatalogDto.class,
+                root.get("serviceId"),
+                provider.get("providerId"),
+                provider.get("providerName"),
+                root.get("serviceName"),
+                root.get("description"),
+                root.get("cost"),
+                root.get("location"),
+                root.get("latitude"),
+                root.get("longitude"),
+                root.get("availability"),
+                root.get("warrantyPeriodMonths"),
+                root.get("imageUrl"),
+                root.get("createdAt"),
+                root.get("updatedAt"),
+                root.get("active"),
+                root.get("avgRating"),
+                root.get("totalRatings"));
+    }
+
+    // Location and attribute conditions are resolved to service ids by the in-memory indexes and arrive as serviceIds.
+    private List<Predicate> filterPredicates(CriteriaBuilder cb,
+                                             Root<ServiceCatalog> root,
+                                             ServiceCatalogFilter filter,
+                                             Collection<Long> serviceIds) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (serviceIds != null) {
+            predicates.add(root.get("serviceId").in(serviceIds));
+        }
+        if (filter == null) {
+            return predicates;
+        }
+        if (filter.getActive() != null) {
+            predicates.add(cb.equal(root.get("active"), filter.getActive()));
+        }
+        if (filter.getAvailability() != null) {
+            predicates.add(cb.equal(root.get("availability"), filter.getAvailability()));
+        }
+        if (filter.getMinCost() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("cost"), filter.getMinCost()));
+        }
+        if (filter.getMaxCost() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("cost"), filter.getMaxCost()));
+        }
+        return predicates;
+    }
+
+    private Predicate keysetPredicate(CriteriaBuilder cb,
+                                      Root<ServiceCatalog> root,
+                                      ServiceSort sort,
+                                      Comparable<?> lastSortValue,
+                                      Long lastServiceId) {
+        Path<Long> serviceId = root.get("serviceId");
+        return switch (sort) {
+            case SERVICE_ID -> cb.greaterThan(serviceId, lastServiceId);
+            case UPDATED_AT -> descendingAfter(cb, root.get("updatedAt"), (Instant) lastSortValue, serviceId, lastServiceId);
+            case AVG_RATING -> descendingAfter(cb, root.get("avgRating"), (BigDecimal) lastSortValue, serviceId, lastServiceId);
+        };
+    }
+
+    // MySQL sorts NULLs last in descending order, so rows with a null key come after every non-null key.
+    private <Y extends Comparable<? super Y>> Predicate descendingAfter(CriteriaBuilder cb,
+                                                                       Path<Y> key,
+                                                                       Y lastValue,
+                                                                       Path<Long> serviceId,
+                                                                       Long lastServiceId) {
+        if (lastValue == null) {
+            return cb.and(cb.isNull(key), cb.lessThan(serviceId, lastServiceId));
+        }
+        return cb.or(
+                cb.lessThan(key, lastValue),
+                cb.and(cb.equal(key, lastValue), cb.lessThan(serviceId, lastServiceId)),
+                cb.isNull(key)
+        );
+    }
+
+    private List<Order> orderFor(CriteriaBuilder cb, Root<ServiceCatalog> root, ServiceSort sort) {
+        return switch (sort) {
+            case SERVICE_ID -> List.of(cb.asc(root.get("serviceId")));
+            case UPDATED_AT -> List.of(cb.desc(root.get("updatedAt")), cb.desc(root.get("serviceId")));
+            case AVG_RATING -> List.of(cb.desc(root.get("avgRating")), cb.desc(root.get("serviceId")));
+        };
+    }
+}
@@ -0,0 +1,198 @@
+package com.FindMyService.service;
+
+import com.FindMyService.index.AttributesChangedEvent;
+import com.FindMyService.index.CatalogChangedEvent;
+import com.FindMyService.index.ProviderChangedEvent;
+import com.FindMyService.model.enums.ServiceSort;
+import com.FindMyService.utils.DtoMapper;
+import com.FindMyService.utils.ETags;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+@Slf4j
+public class CatalogSnapshotService {
+
+    private final ObjectMapper objectMapper;
+    private final AtomicLong generation = new AtomicLong();
+    private final long ratingRefreshNanos;
+    private final Slot services;
+    private final Slot providers;
+
+    public CatalogSnapshotService(ObjectMapper objectMapper,
+                                  ServiceCatalogService serviceCatalogService,
+                                  ProviderService providerService,
+                                  @Value("${catalog.snapshot.rating-refresh-interval:1s}") Duration ratingRefreshInterval) {
+        this.objectMapper = objectMapper;
+        this.ratingRefreshNanos = ratingRefreshInterval.toNanos();
+        this.services = new Slot(() -> serviceCatalogService.getServicesPage(null, ServiceSort.SERVICE_ID, null, null));
+        this.providers = new Slot(() -> providerService.getAllProviders().stream().map(DtoMapper::toDto).toList());
+    }
+
+    public Snapshot services() {
+        return services.get();
+    }
+
+    public Snapshot providers() {
+        return providers.get();
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    // Service writes only touch the service list; a review also moves the provider's rating, so rating updates mark
+    // both stale. Those arrive with every review, so they are coalesced into one rebuild per refresh interval.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.ratingsOnly()) {
+            services.markStale();
+            providers.markStale();
+        } else {
+            services.clear();
+        }
+    }
+
+    // Provider names are embedded in the service list, so provider edits drop both.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProviderChanged(ProviderChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.ratingsOnly()) {
+            providers.markStale();
+        } else {
+            services.clear();
+            providers.clear();
+        }
+    }
+
+    // Attributes are not part of either list; only the catalog version used by the facet ETags moves.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttributesChanged(AttributesChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        services.clear();
+        providers.clear();
+    }
+
+    private Snapshot serialize(Object body, long version) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                gzip.write(json);
+            }
+            byte[] compressed = buffer.toByteArray();
+            return new Snapshot(json, compressed, ETags.strong(json), ETags.strong(compressed), version);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize catalog snapshot", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public record Snapshot(byte[] json, byte[] gzip, String jsonETag, String gzipETag, long version) {
+
+        // Each encoding gets its own strong ETag; Spring answers If-None-Match with 304 from the entity's ETag.
+        public ResponseEntity<byte[]> toResponse(String acceptEncoding) {
+            boolean compressed = acceptsGzip(acceptEncoding);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .headers(headers -> {
+                        if (compressed) {
+                            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+                        }
+                    })
+                    .eTag(compressed ? gzipETag : jsonETag)
+                    .body(compressed ? gzip : json);
+        }
+
+        private static boolean acceptsGzip(String acceptEncoding) {
+            if (acceptEncoding == null) {
+                return false;
+            }
+            for (String coding : acceptEncoding.split(",")) {
+                String[] parts = coding.trim().split(";");
+                String name = parts[0].trim();
+                if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                    continue;
+                }
+                boolean refused = parts.length > 1 && parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+                if (!refused) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // A rebuild that races with an invalidation is served once but not kept, so a stale list never sticks. A snapshot
+    // that is only stale on ratings keeps being served until it is ratingRefreshNanos old; a rebuild that races with
+    // another rating update is kept but stays stale, so a steady stream of reviews cannot starve it.
+    private final class Slot {
+        private final Supplier<Object> loader;
+        private volatile Snapshot current;
+        private volatile boolean stale;
+        private volatile long builtAt;
+
+        Slot(Supplier<Object> loader) {
+            this.loader = loader;
+        }
+
+        Snapshot get() {
+            Snapshot snapshot = current;
+            if (snapshot != null && !refreshDue()) {
+                return snapshot;
+            }
+            synchronized (this) {
+                Snapshot previous = current;
+                if (previous != null && !refreshDue()) {
+                    return previous;
+                }
+                long version = generation.get();
+                Snapshot rebuilt = serialize(loader.get(), version);
+                if (generation.get() == version) {
+                    current = rebuilt;
+                    stale = false;
+                } else if (previous != null && stale) {
+                    current = rebuilt;
+                }
+                builtAt = System.nanoTime();
+                log.debug("Rebuilt catalog snapshot {} ({} bytes, {} gzipped)", version, rebuilt.json().length, rebuilt.gzip().length);
+                return rebuilt;
+            }
+        }
+
+        synchronized void markStale() {
+            stale = true;
+        }
+
+        synchronized void clear() {
+            current = null;
+            stale = false;
+        }
+
+        private boolean refreshDue() {
+            return stale && System.nanoTime() - builtAt >= ratingRefreshNanos;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.FindMyService.service;
+
+import com.FindMyService.model.dto.FeedbackDto;
+import com.FindMyService.model.dto.OrderDto;
+import com.FindMyService.model.dto.ProviderDto;
+import com.FindMyService.model.dto.UserDto;
+import com.FindMyService.model.enums.DataFormat;
+import com.FindMyService.repository.FeedbackRepository;
+import com.FindMyService.repository.OrderRepository;
+import com.FindMyService.repository.ProviderRepository;
+import com.FindMyService.repository.UserRepository;
+import com.FindMyService.utils.DtoMapper;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Service
+public class ExportService {
+
+    // Matches the fetch size hint on the streamAll queries.
+    static final int CHUNK_SIZE = 500;
+
+    private final OrderRepository orderRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final UserRepository userRepository;
+    private final ProviderRepository providerRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+
+    public ExportService(OrderRepository orderRepository,
+                         FeedbackRepository feedbackRepository,
+                         UserRepository userRepository,
+                         ProviderRepository providerRepository,
+                         EntityManager entityManager,
+                         PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper) {
+        this.orderRepository = orderRepository;
+        this.feedbackRepository = feedbackRepository;
+        this.userRepository = userRepository;
+        this.providerRepository = providerRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportOrders(DataFormat format) {
+        return export("orders", format, OrderDto.class, orderRepository::streamAll, DtoMapper::toDto);
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportFeedbacks(DataFormat format) {
+        return export("feedbacks", format, FeedbackDto.class, feedbackRepository::streamAll, DtoMapper::toDto);
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportUsers(DataFormat format) {
+        return export("users", format, UserDto.class, userRepository::streamAll, DtoMapper::toDto);
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportProviders(DataFormat format) {
+        return export("providers", format, ProviderDto.class, providerRepository::streamAll, DtoMapper::toDto);
+    }
+
+    private <E, D> ResponseEntity<StreamingResponseBody> export(String name,
+                                                                DataFormat format,
+                                                                Class<D> type,
+                                                                Supplier<Stream<E>> rows,
+                                                                Function<E, D> mapper) {
+        StreamingResponseBody body = out -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<E> stream = rows.get();
+                 SequenceWriter writer = writerFor(format, type, StreamUtils.nonClosing(out))) {
+                List<E> chunk = new ArrayList<>(CHUNK_SIZE);
+                Iterator<E> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    chunk.add(iterator.next());
+                    if (chunk.size() == CHUNK_SIZE) {
+                        writeChunk(chunk, mapper, writer);
+                    }
+                }
+                writeChunk(chunk, mapper, writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "." + format.getParam() + "\"")
+                .body(body);
+    }
+
+    // Mapping a whole chunk lets lazy collections batch-load; clearing afterwards keeps the persistence context bounded.
+    private <E, D> void writeChunk(List<E> chunk, Function<E, D> mapper, SequenceWriter writer) throws IOException {
+        for (E row : chunk) {
+            writer.write(mapper.apply(row));
+        }
+        writer.flush();
+        entityManager.clear();
+        chunk.clear();
+    }
+
+    private SequenceWriter writerFor(DataFormat format, Class<?> type, OutputStream out) throws IOException {
+        return switch (format) {
+            case NDJSON -> objectMapper.writer().withRootValueSeparator("\n").writeValues(out);
+            case CSV -> csvMapper.writer(csvMapper.schemaFor(type).withHeader()).writeValues(out);
+        };
+    }
+}
@@ -1,38 +1,75 @@
 package com.FindMyService.service;
 
+import com.FindMyService.config.CacheConfig;
+import com.FindMyService.index.CatalogChangedEvent;
+import com.FindMyService.index.CatalogEntry;
 import com.FindMyService.model.Feedback;
+import com.FindMyService.model.RatingHistogramBucket;
 import com.FindMyService.model.ServiceCatalog;
 import com.FindMyService.model.User;
+import com.FindMyService.model.dto.CursorPageDto;
 import com.FindMyService.model.dto.FeedbackDto;
+import com.FindMyService.model.dto.FeedbackPageItem;
+import com.FindMyService.model.dto.RatingHistogramDto;
+import com.FindMyService.model.enums.FeedbackSort;
+import com.FindMyService.model.enums.RatingScope;
+import com.FindMyService.notification.Notification;
+import com.FindMyService.notification.NotificationOutbox;
 import com.FindMyService.repository.FeedbackRepository;
 import com.FindMyService.repository.ProviderRepository;
+import com.FindMyService.repository.RatingHistogramRepository;
 import com.FindMyService.repository.ServiceCatalogRepository;
 import com.FindMyService.repository.UserRepository;
+import com.FindMyService.utils.CursorCodec;
 import com.FindMyService.utils.ResponseBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 public class FeedbackService {
 
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    static final int HISTOGRAM_BUCKETS = 11;
+
     private final FeedbackRepository feedbackRepository;
     private final UserRepository userRepository;
     private final ServiceCatalogRepository serviceCatalogRepository;
     private final ProviderRepository providerRepository;
+    private final RatingHistogramRepository ratingHistogramRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final NotificationOutbox notificationOutbox;
 
     public FeedbackService(FeedbackRepository feedbackRepository,
                            UserRepository userRepository,
                            ServiceCatalogRepository serviceCatalogRepository,
-                           ProviderRepository providerRepository) {
+                           ProviderRepository providerRepository,
+                           RatingHistogramRepository ratingHistogramRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           CacheManager cacheManager,
+                           NotificationOutbox notificationOutbox) {
         this.feedbackRepository = feedbackRepository;
         this.userRepository = userRepository;
         this.serviceCatalogRepository = serviceCatalogRepository;
         this.providerRepository = providerRepository;
+        this.ratingHistogramRepository = ratingHistogramRepository;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.notificationOutbox = notificationOutbox;
     }
 
     public List<Feedback> getAllFeedbacks() {
@@ -54,23 +91,25 @@ public class FeedbackService {
         ServiceCatalog serviceCatalog = serviceCatalogRepository.findById(feedbackDto.getServiceId())
                 .orElseThrow(() -> new RuntimeException("Service catalog not found"));
 
-        Feedback feedback = Feedback.builder()
-                .userId(user)
-                .serviceId(serviceCatalog)
-                .comment(feedbackDto.getComment())
-                .rating(feedbackDto.getRating())
-                .build();
-
-        Feedback saved = feedbackRepository.save(feedback);
-
+        Long providerId = serviceCatalog.getProviderId().getProviderId();
         try {
-            updateRatings(saved);
+            applyRatings(List.of(new RatingDelta(serviceCatalog.getServiceId(), providerId, feedbackDto.getRating())));
         } catch (RuntimeException e) {
             return ResponseEntity
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ResponseBuilder.serverError(e.getMessage()));
         }
 
+        Feedback saved = feedbackRepository.save(Feedback.builder()
+                .userId(user)
+                .serviceId(serviceCatalog)
+                .comment(feedbackDto.getComment())
+                .rating(feedbackDto.getRating())
+                .build());
+
+        notificationOutbox.append(Notification.feedbackCreated(saved.getFeedbackId(),
+                serviceCatalog.getServiceId(), providerId, user.getUserId()));
+
         FeedbackDto responseDto = FeedbackDto.builder()
                 .feedbackId(saved.getFeedbackId())
                 .serviceId(saved.getServiceId().getServiceId())
@@ -83,85 +122,211 @@ public class FeedbackService {
         return ResponseEntity.status(HttpStatus.CREATED).body(responseDto);
     }
 
-    @Transactional
-    public ResponseEntity<?> getAllFeedbacksForService(Long serviceId) {
-        Optional<ServiceCatalog> serviceCatalog = serviceCatalogRepository.findById(serviceId);
-        if (serviceCatalog.isEmpty()) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getAllFeedbacksForService(Long serviceId, FeedbackSort sort, String cursor, Integer limit) {
+        return servicePage(serviceId, cursor, getFeedbackPage(sort, cursor, limit, (effectiveSort, lastSortValue, lastFeedbackId, size) ->
+                feedbackRepository.findDtoPageByServiceId(serviceId, effectiveSort, lastSortValue, lastFeedbackId, size)));
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getFeedbackSummariesForService(Long serviceId, FeedbackSort sort, String cursor, Integer limit) {
+        return servicePage(serviceId, cursor, getFeedbackPage(sort, cursor, limit, (effectiveSort, lastSortValue, lastFeedbackId, size) ->
+                feedbackRepository.findSummaryPageByServiceId(serviceId, effectiveSort, lastSortValue, lastFeedbackId, size)));
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getAllFeedbacksForProvider(Long providerId, FeedbackSort sort, String cursor, Integer limit) {
+        return providerPage(providerId, cursor, getFeedbackPage(sort, cursor, limit, (effectiveSort, lastSortValue, lastFeedbackId, size) ->
+                feedbackRepository.findDtoPageByProviderId(providerId, effectiveSort, lastSortValue, lastFeedbackId, size)));
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getFeedbackSummariesForProvider(Long providerId, FeedbackSort sort, String cursor, Integer limit) {
+        return providerPage(providerId, cursor, getFeedbackPage(sort, cursor, limit, (effectiveSort, lastSortValue, lastFeedbackId, size) ->
+                feedbackRepository.findSummaryPageByProviderId(providerId, effectiveSort, lastSortValue, lastFeedbackId, size)));
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getFeedbackComment(Long feedbackId) {
+        return feedbackRepository.findCommentByFeedbackId(feedbackId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity
+                        .status(HttpStatus.NOT_FOUND)
+                        .body(ResponseBuilder.notFound("Feedback not found")));
+    }
+
+    // Existence is only checked when there is nothing to show, so a populated page stays a single query.
+    private ResponseEntity<?> servicePage(Long serviceId, String cursor, CursorPageDto<?> page) {
+        if (page.getItems().isEmpty() && cursor == null && !serviceCatalogRepository.existsById(serviceId)) {
             return ResponseEntity
                     .status(HttpStatus.NOT_FOUND)
                     .body(ResponseBuilder.build(HttpStatus.NOT_FOUND, "Service not found"));
         }
+        return ResponseEntity.ok(page);
+    }
 
-        List<Feedback> feedbacks = feedbackRepository.findByServiceId(serviceCatalog.get());
+    private ResponseEntity<?> providerPage(Long providerId, String cursor, CursorPageDto<?> page) {
+        if (page.getItems().isEmpty() && cursor == null && !serviceCatalogRepository.existsByProviderId_ProviderId(providerId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ResponseBuilder.notFound("No services found for provider"));
+        }
+        return ResponseEntity.ok(page);
+    }
 
-        List<FeedbackDto> feedbackDtos = feedbacks.stream()
-                .map(feedback -> FeedbackDto.builder()
-                        .feedbackId(feedback.getFeedbackId())
-                        .serviceId(feedback.getServiceId().getServiceId())
-                        .userId(feedback.getUserId().getUserId())
-                        .comment(feedback.getComment())
-                        .rating(feedback.getRating())
-                        .createdAt(feedback.getCreatedAt())
-                        .build())
-                .toList();
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getRatingHistogram(RatingScope scope, Long ownerId) {
+        List<RatingHistogramBucket> rows = ratingHistogramRepository.findByScopeAndOwnerId(scope, ownerId);
+        if (rows.isEmpty() && !(scope == RatingScope.SERVICE
+                ? serviceCatalogRepository.existsById(ownerId)
+                : providerRepository.existsById(ownerId))) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(ResponseBuilder.notFound(scope == RatingScope.SERVICE ? "Service not found" : "Provider not found"));
+        }
 
-        return ResponseEntity.ok(feedbackDtos);
+        long[] counts = new long[HISTOGRAM_BUCKETS];
+        long total = 0;
+        for (RatingHistogramBucket row : rows) {
+            if (row.getBucket() >= 0 && row.getBucket() < HISTOGRAM_BUCKETS) {
+                counts[row.getBucket()] = row.getRatings();
+                total += row.getRatings();
+            }
+        }
+        Map<BigDecimal, Long> buckets = new LinkedHashMap<>();
+        for (int bucket = 0; bucket < HISTOGRAM_BUCKETS; bucket++) {
+            buckets.put(BigDecimal.valueOf(bucket * 5L, 1), counts[bucket]);
+        }
+        return ResponseEntity.ok(RatingHistogramDto.builder()
+                .totalRatings(total)
+                .buckets(buckets)
+                .build());
     }
 
-    @Transactional
-    public ResponseEntity<?> getAllFeedbacksForProvider(Long providerId) {
-        List<ServiceCatalog> services = serviceCatalogRepository.findByProviderId_ProviderId(providerId);
-        if (services.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body(ResponseBuilder.notFound("No services found for provider"));
+    // Half-star buckets 0..10; ratings carry one decimal, so e.g. 4.3 counts towards the nearest half star, 4.5.
+    static int bucketOf(BigDecimal rating) {
+        return rating.multiply(BigDecimal.valueOf(2)).setScale(0, RoundingMode.HALF_UP).intValueExact();
+    }
+
+    private <T extends FeedbackPageItem> CursorPageDto<T> getFeedbackPage(FeedbackSort sort, String cursor, Integer limit,
+                                                                        PageQuery<T> query) {
+        FeedbackSort effectiveSort = sort != null ? sort : FeedbackSort.CREATED_AT;
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        Comparable<?> lastSortValue = null;
+        Long lastFeedbackId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = CursorCodec.decode(cursor, 3);
+            if (!effectiveSort.getParam().equals(parts[0])) {
+                throw new IllegalArgumentException("Cursor does not match sort: " + effectiveSort.getParam());
+            }
+            lastSortValue = parseSortValue(effectiveSort, parts[1]);
+            lastFeedbackId = parseFeedbackId(parts[2]);
+        }
+
+        List<T> rows = query.fetch(effectiveSort, lastSortValue, lastFeedbackId, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<T> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        return CursorPageDto.<T>builder()
+                .items(page)
+                .nextCursor(hasMore ? encodeCursor(effectiveSort, page.getLast()) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private String encodeCursor(FeedbackSort sort, FeedbackPageItem last) {
+        String sortValue = switch (sort) {
+            case CREATED_AT -> last.getCreatedAt().toString();
+            case RATING -> last.getRating().toPlainString();
+        };
+        return CursorCodec.encode(sort.getParam(), sortValue, last.getFeedbackId().toString());
+    }
+
+    private Comparable<?> parseSortValue(FeedbackSort sort, String value) {
+        try {
+            return switch (sort) {
+                case CREATED_AT -> Instant.parse(value);
+                case RATING -> new BigDecimal(value);
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private Long parseFeedbackId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    // Aggregates are bumped with UPDATE increments, so concurrent reviews never overwrite each other. A batch is
+    // coalesced to one increment per row and applied in id order (providers, then services). Callers run this before
+    // inserting the feedbacks rows: the insert's foreign key check share-locks the service row on InnoDB, and two
+    // reviews of one service that both hold that lock deadlock when each tries to upgrade it here.
+    // avgRating is recomputed from the exact ratingSum on each increment, so it never drifts.
+    public void applyRatings(Collection<RatingDelta> ratings) {
+        Map<Long, RatingTotals> providers = new TreeMap<>();
+        Map<Long, RatingTotals> services = new TreeMap<>();
+        for (RatingDelta rating : ratings) {
+            providers.computeIfAbsent(rating.providerId(), id -> new RatingTotals()).add(rating.rating());
+            services.computeIfAbsent(rating.serviceId(), id -> new RatingTotals()).add(rating.rating());
+        }
+        Instant now = Instant.now();
+
+        providers.forEach((providerId, totals) -> {
+            if (providerRepository.addRatings(providerId, totals.sum, totals.count, now) == 0) {
+                throw new RuntimeException("Provider not found");
+            }
+        });
+        services.forEach((serviceId, totals) -> {
+            if (serviceCatalogRepository.addRatings(serviceId, totals.sum, totals.count, now) == 0) {
+                throw new RuntimeException("Service not found");
+            }
+        });
+        providers.forEach((providerId, totals) -> incrementHistogram(RatingScope.PROVIDER, providerId, totals));
+        services.forEach((serviceId, totals) -> incrementHistogram(RatingScope.SERVICE, serviceId, totals));
+
+        for (ServiceCatalog savedService : serviceCatalogRepository.findWithProviderByServiceIdIn(services.keySet())) {
+            eventPublisher.publishEvent(CatalogChangedEvent.rated(CatalogEntry.of(savedService)));
+        }
+        services.keySet().forEach(serviceId -> evict(CacheConfig.SERVICES, serviceId));
+        providers.keySet().forEach(providerId -> evict(CacheConfig.PROVIDERS, providerId));
+    }
+
+    private void incrementHistogram(RatingScope scope, Long ownerId, RatingTotals totals) {
+        for (int bucket = 0; bucket < HISTOGRAM_BUCKETS; bucket++) {
+            if (totals.buckets[bucket] > 0) {
+                ratingHistogramRepository.increment(scope.name(), ownerId, bucket, totals.buckets[bucket]);
+            }
+        }
+    }
+
+    public record RatingDelta(Long serviceId, Long providerId, BigDecimal rating) {}
+
+    private static final class RatingTotals {
+        private BigDecimal sum = BigDecimal.ZERO;
+        private int count;
+        private final int[] buckets = new int[HISTOGRAM_BUCKETS];
+
+        private void add(BigDecimal rating) {
+            sum = sum.add(rating);
+            count++;
+            buckets[bucketOf(rating)]++;
+        }
+    }
+
+    @FunctionalInterface
+    private interface PageQuery<T> {
+        List<T> fetch(FeedbackSort sort, Comparable<?> lastSortValue, Long lastFeedbackId, int limit);
+    }
+
+    // applyRatings is reached through a self-call, so the eviction annotations cannot be used here.
+    private void evict(String cacheName, Long key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
         }
-        List<Feedback> feedbacks = feedbackRepository.findAll().stream()
-            .filter(fb -> services.contains(fb.getServiceId()))
-            .toList();
-        List<FeedbackDto> feedbackDtos = feedbacks.stream()
-            .map(feedback -> FeedbackDto.builder()
-                .feedbackId(feedback.getFeedbackId())
-                .serviceId(feedback.getServiceId().getServiceId())
-                .userId(feedback.getUserId().getUserId())
-                .comment(feedback.getComment())
-                .rating(feedback.getRating())
-                .createdAt(feedback.getCreatedAt())
-                .build())
-            .toList();
-        return ResponseEntity.ok(feedbackDtos);
-    }
-
-    void updateRatings(Feedback feedback) {
-        ServiceCatalog serviceCatalog = serviceCatalogRepository.findById(feedback.getServiceId().getServiceId())
-                .orElseThrow(() -> new RuntimeException("Service not found"));
-        com.FindMyService.model.Provider provider = providerRepository.findById(serviceCatalog.getProviderId().getProviderId())
-                .orElseThrow(() -> new RuntimeException("Provider not found"));
-
-        int totalServiceReviews = serviceCatalog.getTotalRatings();
-        int totalProviderReviews = provider.getTotalRatings();
-
-        int newTotalServiceReviews = totalServiceReviews + 1;
-        int newTotalProviderReviews = totalProviderReviews + 1;
-
-        BigDecimal currentProviderRating = provider.getAvgRating() != null ? provider.getAvgRating() : BigDecimal.ZERO;
-        BigDecimal updatedProviderRating = currentProviderRating
-                .multiply(BigDecimal.valueOf(totalProviderReviews))
-                .add(feedback.getRating())
-                .divide(BigDecimal.valueOf(newTotalProviderReviews), 2, java.math.RoundingMode.DOWN);
-
-        BigDecimal currentServiceRating = serviceCatalog.getAvgRating() != null ? serviceCatalog.getAvgRating() : BigDecimal.ZERO;
-        BigDecimal updatedServiceRating = currentServiceRating
-                .multiply(BigDecimal.valueOf(totalServiceReviews))
-                .add(feedback.getRating())
-                .divide(BigDecimal.valueOf(newTotalServiceReviews), 2, java.math.RoundingMode.DOWN);
-
-        provider.setAvgRating(updatedProviderRating);
-        provider.setTotalRatings(newTotalProviderReviews);
-
-        serviceCatalog.setAvgRating(updatedServiceRating);
-        serviceCatalog.setTotalRatings(newTotalServiceReviews);
-
-        providerRepository.save(provider);
-        serviceCatalogRepository.save(serviceCatalog);
     }
 }
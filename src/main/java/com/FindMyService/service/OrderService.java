@@ -1,50 +1,102 @@
 package com.FindMyService.service;
 
+import com.FindMyService.config.CacheConfig;
 import com.FindMyService.model.Order;
 import com.FindMyService.model.Provider;
 import com.FindMyService.model.ServiceCatalog;
 import com.FindMyService.model.User;
+import com.FindMyService.model.dto.CursorPageDto;
 import com.FindMyService.model.dto.OrderDto;
+import com.FindMyService.model.dto.OrderFilter;
+import com.FindMyService.model.dto.ResourceVersion;
 import com.FindMyService.model.enums.OrderStatus;
+import com.FindMyService.model.id.TimeOrderedIds;
+import com.FindMyService.notification.Notification;
+import com.FindMyService.notification.NotificationOutbox;
 import com.FindMyService.repository.OrderRepository;
 import com.FindMyService.repository.ProviderRepository;
 import com.FindMyService.repository.UserRepository;
+import com.FindMyService.utils.CursorCodec;
 import com.FindMyService.utils.DtoMapper;
 import com.FindMyService.utils.ResponseBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TimeZone;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static com.FindMyService.model.enums.OrderStatus.REQUESTED;
 
 @Service
 public class OrderService {
 
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private static final String INSERT_SQL = "insert into orders (order_id, ordered_by_user_id, provider_id, service_id, "
+            + "order_status, total_cost, quantity, requested_date, created_at, updated_at, version) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final ProviderRepository providerRepository;
     private final com.FindMyService.repository.ServiceCatalogRepository serviceCatalogRepository;
     private final com.FindMyService.utils.OwnerCheck ownerCheck;
+    private final UserService userService;
+    private final ProviderService providerService;
+    private final ServiceCatalogService serviceCatalogService;
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final TimeOrderedIds timeOrderedIds;
+    private final NotificationOutbox notificationOutbox;
 
     public OrderService(OrderRepository orderRepository,
                         UserRepository userRepository,
                         ProviderRepository providerRepository,
                         com.FindMyService.repository.ServiceCatalogRepository serviceCatalogRepository,
-                        com.FindMyService.utils.OwnerCheck ownerCheck) {
+                        com.FindMyService.utils.OwnerCheck ownerCheck,
+                        UserService userService,
+                        ProviderService providerService,
+                        ServiceCatalogService serviceCatalogService,
+                        JdbcTemplate jdbcTemplate,
+                        CacheManager cacheManager,
+                        TimeOrderedIds timeOrderedIds,
+                        NotificationOutbox notificationOutbox) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
         this.providerRepository = providerRepository;
         this.serviceCatalogRepository = serviceCatalogRepository;
         this.ownerCheck = ownerCheck;
+        this.userService = userService;
+        this.providerService = providerService;
+        this.serviceCatalogService = serviceCatalogService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        this.timeOrderedIds = timeOrderedIds;
+        this.notificationOutbox = notificationOutbox;
     }
 
     public List<Order> getAllOrders() {
@@ -55,40 +107,155 @@ public class OrderService {
         return orderRepository.findById(orderId);
     }
 
+    public ResourceVersion getOrderVersion(Long orderId) {
+        return orderRepository.findVersionByOrderId(orderId);
+    }
+
+    public ResourceVersion getUserOrdersVersion(Long userId) {
+        return orderRepository.findVersionByUserId(userId);
+    }
+
+    public ResourceVersion getProviderOrdersVersion(Long providerId) {
+        return orderRepository.findVersionByProviderId(providerId);
+    }
+
     @Transactional
     public OrderDto createOrder(OrderDto orderDto) {
-        User user = userRepository.findById(orderDto.getUserId())
+        // Existence checks go through the entity caches; the order only needs references for its foreign keys.
+        userService.getUserById(orderDto.getUserId())
                 .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + orderDto.getUserId()));
-
-        Provider provider = providerRepository.findById(orderDto.getProviderId())
+        providerService.getProviderById(orderDto.getProviderId())
                 .orElseThrow(() -> new IllegalArgumentException("Provider not found with id: " + orderDto.getProviderId()));
-        ServiceCatalog service = serviceCatalogRepository.findById(orderDto.getServiceId())
+        ServiceCatalog service = serviceCatalogService.getServiceById(orderDto.getServiceId())
                 .orElseThrow(() -> new IllegalArgumentException("Service not found with id: " + orderDto.getServiceId()));
 
         Order order = Order.builder()
-                .userId(user)
-                .providerId(provider)
-                .serviceId(service)
+                .userId(userRepository.getReferenceById(orderDto.getUserId()))
+                .providerId(providerRepository.getReferenceById(orderDto.getProviderId()))
+                .serviceId(serviceCatalogRepository.getReferenceById(orderDto.getServiceId()))
                 .orderStatus(REQUESTED)
                 .totalCost(orderDto.getTotalCost() != null ? orderDto.getTotalCost() : service.getCost())
                 .quantity(orderDto.getQuantity() != null ? orderDto.getQuantity() : 1)
                 .requestedDate(orderDto.getRequestedDate())
                 .build();
 
-        Order saved = orderRepository.save(order);
-        return DtoMapper.toDto(saved);
+        OrderDto saved = DtoMapper.toDto(orderRepository.save(order));
+        notificationOutbox.append(Notification.orderCreated(saved));
+        return saved;
     }
 
+    // At most one lookup per referenced table and one batched insert, however many items the cart holds.
     @Transactional
     public List<OrderDto> createOrdersBatch(List<OrderDto> orderDtos) {
-        List<OrderDto> createdOrders = new ArrayList<>();
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> providerIds = new HashSet<>();
+        Set<Long> serviceIds = new HashSet<>();
+        for (OrderDto orderDto : orderDtos) {
+            userIds.add(requireId(orderDto.getUserId(), "User"));
+            providerIds.add(requireId(orderDto.getProviderId(), "Provider"));
+            serviceIds.add(requireId(orderDto.getServiceId(), "Service"));
+        }
+        Map<Long, User> users = resolve(CacheConfig.USERS, User.class, userIds,
+                userRepository::findAllById, User::getUserId);
+        Map<Long, Provider> providers = resolve(CacheConfig.PROVIDERS, Provider.class, providerIds,
+                providerRepository::findAllById, Provider::getProviderId);
+        Map<Long, ServiceCatalog> services = resolve(CacheConfig.SERVICES, ServiceCatalog.class, serviceIds,
+                serviceCatalogRepository::findAllById, ServiceCatalog::getServiceId);
 
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        List<Order> orders = new ArrayList<>(orderDtos.size());
         for (OrderDto orderDto : orderDtos) {
-            OrderDto createdOrder = createOrder(orderDto);
-            createdOrders.add(createdOrder);
+            User user = users.get(orderDto.getUserId());
+            if (user == null) {
+                throw new IllegalArgumentException("User not found with id: " + orderDto.getUserId());
+            }
+            Provider provider = providers.get(orderDto.getProviderId());
+            if (provider == null) {
+                throw new IllegalArgumentException("Provider not found with id: " + orderDto.getProviderId());
+            }
+            ServiceCatalog service = services.get(orderDto.getServiceId());
+            if (service == null) {
+                throw new IllegalArgumentException("Service not found with id: " + orderDto.getServiceId());
+            }
+            if (!provider.getProviderId().equals(service.getProviderId().getProviderId())) {
+                throw new IllegalArgumentException("Service " + service.getServiceId()
+                        + " is not offered by provider " + provider.getProviderId());
+            }
+            BigDecimal totalCost = orderDto.getTotalCost() != null ? orderDto.getTotalCost() : service.getCost();
+            if (totalCost != null && totalCost.signum() <= 0) {
+                throw new IllegalArgumentException("Total cost must be greater than 0");
+            }
+
+            orders.add(Order.builder()
+                    .orderId(timeOrderedIds.nextId())
+                    .userId(user)
+                    .providerId(provider)
+                    .serviceId(service)
+                    .orderStatus(REQUESTED)
+                    .totalCost(totalCost)
+                    .quantity(orderDto.getQuantity() != null ? orderDto.getQuantity() : 1)
+                    .requestedDate(orderDto.getRequestedDate())
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .version(0L)
+                    .build());
+        }
+
+        insertAll(orders);
+        List<OrderDto> created = orders.stream()
+                .map(DtoMapper::toDto)
+                .toList();
+        notificationOutbox.appendAll(created.stream().map(Notification::orderCreated).toList());
+        return created;
+    }
+
+    private void insertAll(List<Order> orders) {
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        jdbcTemplate.batchUpdate(INSERT_SQL, orders, orders.size(), (ps, order) -> {
+            ps.setLong(1, order.getOrderId());
+            ps.setLong(2, order.getUserId().getUserId());
+            ps.setLong(3, order.getProviderId().getProviderId());
+            ps.setLong(4, order.getServiceId().getServiceId());
+            ps.setString(5, order.getOrderStatus().name());
+            ps.setBigDecimal(6, order.getTotalCost());
+            ps.setObject(7, order.getQuantity(), Types.INTEGER);
+            ps.setTimestamp(8, order.getRequestedDate() != null ? Timestamp.from(order.getRequestedDate()) : null, utc);
+            ps.setTimestamp(9, Timestamp.from(order.getCreatedAt()), utc);
+            ps.setTimestamp(10, Timestamp.from(order.getUpdatedAt()), utc);
+        });
+    }
+
+    private static Long requireId(Long id, String entity) {
+        if (id == null) {
+            throw new IllegalArgumentException(entity + " id is required");
         }
+        return id;
+    }
 
-        return createdOrders;
+    // Cached entities are used as they are; only the misses are loaded, in one query. Loaded rows are not cached
+    // because the entity caches hold fully fetched graphs (e.g. a service with its provider).
+    private <T> Map<Long, T> resolve(String cacheName,
+                                     Class<T> type,
+                                     Set<Long> ids,
+                                     Function<Set<Long>, List<T>> loader,
+                                     Function<T, Long> idOf) {
+        Map<Long, T> resolved = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        Cache cache = cacheManager.getCache(cacheName);
+        for (Long id : ids) {
+            T cached = cache != null ? cache.get(id, type) : null;
+            if (cached != null) {
+                resolved.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (T entity : loader.apply(missing)) {
+                resolved.put(idOf.apply(entity), entity);
+            }
+        }
+        return resolved;
     }
 
     @Transactional
@@ -99,34 +266,60 @@ public class OrderService {
         }).orElse(false);
     }
 
-    public ResponseEntity<?> getOrdersByUser(Long userId) {
-        Optional<User> user = userRepository.findById(userId);
-        if (user.isEmpty()) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getOrdersByUser(Long userId, OrderFilter filter, String cursor, Integer limit) {
+        CursorPageDto<OrderDto> page = getOrderPage(filter, cursor, limit, (lastCreatedAt, lastOrderId, size) ->
+                orderRepository.findPageByUserId(userId, filter, lastCreatedAt, lastOrderId, size));
+        // Existence is only checked when there is nothing to show, so a populated page stays a single query.
+        if (page.getItems().isEmpty() && cursor == null && userService.getUserById(userId).isEmpty()) {
             return ResponseEntity
                     .status(HttpStatus.NOT_FOUND)
                     .body(ResponseBuilder.build(HttpStatus.NOT_FOUND, "User not found"));
         }
-
-        List<Order> orders = orderRepository.findByUserId(user.get());
-        List<OrderDto> orderDtos = orders.stream()
-                .map(DtoMapper::toDto)
-                .toList();
-        return ResponseEntity.ok(orderDtos);
+        return ResponseEntity.ok(page);
     }
 
-    public ResponseEntity<?> getOrdersByProvider(Long providerId) {
-        Optional<Provider> provider = providerRepository.findById(providerId);
-        if (provider.isEmpty()) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getOrdersByProvider(Long providerId, OrderFilter filter, String cursor, Integer limit) {
+        CursorPageDto<OrderDto> page = getOrderPage(filter, cursor, limit, (lastCreatedAt, lastOrderId, size) ->
+                orderRepository.findPageByProviderId(providerId, filter, lastCreatedAt, lastOrderId, size));
+        if (page.getItems().isEmpty() && cursor == null && providerService.getProviderById(providerId).isEmpty()) {
             return ResponseEntity
                     .status(HttpStatus.NOT_FOUND)
                     .body(ResponseBuilder.build(HttpStatus.NOT_FOUND, "Provider not found"));
         }
+        return ResponseEntity.ok(page);
+    }
 
-        List<Order> orders = orderRepository.findByProviderId(provider.get());
-        List<OrderDto> orderDtos = orders.stream()
-                .map(DtoMapper::toDto)
-                .toList();
-        return ResponseEntity.ok(orderDtos);
+    private CursorPageDto<OrderDto> getOrderPage(OrderFilter filter, String cursor, Integer limit, PageQuery query) {
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        Instant lastCreatedAt = null;
+        Long lastOrderId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = CursorCodec.decode(cursor, 2);
+            try {
+                lastCreatedAt = Instant.parse(parts[0]);
+                lastOrderId = Long.valueOf(parts[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        List<OrderDto> rows = query.fetch(lastCreatedAt, lastOrderId, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<OrderDto> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        return CursorPageDto.<OrderDto>builder()
+                .items(page)
+                .nextCursor(hasMore
+                        ? CursorCodec.encode(page.getLast().getCreatedAt().toString(), page.getLast().getOrderId().toString())
+                        : null)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Transactional
@@ -162,12 +355,8 @@ public class OrderService {
 
             updateIfNotNull(orderDto.getRequestedDate(), existingOrder::setRequestedDate);
 
-            if (orderDto.getOrderStatus() != null) {
-                if (orderDto.getOrderStatus() == OrderStatus.CANCELLED) {
-                    existingOrder.setOrderStatus(OrderStatus.CANCELLED);
-                } else {
-                    throw new IllegalArgumentException("Users can only cancel orders");
-                }
+            if (orderDto.getOrderStatus() != null && orderDto.getOrderStatus() != OrderStatus.CANCELLED) {
+                throw new IllegalArgumentException("Users can only cancel orders");
             }
         } else if ("PROVIDER".equals(userRole)) {
             if (orderDto.getRequestedDate() != null) {
@@ -182,25 +371,63 @@ public class OrderService {
 
             updateIfNotNull(orderDto.getScheduledDate(), existingOrder::setScheduledDate);
 
-            if (orderDto.getOrderStatus() != null) {
-                if (orderDto.getOrderStatus() == OrderStatus.SCHEDULED ||
-                    orderDto.getOrderStatus() == OrderStatus.COMPLETED ||
-                    orderDto.getOrderStatus() == OrderStatus.CANCELLED) {
-                    existingOrder.setOrderStatus(orderDto.getOrderStatus());
-                } else {
-                    throw new IllegalArgumentException("Providers can only set status to SCHEDULED, COMPLETED, or CANCELLED");
-                }
+            if (orderDto.getOrderStatus() != null &&
+                orderDto.getOrderStatus() != OrderStatus.SCHEDULED &&
+                orderDto.getOrderStatus() != OrderStatus.COMPLETED &&
+                orderDto.getOrderStatus() != OrderStatus.CANCELLED) {
+                throw new IllegalArgumentException("Providers can only set status to SCHEDULED, COMPLETED, or CANCELLED");
             }
         } else if ("ADMIN".equals(userRole)) {
             updateIfNotNull(orderDto.getRequestedDate(), existingOrder::setRequestedDate);
             updateIfNotNull(orderDto.getScheduledDate(), existingOrder::setScheduledDate);
             updateIfNotNull(orderDto.getQuantity(), existingOrder::setQuantity);
-            updateIfNotNull(orderDto.getOrderStatus(), existingOrder::setOrderStatus);
             updateIfNotNull(orderDto.getTotalCost(), existingOrder::setTotalCost);
         }
 
-        Order updated = orderRepository.save(existingOrder);
-        return com.FindMyService.utils.DtoMapper.toDto(updated);
+        if (orderDto.getVersion() != null && !orderDto.getVersion().equals(existingOrder.getVersion())) {
+            throw new OptimisticLockingFailureException(
+                    "Order " + orderId + " has changed since version " + orderDto.getVersion());
+        }
+        OrderStatus current = existingOrder.getOrderStatus();
+        OrderStatus target = orderDto.getOrderStatus() != current ? orderDto.getOrderStatus() : null;
+        if (target != null && !current.canTransitionTo(target)) {
+            throw new IllegalStateException("Cannot change order status from " + current + " to " + target);
+        }
+
+        boolean fieldsChanged = orderDto.getRequestedDate() != null || orderDto.getScheduledDate() != null
+                || orderDto.getQuantity() != null || orderDto.getTotalCost() != null;
+        if (!fieldsChanged) {
+            if (target == null) {
+                return DtoMapper.toDto(existingOrder);
+            }
+            transitionStatus(existingOrder, target);
+            OrderDto transitioned = DtoMapper.toDto(existingOrder);
+            notificationOutbox.append(Notification.orderStatusChanged(transitioned));
+            return transitioned;
+        }
+
+        // Edits go through the entity; the versioned UPDATE fails if another request wrote the order in between.
+        if (target != null) {
+            existingOrder.setOrderStatus(target);
+        }
+        OrderDto updated = DtoMapper.toDto(orderRepository.saveAndFlush(existingOrder));
+        if (target != null) {
+            notificationOutbox.append(Notification.orderStatusChanged(updated));
+        }
+        return updated;
+    }
+
+    // Status-only changes, the common PATCH, are one conditional UPDATE with no entity write-back.
+    private void transitionStatus(Order order, OrderStatus target) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        int updated = orderRepository.transitionStatus(order.getOrderId(), order.getOrderStatus(), order.getVersion(), target, now);
+        if (updated == 0) {
+            throw new OptimisticLockingFailureException("Order " + order.getOrderId() + " was changed by another request");
+        }
+        // The update cleared the persistence context, so the detached order is brought up to date for the response.
+        order.setOrderStatus(target);
+        order.setVersion(order.getVersion() + 1);
+        order.setUpdatedAt(now);
     }
 
     private <T> void updateIfNotNull(T value, Consumer<T> setter) {
@@ -208,4 +435,8 @@ public class OrderService {
             setter.accept(value);
         }
     }
+
+    private interface PageQuery {
+        List<OrderDto> fetch(Instant lastCreatedAt, Long lastOrderId, int limit);
+    }
 }
@@ -1,18 +1,30 @@
 package com.FindMyService.service;
 
+import com.FindMyService.config.CacheConfig;
+import com.FindMyService.geo.ZipCentroidDirectory;
+import com.FindMyService.geo.ZipCentroidDirectory.Coordinates;
+import com.FindMyService.index.ProviderChangedEvent;
 import com.FindMyService.model.Provider;
 import com.FindMyService.model.dto.ProviderDto;
+import com.FindMyService.model.dto.ResourceVersion;
+import com.FindMyService.model.enums.RatingScope;
 import com.FindMyService.repository.ProviderRepository;
+import com.FindMyService.repository.RatingHistogramRepository;
 import com.FindMyService.utils.DtoMapper;
 import com.FindMyService.utils.ResponseBuilder;
 import com.FindMyService.utils.OwnerCheck;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -21,17 +33,32 @@ public class ProviderService {
     private PasswordEncoder passwordEncoder;
 
     private final ProviderRepository providerRepository;
-
-    public ProviderService(ProviderRepository providerRepository, OwnerCheck ownerCheck) {
+    private final ApplicationEventPublisher eventPublisher;
+    private final ZipCentroidDirectory zipCentroidDirectory;
+    private final RatingHistogramRepository ratingHistogramRepository;
+
+    public ProviderService(ProviderRepository providerRepository,
+                           OwnerCheck ownerCheck,
+                           ApplicationEventPublisher eventPublisher,
+                           ZipCentroidDirectory zipCentroidDirectory,
+                           RatingHistogramRepository ratingHistogramRepository) {
         this.providerRepository = providerRepository;
+        this.eventPublisher = eventPublisher;
+        this.zipCentroidDirectory = zipCentroidDirectory;
+        this.ratingHistogramRepository = ratingHistogramRepository;
     }
 
     public List<Provider> getAllProviders() {
         return providerRepository.findAll();
     }
 
+    @Cacheable(cacheNames = CacheConfig.PROVIDERS, key = "#providerId", unless = "#result == null")
     public Optional<Provider> getProviderById(Long providerId) {
-        return providerRepository.findById(providerId);
+        return providerRepository.findWithImageUrlsByProviderId(providerId);
+    }
+
+    public ResourceVersion getProviderVersion(Long providerId) {
+        return providerRepository.findVersionByProviderId(providerId);
     }
 
     @Transactional
@@ -50,7 +77,11 @@ public class ProviderService {
 
         try {
             provider.setPassword(passwordEncoder.encode(provider.getPassword()));
+            if (provider.getLatitude() == null || provider.getLongitude() == null) {
+                resolveCoordinates(provider);
+            }
             Provider created = providerRepository.save(provider);
+            eventPublisher.publishEvent(ProviderChangedEvent.updated(created.getProviderId()));
             return ResponseEntity.status(HttpStatus.CREATED).body(created);
         } catch (Exception e) {
             return ResponseEntity
@@ -59,11 +90,17 @@ public class ProviderService {
         }
     }
 
+    // Cached services carry their provider, so they are dropped along with it.
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PROVIDERS, key = "#providerId"),
+            @CacheEvict(cacheNames = CacheConfig.SERVICES, allEntries = true)
+    })
     public ProviderDto updateProvider(Long providerId, ProviderDto providerDto) {
         Provider existingProvider = providerRepository.findById(providerId)
                 .orElseThrow(() -> new IllegalArgumentException("Provider not found with id: " + providerId));
 
+        String previousZipCode = existingProvider.getZipCode();
         updateIfNotNull(providerDto.getProviderName(), existingProvider::setProviderName);
         updateIfNotNull(providerDto.getEmail(), existingProvider::setEmail);
         updateIfNotNull(providerDto.getPhone(), existingProvider::setPhone);
@@ -74,6 +111,12 @@ public class ProviderService {
         updateIfNotNull(providerDto.getZipCode(), existingProvider::setZipCode);
         updateIfNotNull(providerDto.getProfilePictureUrl(), existingProvider::setProfilePictureUrl);
         updateIfNotNull(providerDto.getImageUrls(), existingProvider::setImageUrls);
+        updateIfNotNull(providerDto.getLatitude(), existingProvider::setLatitude);
+        updateIfNotNull(providerDto.getLongitude(), existingProvider::setLongitude);
+        if (!Objects.equals(previousZipCode, existingProvider.getZipCode())
+                && (providerDto.getLatitude() == null || providerDto.getLongitude() == null)) {
+            resolveCoordinates(existingProvider);
+        }
 
         if (providerDto.getPassword() != null && !providerDto.getPassword().isEmpty()) {
             if (providerDto.getCurrentPassword() == null || providerDto.getCurrentPassword().isEmpty()) {
@@ -88,14 +131,30 @@ public class ProviderService {
         }
 
         Provider updated = providerRepository.save(existingProvider);
+        eventPublisher.publishEvent(ProviderChangedEvent.updated(providerId));
         return DtoMapper.toDto(updated);
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PROVIDERS, key = "#providerId"),
+            @CacheEvict(cacheNames = CacheConfig.SERVICES, allEntries = true)
+    })
     public void deleteProvider(Long providerId) {
         Provider provider = providerRepository.findById(providerId)
                 .orElseThrow(() -> new IllegalArgumentException("Provider not found with id: " + providerId));
+        // The provider's services go with it, so their histograms are dropped too.
+        ratingHistogramRepository.deleteServicesOfProvider(providerId);
+        ratingHistogramRepository.deleteByOwner(RatingScope.PROVIDER.name(), providerId);
         providerRepository.delete(provider);
+        eventPublisher.publishEvent(ProviderChangedEvent.deleted(providerId));
+    }
+
+    // An unknown zip code clears the position instead of leaving the one from the previous address.
+    private void resolveCoordinates(Provider provider) {
+        Optional<Coordinates> coordinates = zipCentroidDirectory.resolve(provider.getZipCode());
+        provider.setLatitude(coordinates.map(Coordinates::latitude).orElse(null));
+        provider.setLongitude(coordinates.map(Coordinates::longitude).orElse(null));
     }
 
     private <T> void updateIfNotNull(T value, java.util.function.Consumer<T> setter) {
@@ -0,0 +1,295 @@
+package com.FindMyService.service;
+
+import com.FindMyService.config.CacheConfig;
+import com.FindMyService.config.SchedulingConfig;
+import com.FindMyService.index.CatalogChangedEvent;
+import com.FindMyService.index.CatalogEntry;
+import com.FindMyService.index.ProviderChangedEvent;
+import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.dto.RatingReconciliationReportDto;
+import com.FindMyService.model.enums.RatingScope;
+import com.FindMyService.repository.ServiceCatalogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Recomputes the incrementally maintained rating aggregates from the feedbacks table. Each chunk of ids is one
+// consistent (non-locking) aggregate read; only drifted rows are written, each in its own short autocommit update.
+@Service
+@Slf4j
+public class RatingReconciliationService {
+
+    // Keyset walk over the primary key; ids are time-ordered and sparse, so chunks are cut by row count, not id range.
+    private static final String SERVICE_IDS_SQL =
+            "select service_id from services where service_id > ? order by service_id limit ?";
+    private static final String PROVIDER_IDS_SQL =
+            "select provider_id from providers where provider_id > ? order by provider_id limit ?";
+
+    private static final String SERVICE_AGGREGATES_SQL = "select s.service_id, s.total_ratings, s.rating_sum, s.avg_rating, "
+            + "count(f.feedback_id), coalesce(sum(f.rating), 0) "
+            + "from services s left join feedbacks f on f.service_id = s.service_id "
+            + "where s.service_id between ? and ? "
+            + "group by s.service_id, s.total_ratings, s.rating_sum, s.avg_rating";
+    private static final String PROVIDER_AGGREGATES_SQL = "select p.provider_id, p.total_ratings, p.rating_sum, p.avg_rating, "
+            + "count(f.feedback_id), coalesce(sum(f.rating), 0) "
+            + "from providers p left join services s on s.provider_id = p.provider_id "
+            + "left join feedbacks f on f.service_id = s.service_id "
+            + "where p.provider_id between ? and ? "
+            + "group by p.provider_id, p.total_ratings, p.rating_sum, p.avg_rating";
+
+    // Compare-and-set on the values that were read: a row that took a review in the meantime is left untouched.
+    private static final String SERVICE_UPDATE_SQL = "update services set avg_rating = ?, rating_sum = ?, total_ratings = ?, "
+            + "updated_at = ? where service_id = ? and total_ratings = ? and coalesce(rating_sum, 0) = ?";
+    private static final String PROVIDER_UPDATE_SQL = "update providers set avg_rating = ?, rating_sum = ?, total_ratings = ?, "
+            + "updated_at = ? where provider_id = ? and total_ratings = ? and coalesce(rating_sum, 0) = ?";
+
+    // Histograms are only ever incremented by reviews, so the owners whose aggregates drifted get theirs rebuilt from
+    // scratch. round() matches FeedbackService.bucketOf (half away from zero) for the non-negative ratings stored.
+    private static final String HISTOGRAM_DELETE_SQL = "delete from rating_histograms where scope = ? and owner_id = ?";
+    private static final String SERVICE_HISTOGRAM_SQL = "insert into rating_histograms (scope, owner_id, bucket, ratings) "
+            + "select 'SERVICE', f.service_id, round(f.rating * 2), count(*) from feedbacks f "
+            + "where f.service_id = ? group by f.service_id, round(f.rating * 2)";
+    private static final String PROVIDER_HISTOGRAM_SQL = "insert into rating_histograms (scope, owner_id, bucket, ratings) "
+            + "select 'PROVIDER', s.provider_id, round(f.rating * 2), count(*) from services s "
+            + "join feedbacks f on f.service_id = s.service_id "
+            + "where s.provider_id = ? group by s.provider_id, round(f.rating * 2)";
+
+    private static final RowMapper<AggregateRow> AGGREGATE_ROW = (rs, rowNum) -> new AggregateRow(
+            rs.getLong(1), rs.getInt(2), rs.getBigDecimal(3), rs.getBigDecimal(4), rs.getInt(5), rs.getBigDecimal(6));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ServiceCatalogRepository serviceCatalogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+    private final int chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public RatingReconciliationService(JdbcTemplate jdbcTemplate,
+                                       ServiceCatalogRepository serviceCatalogRepository,
+                                       ApplicationEventPublisher eventPublisher,
+                                       CacheManager cacheManager,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${ratings.reconcile.parallelism:4}") int parallelism,
+                                       @Value("${ratings.reconcile.chunk-size:2000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.serviceCatalogRepository = serviceCatalogRepository;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${ratings.reconcile.cron:0 30 3 * * *}", scheduler = SchedulingConfig.RECONCILE_SCHEDULER)
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (IllegalStateException e) {
+            log.info("Skipping scheduled rating reconciliation: {}", e.getMessage());
+        }
+    }
+
+    public RatingReconciliationReportDto reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Rating reconciliation is already running");
+        }
+        Instant startedAt = Instant.now();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // Providers first, then services, the same order in which reviews lock them.
+            Pass providers = new Pass(PROVIDER_AGGREGATES_SQL, PROVIDER_UPDATE_SQL);
+            Drift providerDrift = run(pool, providers, PROVIDER_IDS_SQL);
+            Pass services = new Pass(SERVICE_AGGREGATES_SQL, SERVICE_UPDATE_SQL);
+            Drift serviceDrift = run(pool, services, SERVICE_IDS_SQL);
+
+            rebuildHistograms(RatingScope.PROVIDER, PROVIDER_HISTOGRAM_SQL, providers.corrected);
+            rebuildHistograms(RatingScope.SERVICE, SERVICE_HISTOGRAM_SQL, services.corrected);
+            publishCorrections(providers.corrected, services.corrected);
+
+            RatingReconciliationReportDto report = RatingReconciliationReportDto.builder()
+                    .startedAt(startedAt)
+                    .durationMs(Instant.now().toEpochMilli() - startedAt.toEpochMilli())
+                    .servicesScanned(serviceDrift.scanned)
+                    .servicesCorrected(serviceDrift.corrected)
+                    .providersScanned(providerDrift.scanned)
+                    .providersCorrected(providerDrift.corrected)
+                    .skipped(serviceDrift.skipped + providerDrift.skipped)
+                    .ratingCountDrift(serviceDrift.ratingCountDrift + providerDrift.ratingCountDrift)
+                    .maxAverageDrift(serviceDrift.maxAverageDrift.max(providerDrift.maxAverageDrift))
+                    .build();
+            log.info("Rating reconciliation finished in {} ms: {}/{} services and {}/{} providers corrected, {} skipped",
+                    report.getDurationMs(), report.getServicesCorrected(), report.getServicesScanned(),
+                    report.getProvidersCorrected(), report.getProvidersScanned(), report.getSkipped());
+            return report;
+        } finally {
+            pool.shutdown();
+            running.set(false);
+        }
+    }
+
+    // The chunk boundaries are read sequentially from the primary key; the aggregate reads run on the pool.
+    private Drift run(ForkJoinPool pool, Pass pass, String idsSql) {
+        List<ForkJoinTask<Drift>> chunks = new ArrayList<>();
+        long afterId = Long.MIN_VALUE;
+        List<Long> ids;
+        do {
+            ids = jdbcTemplate.queryForList(idsSql, Long.class, afterId, chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            long fromId = ids.getFirst();
+            long toId = ids.getLast();
+            chunks.add(pool.submit(() -> reconcileChunk(pass, fromId, toId)));
+            afterId = toId;
+        } while (ids.size() == chunkSize);
+
+        Drift drift = new Drift();
+        for (ForkJoinTask<Drift> chunk : chunks) {
+            drift.merge(chunk.join());
+        }
+        return drift;
+    }
+
+    private Drift reconcileChunk(Pass pass, long fromId, long toId) {
+        Drift drift = new Drift();
+        List<AggregateRow> stale = new ArrayList<>();
+        for (AggregateRow row : jdbcTemplate.query(pass.aggregatesSql, AGGREGATE_ROW, fromId, toId)) {
+            drift.scanned++;
+            if (row.drifted()) {
+                stale.add(row);
+            }
+        }
+        if (stale.isEmpty()) {
+            return drift;
+        }
+
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        Timestamp now = Timestamp.from(Instant.now());
+        int[][] updated = jdbcTemplate.batchUpdate(pass.updateSql, stale, stale.size(), (ps, row) -> {
+            ps.setObject(1, row.actualAverage(), Types.DECIMAL);
+            ps.setBigDecimal(2, row.actualSum());
+            ps.setInt(3, row.actualCount());
+            ps.setTimestamp(4, now, utc);
+            ps.setLong(5, row.id());
+            ps.setInt(6, row.storedCount());
+            ps.setBigDecimal(7, row.storedSum() != null ? row.storedSum() : BigDecimal.ZERO);
+        });
+        for (int i = 0; i < stale.size(); i++) {
+            AggregateRow row = stale.get(i);
+            if (updated[0][i] == 0) {
+                drift.skipped++;
+                continue;
+            }
+            drift.corrected++;
+            drift.ratingCountDrift += Math.abs(row.storedCount() - row.actualCount());
+            drift.maxAverageDrift = drift.maxAverageDrift.max(row.averageDrift());
+            pass.corrected.add(row.id());
+        }
+        return drift;
+    }
+
+    // One short transaction per owner, so readers never see an emptied histogram. A review committed while this runs
+    // either is counted by the insert-select or increments the rebuilt rows afterwards.
+    private void rebuildHistograms(RatingScope scope, String rebuildSql, Set<Long> ownerIds) {
+        for (Long ownerId : new TreeSet<>(ownerIds)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(HISTOGRAM_DELETE_SQL, scope.name(), ownerId);
+                jdbcTemplate.update(rebuildSql, ownerId);
+            });
+        }
+    }
+
+    private void publishCorrections(Set<Long> providerIds, Set<Long> serviceIds) {
+        List<Long> ids = new ArrayList<>(serviceIds);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            for (ServiceCatalog service : serviceCatalogRepository.findWithProviderByServiceIdIn(chunk)) {
+                eventPublisher.publishEvent(CatalogChangedEvent.rated(CatalogEntry.of(service)));
+            }
+            chunk.forEach(serviceId -> evict(CacheConfig.SERVICES, serviceId));
+        }
+        for (Long providerId : providerIds) {
+            eventPublisher.publishEvent(ProviderChangedEvent.rated(providerId));
+            evict(CacheConfig.PROVIDERS, providerId);
+        }
+    }
+
+    private void evict(String cacheName, Long key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private record Pass(String aggregatesSql, String updateSql, Set<Long> corrected) {
+        private Pass(String aggregatesSql, String updateSql) {
+            this(aggregatesSql, updateSql, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    record AggregateRow(long id, int storedCount, BigDecimal storedSum, BigDecimal storedAverage,
+                        int actualCount, BigDecimal actualSum) {
+
+        BigDecimal actualAverage() {
+            return actualCount == 0 ? null : actualSum.divide(BigDecimal.valueOf(actualCount), 1, RoundingMode.HALF_UP);
+        }
+
+        // A missing rating_sum on a rated row counts as drift, so rows written before it existed are backfilled.
+        boolean drifted() {
+            BigDecimal average = actualAverage();
+            return storedCount != actualCount
+                    || storedSum == null && actualCount > 0
+                    || (storedSum != null ? storedSum : BigDecimal.ZERO).compareTo(actualSum) != 0
+                    || (storedAverage == null ? average != null : average == null || storedAverage.compareTo(average) != 0);
+        }
+
+        BigDecimal averageDrift() {
+            BigDecimal average = actualAverage();
+            return (storedAverage != null ? storedAverage : BigDecimal.ZERO)
+                    .subtract(average != null ? average : BigDecimal.ZERO).abs();
+        }
+    }
+
+    private static final class Drift {
+        private int scanned;
+        private int corrected;
+        private int skipped;
+        private long ratingCountDrift;
+        private BigDecimal maxAverageDrift = BigDecimal.ZERO;
+
+        private Drift merge(Drift other) {
+            scanned += other.scanned;
+            corrected += other.corrected;
+            skipped += other.skipped;
+            ratingCountDrift += other.ratingCountDrift;
+            maxAverageDrift = maxAverageDrift.max(other.maxAverageDrift);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.FindMyService.service;
+
+import com.FindMyService.geo.GeoUtils;
+import com.FindMyService.geo.ZipCentroidDirectory;
+import com.FindMyService.index.GeoIndex;
+import com.FindMyService.index.LeaderboardIndex;
+import com.FindMyService.index.ServiceSearchIndex;
+import com.FindMyService.index.SuggestionIndex;
+import com.FindMyService.model.dto.LeaderboardEntryDto;
+import com.FindMyService.model.dto.NearbyServiceDto;
+import com.FindMyService.model.dto.SearchHitDto;
+import com.FindMyService.model.dto.SuggestionDto;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class SearchService {
+
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+
+    private final ServiceSearchIndex serviceSearchIndex;
+    private final GeoIndex geoIndex;
+    private final ZipCentroidDirectory zipCentroidDirectory;
+    private final SuggestionIndex suggestionIndex;
+    private final LeaderboardIndex leaderboardIndex;
+
+    public SearchService(ServiceSearchIndex serviceSearchIndex,
+                         GeoIndex geoIndex,
+                         ZipCentroidDirectory zipCentroidDirectory,
+                         SuggestionIndex suggestionIndex,
+                         LeaderboardIndex leaderboardIndex) {
+        this.serviceSearchIndex = serviceSearchIndex;
+        this.geoIndex = geoIndex;
+        this.zipCentroidDirectory = zipCentroidDirectory;
+        this.suggestionIndex = suggestionIndex;
+        this.leaderboardIndex = leaderboardIndex;
+    }
+
+    public List<SearchHitDto> searchServices(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Query must not be empty");
+        }
+        int effectiveLimit = limit == null ? DEFAULT_LIMIT : Math.min(Math.max(limit, 1), MAX_LIMIT);
+        return serviceSearchIndex.search(query, effectiveLimit);
+    }
+
+    public List<NearbyServiceDto> findNearby(Double latitude, Double longitude, String zipCode,
+                                             Double radiusKm, Integer limit) {
+        if (latitude == null && longitude == null && zipCode != null) {
+            if (zipCentroidDirectory.isEmpty()) {
+                throw new IllegalStateException("Zip code search is unavailable: no postal code centroids are loaded");
+            }
+            ZipCentroidDirectory.Coordinates centre = zipCentroidDirectory.resolve(zipCode)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown zip code: " + zipCode));
+            latitude = centre.latitude();
+            longitude = centre.longitude();
+        }
+        if (!GeoUtils.isValid(latitude, longitude)) {
+            throw new IllegalArgumentException("Valid lat and lon, or a known zip, are required");
+        }
+        int effectiveLimit = limit == null ? DEFAULT_LIMIT : Math.min(Math.max(limit, 1), MAX_LIMIT);
+        if (radiusKm == null) {
+            return geoIndex.nearest(latitude, longitude, effectiveLimit);
+        }
+        if (radiusKm <= 0) {
+            throw new IllegalArgumentException("radiusKm must be positive");
+        }
+        return geoIndex.withinRadius(latitude, longitude, radiusKm, effectiveLimit);
+    }
+
+    public List<SuggestionDto> suggest(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        int effectiveLimit = limit == null
+                ? SuggestionIndex.MAX_SUGGESTIONS
+                : Math.min(Math.max(limit, 1), SuggestionIndex.MAX_SUGGESTIONS);
+        return suggestionIndex.suggest(prefix, effectiveLimit);
+    }
+
+    public List<LeaderboardEntryDto> topServices(String city, Integer limit) {
+        int effectiveLimit = limit == null ? DEFAULT_LIMIT : Math.min(Math.max(limit, 1), MAX_LIMIT);
+        return leaderboardIndex.topServices(city, effectiveLimit);
+    }
+
+    public List<LeaderboardEntryDto> topProviders(String city, Integer limit) {
+        int effectiveLimit = limit == null ? DEFAULT_LIMIT : Math.min(Math.max(limit, 1), MAX_LIMIT);
+        return leaderboardIndex.topProviders(city, effectiveLimit);
+    }
+}
@@ -0,0 +1,110 @@
+package com.FindMyService.service;
+
+import com.FindMyService.index.AttributesChangedEvent;
+import com.FindMyService.model.ServiceAttribute;
+import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.dto.ServiceAttributeDto;
+import com.FindMyService.model.enums.AttributeValueType;
+import com.FindMyService.repository.ServiceAttributeRepository;
+import com.FindMyService.repository.ServiceCatalogRepository;
+import com.FindMyService.utils.DtoMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+
+@Service
+public class ServiceAttributeService {
+
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int MAX_VALUE_LENGTH = 120;
+
+    private final ServiceAttributeRepository serviceAttributeRepository;
+    private final ServiceCatalogRepository serviceCatalogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ServiceAttributeService(ServiceAttributeRepository serviceAttributeRepository,
+                                   ServiceCatalogRepository serviceCatalogRepository,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.serviceAttributeRepository = serviceAttributeRepository;
+        this.serviceCatalogRepository = serviceCatalogRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ServiceAttributeDto> getAttributes(Long serviceId) {
+        if (!serviceCatalogRepository.existsById(serviceId)) {
+            throw new IllegalArgumentException("Service not found with id: " + serviceId);
+        }
+        return serviceAttributeRepository.findByServiceId_ServiceIdOrderByAttributeIdAsc(serviceId).stream()
+                .map(DtoMapper::toDto)
+                .toList();
+    }
+
+    @Transactional
+    public ServiceAttributeDto addAttribute(Long serviceId, ServiceAttributeDto attributeDto) {
+        ServiceCatalog service = serviceCatalogRepository.findById(serviceId)
+                .orElseThrow(() -> new IllegalArgumentException("Service not found with id: " + serviceId));
+
+        AttributeValueType type = AttributeValueType.fromParam(attributeDto.getValueType());
+        ServiceAttribute attribute = ServiceAttribute.builder()
+                .serviceId(service)
+                .attributeName(validName(attributeDto.getAttributeName()))
+                .attributeValue(validValue(type, attributeDto.getAttributeValue()))
+                .valueType(type.getParam())
+                .build();
+
+        ServiceAttribute saved = serviceAttributeRepository.save(attribute);
+        eventPublisher.publishEvent(new AttributesChangedEvent(serviceId));
+        return DtoMapper.toDto(saved);
+    }
+
+    @Transactional
+    public ServiceAttributeDto updateAttribute(Long serviceId, Long attributeId, ServiceAttributeDto attributeDto) {
+        ServiceAttribute attribute = serviceAttributeRepository.findByAttributeIdAndServiceId_ServiceId(attributeId, serviceId)
+                .orElseThrow(() -> new IllegalArgumentException("Attribute not found with id: " + attributeId));
+
+        AttributeValueType type = attributeDto.getValueType() != null
+                ? AttributeValueType.fromParam(attributeDto.getValueType())
+                : AttributeValueType.fromParam(attribute.getValueType());
+        String value = attributeDto.getAttributeValue() != null ? attributeDto.getAttributeValue() : attribute.getAttributeValue();
+
+        if (attributeDto.getAttributeName() != null) {
+            attribute.setAttributeName(validName(attributeDto.getAttributeName()));
+        }
+        attribute.setAttributeValue(validValue(type, value));
+        attribute.setValueType(type.getParam());
+
+        ServiceAttribute saved = serviceAttributeRepository.save(attribute);
+        eventPublisher.publishEvent(new AttributesChangedEvent(serviceId));
+        return DtoMapper.toDto(saved);
+    }
+
+    @Transactional
+    public void deleteAttribute(Long serviceId, Long attributeId) {
+        ServiceAttribute attribute = serviceAttributeRepository.findByAttributeIdAndServiceId_ServiceId(attributeId, serviceId)
+                .orElseThrow(() -> new IllegalArgumentException("Attribute not found with id: " + attributeId));
+        serviceAttributeRepository.delete(attribute);
+        eventPublisher.publishEvent(new AttributesChangedEvent(serviceId));
+    }
+
+    private String validName(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Attribute name is required");
+        }
+        String trimmed = name.trim();
+        if (trimmed.length() > MAX_NAME_LENGTH || !trimmed.matches("[^\\s=!<>();]+")) {
+            throw new IllegalArgumentException("Attribute name must be at most " + MAX_NAME_LENGTH
+                    + " characters without spaces, operators, parentheses or ';'");
+        }
+        return trimmed;
+    }
+
+    private String validValue(AttributeValueType type, String value) {
+        String canonical = type.canonicalize(value);
+        if (canonical.length() > MAX_VALUE_LENGTH) {
+            throw new IllegalArgumentException("Attribute value cannot exceed " + MAX_VALUE_LENGTH + " characters");
+        }
+        return canonical;
+    }
+}
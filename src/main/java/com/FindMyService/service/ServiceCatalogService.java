@@ -1,44 +1,163 @@
 package com.FindMyService.service;
 
+import com.FindMyService.config.CacheConfig;
+import com.FindMyService.geo.ZipCentroidDirectory;
+import com.FindMyService.geo.ZipCentroidDirectory.Coordinates;
+import com.FindMyService.index.AttributeFilter;
+import com.FindMyService.index.AttributeIndex;
+import com.FindMyService.index.CatalogChangedEvent;
+import com.FindMyService.index.CatalogEntry;
+import com.FindMyService.index.CatalogFacetIndex;
 import com.FindMyService.model.Provider;
 import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.dto.CursorPageDto;
+import com.FindMyService.model.dto.FacetCountsDto;
+import com.FindMyService.model.dto.ResourceVersion;
 import com.FindMyService.model.dto.ServiceCatalogDto;
+import com.FindMyService.model.dto.ServiceCatalogFilter;
+import com.FindMyService.model.enums.RatingScope;
+import com.FindMyService.model.enums.ServiceSort;
 import com.FindMyService.repository.ProviderRepository;
+import com.FindMyService.repository.RatingHistogramRepository;
 import com.FindMyService.repository.ServiceCatalogRepository;
+import com.FindMyService.utils.CursorCodec;
 import com.FindMyService.utils.DtoMapper;
+import com.FindMyService.utils.ETags;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class ServiceCatalogService {
 
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    // Attribute matches up to this size go to SQL as one IN list; larger ones are paged over in memory.
+    static final int MAX_IN_LIST = 1000;
+
     private final ServiceCatalogRepository serviceCatalogRepository;
     private final ProviderRepository providerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogFacetIndex catalogFacetIndex;
+    private final ZipCentroidDirectory zipCentroidDirectory;
+    private final AttributeIndex attributeIndex;
+    private final RatingHistogramRepository ratingHistogramRepository;
 
     public ServiceCatalogService(ServiceCatalogRepository serviceCatalogRepository,
-                                 ProviderRepository providerRepository) {
+                                 ProviderRepository providerRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 CatalogFacetIndex catalogFacetIndex,
+                                 ZipCentroidDirectory zipCentroidDirectory,
+                                 AttributeIndex attributeIndex,
+                                 RatingHistogramRepository ratingHistogramRepository) {
         this.serviceCatalogRepository = serviceCatalogRepository;
         this.providerRepository = providerRepository;
+        this.eventPublisher = eventPublisher;
+        this.catalogFacetIndex = catalogFacetIndex;
+        this.zipCentroidDirectory = zipCentroidDirectory;
+        this.attributeIndex = attributeIndex;
+        this.ratingHistogramRepository = ratingHistogramRepository;
     }
 
     public List<ServiceCatalog> getAllServices() {
         return serviceCatalogRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDto<ServiceCatalogDto> getServicesPage(ServiceCatalogFilter filter,
+                                                            ServiceSort sort,
+                                                            String cursor,
+                                                            Integer limit) {
+        ServiceSort effectiveSort = sort != null ? sort : ServiceSort.SERVICE_ID;
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        Comparable<?> lastSortValue = null;
+        Long lastServiceId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = CursorCodec.decode(cursor, 3);
+            if (!effectiveSort.getParam().equals(parts[0])) {
+                throw new IllegalArgumentException("Cursor does not match sort: " + effectiveSort.getParam());
+            }
+            lastSortValue = parseSortValue(effectiveSort, parts[1]);
+            lastServiceId = parseServiceId(parts[2]);
+        }
+
+        long[] matched = matchIndexed(filter);
+        if (matched != null && matched.length == 0) {
+            return CursorPageDto.<ServiceCatalogDto>builder()
+                    .items(List.of())
+                    .hasMore(false)
+                    .build();
+        }
+
+        List<ServiceCatalogDto> rows = matched == null || matched.length <= MAX_IN_LIST
+                ? serviceCatalogRepository.findDtoPage(filter, matched == null ? null : boxed(matched, 0, matched.length),
+                        effectiveSort, lastSortValue, lastServiceId, pageSize + 1)
+                : findMatchedPage(filter, matched, effectiveSort, lastSortValue, lastServiceId, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ServiceCatalogDto> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        return CursorPageDto.<ServiceCatalogDto>builder()
+                .items(page)
+                .nextCursor(hasMore ? encodeCursor(effectiveSort, page.getLast()) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    public FacetCountsDto getFacetCounts(ServiceCatalogFilter filter) {
+        return catalogFacetIndex.count(filter, matchAttributes(filter));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.SERVICES, key = "#serviceId", unless = "#result == null")
     public Optional<ServiceCatalog> getServiceById(Long serviceId) {
-        return serviceCatalogRepository.findById(serviceId);
+        return serviceCatalogRepository.findWithProviderByServiceId(serviceId);
+    }
+
+    public ResourceVersion getServiceVersion(Long serviceId) {
+        return serviceCatalogRepository.findVersionByServiceId(serviceId);
+    }
+
+    // Taken over the filter's columns only; location and attribute conditions are covered by getIndexedMatchVersion.
+    public ResourceVersion getServicesVersion(ServiceCatalogFilter filter) {
+        return serviceCatalogRepository.findVersion(filter);
     }
 
-    public List<ServiceCatalog> getServicesByProvider(Long providerId) {
+    // Attribute writes and provider city changes never touch services.updated_at, so list ETags carry a digest of the
+    // ids the indexes matched.
+    public String getIndexedMatchVersion(ServiceCatalogFilter filter) {
+        long[] matched = matchIndexed(filter);
+        if (matched == null) {
+            return "";
+        }
+        ByteBuffer ids = ByteBuffer.allocate(matched.length * Long.BYTES);
+        ids.asLongBuffer().put(matched);
+        return ETags.strong(ids.array());
+    }
+
+    public ResourceVersion getProviderServicesVersion(Long providerId) {
+        return serviceCatalogRepository.findVersionByProviderId(providerId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ServiceCatalogDto> getServicesByProvider(Long providerId) {
         if (providerId == null || providerId <= 0) {
             return List.of();
         }
         if (!providerRepository.existsById(providerId)) {
             return List.of();
         }
-        return serviceCatalogRepository.findByProviderId_ProviderId(providerId);
+        return serviceCatalogRepository.findDtosByProviderId(providerId);
     }
 
     @Transactional
@@ -47,11 +166,16 @@ public class ServiceCatalogService {
                 .orElseThrow(() -> new IllegalArgumentException("Provider from payload not found"));
 
         ServiceCatalog serviceEntity = DtoMapper.toEntity(serviceDto, provider);
+        if (serviceEntity.getLatitude() == null || serviceEntity.getLongitude() == null) {
+            resolveCoordinates(serviceEntity);
+        }
         ServiceCatalog saved = serviceCatalogRepository.save(serviceEntity);
+        eventPublisher.publishEvent(CatalogChangedEvent.upserted(CatalogEntry.of(saved)));
         return DtoMapper.toDto(saved);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SERVICES, key = "#serviceId")
     public ServiceCatalogDto updateService(Long serviceId, ServiceCatalogDto serviceDto) {
         ServiceCatalog existingService = serviceCatalogRepository.findById(serviceId)
                 .orElseThrow(() -> new IllegalArgumentException("Service not found with id: " + serviceId));
@@ -62,6 +186,7 @@ public class ServiceCatalogService {
             existingService.setProviderId(provider);
         }
 
+        String previousLocation = existingService.getLocation();
         updateIfNotNull(serviceDto.getServiceName(), existingService::setServiceName);
         updateIfNotNull(serviceDto.getDescription(), existingService::setDescription);
         updateIfNotNull(serviceDto.getCost(), existingService::setCost);
@@ -70,16 +195,161 @@ public class ServiceCatalogService {
         updateIfNotNull(serviceDto.getWarrantyPeriodMonths(), existingService::setWarrantyPeriodMonths);
         updateIfNotNull(serviceDto.getImageUrl(), existingService::setImageUrl);
         updateIfNotNull(serviceDto.getActive(), existingService::setActive);
+        updateIfNotNull(serviceDto.getLatitude(), existingService::setLatitude);
+        updateIfNotNull(serviceDto.getLongitude(), existingService::setLongitude);
+        if (!Objects.equals(previousLocation, existingService.getLocation())
+                && (serviceDto.getLatitude() == null || serviceDto.getLongitude() == null)) {
+            resolveCoordinates(existingService);
+        }
 
         ServiceCatalog updatedService = serviceCatalogRepository.save(existingService);
+        eventPublisher.publishEvent(CatalogChangedEvent.upserted(CatalogEntry.of(updatedService)));
         return DtoMapper.toDto(updatedService);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SERVICES, key = "#serviceId")
     public void deleteService(Long serviceId) {
         ServiceCatalog service = serviceCatalogRepository.findById(serviceId)
                 .orElseThrow(() -> new IllegalArgumentException("Service not found with id: " + serviceId));
+        ratingHistogramRepository.deleteByOwner(RatingScope.SERVICE.name(), serviceId);
         serviceCatalogRepository.delete(service);
+        eventPublisher.publishEvent(CatalogChangedEvent.removed(serviceId));
+    }
+
+    // Sorted ids of the services matching the attribute conditions, or null when the filter has none.
+    private long[] matchAttributes(ServiceCatalogFilter filter) {
+        if (filter == null || filter.getAttributes() == null || filter.getAttributes().isBlank()) {
+            return null;
+        }
+        return attributeIndex.match(AttributeFilter.parseAll(filter.getAttributes()));
+    }
+
+    // Adds the location condition to the attribute match. Location goes through the facet index so the listing uses
+    // the same provider-city fallback and case- and accent-insensitive comparison as the location facet counts.
+    private long[] matchIndexed(ServiceCatalogFilter filter) {
+        long[] matched = matchAttributes(filter);
+        if (filter == null || filter.getLocation() == null || filter.getLocation().isBlank()
+                || (matched != null && matched.length == 0)) {
+            return matched;
+        }
+        long[] located = catalogFacetIndex.matchLocation(filter.getLocation());
+        return matched == null ? located : intersect(matched, located);
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < left.length && j < right.length; ) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    // A broad index match is never sent as one huge IN list. In id order the sorted matches are walked as a
+    // keyset, one bounded IN list at a time; in the other orders rows are read in sort order and kept if matched.
+    private List<ServiceCatalogDto> findMatchedPage(ServiceCatalogFilter filter,
+                                                    long[] matched,
+                                                    ServiceSort sort,
+                                                    Comparable<?> lastSortValue,
+                                                    Long lastServiceId,
+                                                    int limit) {
+        List<ServiceCatalogDto> rows = new ArrayList<>(limit);
+        if (sort == ServiceSort.SERVICE_ID) {
+            int from = 0;
+            if (lastServiceId != null) {
+                int position = Arrays.binarySearch(matched, lastServiceId);
+                from = position >= 0 ? position + 1 : -position - 1;
+            }
+            while (rows.size() < limit && from < matched.length) {
+                int to = Math.min(from + MAX_IN_LIST, matched.length);
+                rows.addAll(serviceCatalogRepository.findDtoPage(filter, boxed(matched, from, to), sort, null, null,
+                        limit - rows.size()));
+                from = to;
+            }
+            return rows;
+        }
+        int batchSize = Math.max(limit, MAX_IN_LIST);
+        while (rows.size() < limit) {
+            List<ServiceCatalogDto> batch = serviceCatalogRepository.findDtoPage(filter, null, sort, lastSortValue,
+                    lastServiceId, batchSize);
+            for (ServiceCatalogDto row : batch) {
+                if (Arrays.binarySearch(matched, row.getServiceId()) >= 0) {
+                    rows.add(row);
+                    if (rows.size() == limit) {
+                        return rows;
+                    }
+                }
+            }
+            if (batch.size() < batchSize) {
+                return rows;
+            }
+            lastSortValue = sortValueOf(sort, batch.getLast());
+            lastServiceId = batch.getLast().getServiceId();
+        }
+        return rows;
+    }
+
+    private static List<Long> boxed(long[] serviceIds, int from, int to) {
+        return Arrays.stream(serviceIds, from, to).boxed().toList();
+    }
+
+    private static Comparable<?> sortValueOf(ServiceSort sort, ServiceCatalogDto row) {
+        return switch (sort) {
+            case SERVICE_ID -> row.getServiceId();
+            case UPDATED_AT -> row.getUpdatedAt();
+            case AVG_RATING -> row.getAvgRating();
+        };
+    }
+
+    // Service locations are free text; when one is a known postal code its centroid becomes the service position.
+    // Otherwise the position is cleared, so a moved service never keeps the coordinates of its old location.
+    private void resolveCoordinates(ServiceCatalog service) {
+        Optional<Coordinates> coordinates = zipCentroidDirectory.resolve(service.getLocation());
+        service.setLatitude(coordinates.map(Coordinates::latitude).orElse(null));
+        service.setLongitude(coordinates.map(Coordinates::longitude).orElse(null));
+    }
+
+    private String encodeCursor(ServiceSort sort, ServiceCatalogDto last) {
+        Object sortValue = switch (sort) {
+            case SERVICE_ID -> last.getServiceId();
+            case UPDATED_AT -> last.getUpdatedAt();
+            case AVG_RATING -> last.getAvgRating() != null ? last.getAvgRating().toPlainString() : null;
+        };
+        return CursorCodec.encode(sort.getParam(),
+                sortValue != null ? sortValue.toString() : "",
+                last.getServiceId().toString());
+    }
+
+    private Comparable<?> parseSortValue(ServiceSort sort, String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return switch (sort) {
+                case SERVICE_ID -> null;
+                case UPDATED_AT -> Instant.parse(value);
+                case AVG_RATING -> new BigDecimal(value);
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private Long parseServiceId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
 
     private <T> void updateIfNotNull(T value, java.util.function.Consumer<T> setter) {
@@ -0,0 +1,354 @@
+package com.FindMyService.service;
+
+import com.FindMyService.config.CacheConfig;
+import com.FindMyService.geo.GeoUtils;
+import com.FindMyService.geo.ZipCentroidDirectory;
+import com.FindMyService.index.CatalogChangedEvent;
+import com.FindMyService.index.CatalogEntry;
+import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.dto.ImportErrorDto;
+import com.FindMyService.model.dto.ImportReportDto;
+import com.FindMyService.model.dto.ServiceCatalogDto;
+import com.FindMyService.model.enums.DataFormat;
+import com.FindMyService.model.id.TimeOrderedIds;
+import com.FindMyService.repository.ProviderRepository;
+import com.FindMyService.repository.ServiceCatalogRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TimeZone;
+
+@Service
+public class ServiceImportService {
+
+    static final int BATCH_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final BigDecimal MAX_COST = new BigDecimal("100000");
+    private static final int MAX_IMAGE_URL_LENGTH = 255;
+
+    // Null columns keep the stored value on update, matching the partial-update semantics of PATCH. The exception is a
+    // row whose location has no coordinates (not a known postal code): if that moves the service, its old position is
+    // cleared, as updateService does. MySQL applies assignments left to right, so these still see the stored location.
+    private static final String UPSERT_SQL = "insert into services (service_id, provider_id, service_name, description, cost, "
+            + "location, latitude, longitude, availability, warranty_period_months, image_url, active, total_ratings, created_at, updated_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?) "
+            + "on duplicate key update description = coalesce(values(description), description), "
+            + "cost = coalesce(values(cost), cost), "
+            + "latitude = case when ? and (location is null or location <> ?) then null else coalesce(values(latitude), latitude) end, "
+            + "longitude = case when ? and (location is null or location <> ?) then null else coalesce(values(longitude), longitude) end, "
+            + "location = coalesce(values(location), location), "
+            + "availability = coalesce(values(availability), availability), "
+            + "warranty_period_months = coalesce(values(warranty_period_months), warranty_period_months), "
+            + "image_url = coalesce(values(image_url), image_url), "
+            + "active = coalesce(?, active), "
+            + "updated_at = values(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProviderRepository providerRepository;
+    private final ServiceCatalogRepository serviceCatalogRepository;
+    private final ZipCentroidDirectory zipCentroidDirectory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final TimeOrderedIds timeOrderedIds;
+
+    public ServiceImportService(JdbcTemplate jdbcTemplate,
+                                ProviderRepository providerRepository,
+                                ServiceCatalogRepository serviceCatalogRepository,
+                                ZipCentroidDirectory zipCentroidDirectory,
+                                ApplicationEventPublisher eventPublisher,
+                                CacheManager cacheManager,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                TimeOrderedIds timeOrderedIds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.providerRepository = providerRepository;
+        this.serviceCatalogRepository = serviceCatalogRepository;
+        this.zipCentroidDirectory = zipCentroidDirectory;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.timeOrderedIds = timeOrderedIds;
+        this.csvMapper = CsvMapper.builder()
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .build();
+    }
+
+    public ImportReportDto importServices(Long providerId, DataFormat format, InputStream body) throws IOException {
+        if (providerId == null || !providerRepository.existsById(providerId)) {
+            throw new IllegalArgumentException("Provider not found with id: " + providerId);
+        }
+
+        ImportRun run = new ImportRun(providerId);
+        if (format == DataFormat.NDJSON) {
+            readNdjson(body, run);
+        } else {
+            readCsv(body, run);
+        }
+        flush(run);
+        return run.toReport();
+    }
+
+    // Parsed line by line so a malformed line is reported once instead of desynchronising the rest of the stream.
+    private void readNdjson(InputStream body, ImportRun run) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(ServiceCatalogDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            ServiceCatalogDto row;
+            try {
+                row = reader.readValue(line);
+            } catch (JsonProcessingException e) {
+                run.received++;
+                run.reject(null, malformed(e));
+                continue;
+            }
+            accept(row, run);
+        }
+    }
+
+    private void readCsv(InputStream body, ImportRun run) throws IOException {
+        ObjectReader reader = csvMapper.readerFor(ServiceCatalogDto.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        try (MappingIterator<ServiceCatalogDto> rows = reader.readValues(body)) {
+            while (true) {
+                ServiceCatalogDto row;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    row = rows.nextValue();
+                } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+                    run.received++;
+                    run.reject(null, malformed(e));
+                    continue;
+                }
+                accept(row, run);
+            }
+        }
+    }
+
+    private void accept(ServiceCatalogDto row, ImportRun run) {
+        run.received++;
+        String error = validate(run.providerId, row, run.seenNames);
+        if (error != null) {
+            run.reject(row != null ? row.getServiceName() : null, error);
+            return;
+        }
+        run.batch.add(new PendingRow(run.received, row));
+        if (run.batch.size() == BATCH_SIZE) {
+            flush(run);
+        }
+    }
+
+    private static String malformed(Exception e) {
+        return "Malformed row: " + e.getMessage().lines().findFirst().orElse("");
+    }
+
+    private String validate(Long providerId, ServiceCatalogDto row, Set<String> seenNames) {
+        if (row == null) {
+            return "Empty row";
+        }
+        if (row.getProviderId() != null && !row.getProviderId().equals(providerId)) {
+            return "providerId does not match the import provider";
+        }
+        String name = row.getServiceName() != null ? row.getServiceName().trim() : null;
+        if (name == null || name.isEmpty()) {
+            return "serviceName is required";
+        }
+        if (name.length() > 160) {
+            return "serviceName must be at most 160 characters";
+        }
+        if (row.getCost() != null && (row.getCost().signum() <= 0 || row.getCost().compareTo(MAX_COST) >= 0)) {
+            return "cost must be greater than 0 and less than " + MAX_COST;
+        }
+        if (row.getLocation() != null && row.getLocation().length() > 120) {
+            return "location must be at most 120 characters";
+        }
+        if (row.getImageUrl() != null && row.getImageUrl().length() > MAX_IMAGE_URL_LENGTH) {
+            return "imageUrl must be at most " + MAX_IMAGE_URL_LENGTH + " characters";
+        }
+        if (row.getWarrantyPeriodMonths() != null && row.getWarrantyPeriodMonths() < 0) {
+            return "warrantyPeriodMonths must not be negative";
+        }
+        if ((row.getLatitude() != null || row.getLongitude() != null) && !GeoUtils.isValid(row.getLatitude(), row.getLongitude())) {
+            return "latitude and longitude must both be valid coordinates";
+        }
+        if (!seenNames.add(name.toLowerCase(Locale.ROOT))) {
+            return "Duplicate serviceName in import";
+        }
+        row.setServiceName(name);
+        if (row.getLatitude() == null && row.getLocation() != null) {
+            zipCentroidDirectory.resolve(row.getLocation()).ifPresent(coordinates -> {
+                row.setLatitude(coordinates.latitude());
+                row.setLongitude(coordinates.longitude());
+            });
+        }
+        return null;
+    }
+
+    private void flush(ImportRun run) {
+        if (run.batch.isEmpty()) {
+            return;
+        }
+        try {
+            write(run, run.batch);
+        } catch (DataIntegrityViolationException e) {
+            // One row the database refuses fails the whole JDBC batch; write it row by row so only that row is lost.
+            for (PendingRow row : run.batch) {
+                try {
+                    write(run, List.of(row));
+                } catch (DataIntegrityViolationException rowFailure) {
+                    run.reject(row.number(), row.dto().getServiceName(),
+                            "Rejected by the database: " + rowFailure.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        run.batch.clear();
+    }
+
+    private void write(ImportRun run, List<PendingRow> rows) {
+        Long providerId = run.providerId;
+        // Stored with microsecond precision: updated_at = now finds the batch again, created_at = now marks the inserts.
+        // Every write of a run needs its own instant, or a later write would find the earlier one's rows again.
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        if (run.lastWrite != null && !now.isAfter(run.lastWrite)) {
+            now = run.lastWrite.plus(1, ChronoUnit.MICROS);
+        }
+        run.lastWrite = now;
+        Instant writtenAt = now;
+        List<ServiceCatalog> saved = transactionTemplate.execute(status -> {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(),
+                    (ps, row) -> bind(ps, timeOrderedIds.nextId(), providerId, row.dto(), writtenAt));
+            List<ServiceCatalog> written = serviceCatalogRepository
+                    .findWithProviderByProviderId_ProviderIdAndUpdatedAt(providerId, writtenAt);
+            written.forEach(service -> eventPublisher.publishEvent(CatalogChangedEvent.upserted(CatalogEntry.of(service))));
+            return written;
+        });
+        Cache cache = cacheManager.getCache(CacheConfig.SERVICES);
+        for (ServiceCatalog service : saved) {
+            if (writtenAt.equals(service.getCreatedAt())) {
+                run.created++;
+            } else {
+                run.updated++;
+                if (cache != null) {
+                    cache.evict(service.getServiceId());
+                }
+            }
+        }
+    }
+
+    // The id is only used when the row is inserted; an update keeps the stored one.
+    private static void bind(PreparedStatement ps, long id, Long providerId, ServiceCatalogDto row, Instant now) throws SQLException {
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        Timestamp timestamp = Timestamp.from(now);
+        ps.setLong(1, id);
+        ps.setLong(2, providerId);
+        ps.setString(3, row.getServiceName());
+        ps.setString(4, row.getDescription());
+        ps.setBigDecimal(5, row.getCost());
+        ps.setString(6, row.getLocation());
+        ps.setObject(7, row.getLatitude(), Types.DOUBLE);
+        ps.setObject(8, row.getLongitude(), Types.DOUBLE);
+        ps.setString(9, row.getAvailability() != null ? row.getAvailability().name() : null);
+        ps.setObject(10, row.getWarrantyPeriodMonths(), Types.INTEGER);
+        ps.setString(11, row.getImageUrl());
+        ps.setBoolean(12, row.getActive() == null || row.getActive());
+        ps.setTimestamp(13, timestamp, utc);
+        ps.setTimestamp(14, timestamp, utc);
+        boolean unplaced = row.getLocation() != null && row.getLatitude() == null;
+        ps.setBoolean(15, unplaced);
+        ps.setString(16, row.getLocation());
+        ps.setBoolean(17, unplaced);
+        ps.setString(18, row.getLocation());
+        ps.setObject(19, row.getActive(), Types.BOOLEAN);
+    }
+
+    private static final class ImportRun {
+        private final Long providerId;
+        private final Set<String> seenNames = new HashSet<>();
+        private final List<PendingRow> batch = new ArrayList<>(BATCH_SIZE);
+        private Instant lastWrite;
+        private int received;
+        private int created;
+        private int updated;
+        private int failed;
+        private final List<ImportErrorDto> errors = new ArrayList<>();
+
+        private ImportRun(Long providerId) {
+            this.providerId = providerId;
+        }
+
+        private void reject(String serviceName, String message) {
+            reject(received, serviceName, message);
+        }
+
+        private void reject(int row, String serviceName, String message) {
+            failed++;
+            // Only the first errors are itemised so a badly broken file cannot grow the report without bound.
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(ImportErrorDto.builder()
+                        .row(row)
+                        .serviceName(serviceName)
+                        .message(message)
+                        .build());
+            }
+        }
+
+        private ImportReportDto toReport() {
+            return ImportReportDto.builder()
+                    .received(received)
+                    .created(created)
+                    .updated(updated)
+                    .failed(failed)
+                    .errors(errors)
+                    .build();
+        }
+    }
+
+    // number is the row's position in the import, as reported back in ImportErrorDto.row.
+    private record PendingRow(int number, ServiceCatalogDto dto) {}
+}
@@ -1,5 +1,6 @@
 package com.FindMyService.service;
 
+import com.FindMyService.config.CacheConfig;
 import com.FindMyService.model.User;
 import com.FindMyService.model.dto.UserDto;
 import com.FindMyService.repository.UserRepository;
@@ -7,6 +8,8 @@ import com.FindMyService.utils.DtoMapper;
 import com.FindMyService.utils.ResponseBuilder;
 import com.FindMyService.utils.OwnerCheck;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -31,6 +34,7 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#userId", unless = "#result == null")
     public Optional<User> getUserById(Long userId) {
         return userRepository.findById(userId);
     }
@@ -61,6 +65,7 @@ public class UserService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
     public UserDto updateUser(Long userId, UserDto userDto) {
         User existingUser = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
@@ -93,6 +98,7 @@ public class UserService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
     public void deleteUser(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
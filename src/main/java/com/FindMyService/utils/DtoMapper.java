@@ -1,11 +1,15 @@
 package com.FindMyService.utils;
 
+import com.FindMyService.model.Feedback;
 import com.FindMyService.model.Order;
+import com.FindMyService.model.ServiceAttribute;
 import com.FindMyService.model.ServiceCatalog;
 import com.FindMyService.model.User;
 import com.FindMyService.model.Provider;
+import com.FindMyService.model.dto.FeedbackDto;
 import com.FindMyService.model.dto.OrderDto;
 import com.FindMyService.model.dto.ProviderDto;
+import com.FindMyService.model.dto.ServiceAttributeDto;
 import com.FindMyService.model.dto.ServiceCatalogDto;
 import com.FindMyService.model.dto.UserDto;
 
@@ -43,7 +47,10 @@ public final class DtoMapper {
                 .state(provider.getState())
                 .city(provider.getCity())
                 .zipCode(provider.getZipCode())
+                .latitude(provider.getLatitude())
+                .longitude(provider.getLongitude())
                 .createdAt(provider.getCreatedAt())
+                .updatedAt(provider.getUpdatedAt())
                 .profilePictureUrl(provider.getProfilePictureUrl())
                 .imageUrls(provider.getImageUrls())
                 .avgRating(provider.getAvgRating())
@@ -61,6 +68,8 @@ public final class DtoMapper {
                 .description(service.getDescription())
                 .cost(service.getCost())
                 .location(service.getLocation())
+                .latitude(service.getLatitude())
+                .longitude(service.getLongitude())
                 .availability(service.getAvailability())
                 .warrantyPeriodMonths(service.getWarrantyPeriodMonths())
                 .imageUrl(service.getImageUrl())
@@ -79,6 +88,8 @@ public final class DtoMapper {
                 .description(dto.getDescription())
                 .cost(dto.getCost())
                 .location(dto.getLocation())
+                .latitude(dto.getLatitude())
+                .longitude(dto.getLongitude())
                 .availability(dto.getAvailability())
                 .warrantyPeriodMonths(dto.getWarrantyPeriodMonths())
                 .imageUrl(dto.getImageUrl())
@@ -86,6 +97,18 @@ public final class DtoMapper {
                 .build();
     }
 
+    public static ServiceAttributeDto toDto(ServiceAttribute attribute) {
+        if (attribute == null) return null;
+        return ServiceAttributeDto.builder()
+                .attributeId(attribute.getAttributeId())
+                .serviceId(attribute.getServiceId() != null ? attribute.getServiceId().getServiceId() : null)
+                .attributeName(attribute.getAttributeName())
+                .attributeValue(attribute.getAttributeValue())
+                .valueType(attribute.getValueType())
+                .createdAt(attribute.getCreatedAt())
+                .build();
+    }
+
     public static OrderDto toDto(Order order) {
         if (order == null) return null;
         return com.FindMyService.model.dto.OrderDto.builder()
@@ -100,6 +123,19 @@ public final class DtoMapper {
                 .scheduledDate(order.getScheduledDate())
                 .createdAt(order.getCreatedAt())
                 .updatedAt(order.getUpdatedAt())
+                .version(order.getVersion())
+                .build();
+    }
+
+    public static FeedbackDto toDto(Feedback feedback) {
+        if (feedback == null) return null;
+        return FeedbackDto.builder()
+                .feedbackId(feedback.getFeedbackId())
+                .serviceId(feedback.getServiceId() != null ? feedback.getServiceId().getServiceId() : null)
+                .userId(feedback.getUserId() != null ? feedback.getUserId().getUserId() : null)
+                .comment(feedback.getComment())
+                .rating(feedback.getRating())
+                .createdAt(feedback.getCreatedAt())
                 .build();
     }
 }
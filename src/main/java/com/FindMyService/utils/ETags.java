@@ -0,0 +1,28 @@
+package com.FindMyService.utils;
+
+import com.FindMyService.model.dto.ResourceVersion;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+public final class ETags {
+
+    private ETags() {}
+
+    public static String strong(Object... parts) {
+        StringBuilder key = new StringBuilder();
+        for (Object part : parts) {
+            key.append(part instanceof Instant instant ? instant.getEpochSecond() + "." + instant.getNano() : part).append('|');
+        }
+        return strong(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String strong(byte[] content) {
+        return "\"" + DigestUtils.md5DigestAsHex(content) + "\"";
+    }
+
+    public static String of(String resource, Object id, ResourceVersion version) {
+        return strong(resource, id, version.count(), version.lastModified(), version.relatedLastModified());
+    }
+}
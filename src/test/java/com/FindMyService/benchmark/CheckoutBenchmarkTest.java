@@ -0,0 +1,107 @@
+package com.FindMyService.benchmark;
+
+import com.FindMyService.model.Provider;
+import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.User;
+import com.FindMyService.model.dto.OrderDto;
+import com.FindMyService.model.enums.Role;
+import com.FindMyService.repository.ProviderRepository;
+import com.FindMyService.repository.ServiceCatalogRepository;
+import com.FindMyService.repository.UserRepository;
+import com.FindMyService.service.OrderService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Checkout latency by cart size, per-item inserts versus the set-based batch. Excluded from the default build;
+// run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+class CheckoutBenchmarkTest {
+
+    private static final int[] CART_SIZES = {1, 5, 20, 50, 100};
+    private static final int WARMUP_ROUNDS = 100;
+    private static final int MEASURED_ROUNDS = 100;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private ServiceCatalogRepository serviceCatalogRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void checkoutLatencyByCartSize() {
+        User user = new User();
+        user.setName("Benchmark");
+        user.setEmail("checkout-benchmark@example.com");
+        user.setPassword("x");
+        user.setPhone("0");
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+        Provider provider = providerRepository.save(Provider.builder()
+                .providerName("Benchmark").email("checkout-provider@example.com").password("x").phone("0")
+                .imageUrls(List.of("x")).build());
+        List<ServiceCatalog> services = new ArrayList<>();
+        for (int i = 0; i < CART_SIZES[CART_SIZES.length - 1]; i++) {
+            services.add(serviceCatalogRepository.save(ServiceCatalog.builder()
+                    .providerId(provider).serviceName("Benchmark " + i).cost(new BigDecimal("10")).active(true).build()));
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        System.out.printf("%n%-10s %16s %16s %16s %16s%n", "cart size", "per-item p50 ms", "per-item p95 ms", "batch p50 ms", "batch p95 ms");
+        for (int size : CART_SIZES) {
+            List<OrderDto> cart = cart(user, provider, services.subList(0, size));
+            double[] perItem = measure(items -> transaction.executeWithoutResult(status -> items.forEach(orderService::createOrder)), cart);
+            double[] batch = measure(orderService::createOrdersBatch, cart);
+            System.out.printf("%-10d %16.3f %16.3f %16.3f %16.3f%n", size, perItem[0], perItem[1], batch[0], batch[1]);
+        }
+
+        assertThat(orderService.createOrdersBatch(cart(user, provider, services))).allMatch(order -> order.getOrderId() != null);
+    }
+
+    private static double[] measure(Consumer<List<OrderDto>> checkout, List<OrderDto> cart) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            checkout.accept(cart);
+        }
+        double[] millis = new double[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long started = System.nanoTime();
+            checkout.accept(cart);
+            millis[i] = (System.nanoTime() - started) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+        return new double[]{millis[MEASURED_ROUNDS / 2], millis[(int) (MEASURED_ROUNDS * 0.95)]};
+    }
+
+    private static List<OrderDto> cart(User user, Provider provider, List<ServiceCatalog> services) {
+        return services.stream()
+                .map(service -> OrderDto.builder()
+                        .userId(user.getUserId())
+                        .providerId(provider.getProviderId())
+                        .serviceId(service.getServiceId())
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,98 @@
+package com.FindMyService.benchmark;
+
+import com.FindMyService.model.Provider;
+import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.User;
+import com.FindMyService.model.dto.FeedbackDto;
+import com.FindMyService.model.enums.Role;
+import com.FindMyService.repository.ProviderRepository;
+import com.FindMyService.repository.ServiceCatalogRepository;
+import com.FindMyService.repository.UserRepository;
+import com.FindMyService.service.FeedbackService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Concurrent reviews of one service. Against MySQL this is the case where inserting the feedback row before the
+// aggregate UPDATEs deadlocks (shared foreign key lock on the service row, then two upgrades). Only meaningful on
+// InnoDB; run with: mvn test -Pbenchmark -Dtest=FeedbackConcurrencyTest -Dspring.datasource.url=jdbc:mysql://...
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+class FeedbackConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int REVIEWS_PER_THREAD = 25;
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private ServiceCatalogRepository serviceCatalogRepository;
+
+    @Test
+    void concurrentReviewsOfOneServiceAreAllCounted() throws Exception {
+        User user = new User();
+        user.setName("Reviewer");
+        user.setEmail("concurrent-reviewer@example.com");
+        user.setPassword("x");
+        user.setPhone("0");
+        user.setRole(Role.USER);
+        Long userId = userRepository.save(user).getUserId();
+        Provider provider = providerRepository.save(Provider.builder()
+                .providerName("Reviewed").email("concurrent-provider@example.com").password("x").phone("0")
+                .imageUrls(List.of("x")).build());
+        Long serviceId = serviceCatalogRepository.save(ServiceCatalog.builder()
+                .providerId(provider).serviceName("Reviewed").cost(new BigDecimal("10")).active(true).build())
+                .getServiceId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<HttpStatus>>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                List<HttpStatus> statuses = new ArrayList<>();
+                for (int i = 0; i < REVIEWS_PER_THREAD; i++) {
+                    statuses.add(HttpStatus.valueOf(feedbackService.createFeedback(FeedbackDto.builder()
+                            .serviceId(serviceId)
+                            .userId(userId)
+                            .rating(new BigDecimal("4.0"))
+                            .build()).getStatusCode().value()));
+                }
+                return statuses;
+            }));
+        }
+        start.countDown();
+        List<HttpStatus> statuses = new ArrayList<>();
+        for (Future<List<HttpStatus>> result : results) {
+            statuses.addAll(result.get());
+        }
+        executor.shutdown();
+
+        assertThat(statuses).hasSize(THREADS * REVIEWS_PER_THREAD).containsOnly(HttpStatus.CREATED);
+        assertThat(serviceCatalogRepository.findById(serviceId).orElseThrow().getTotalRatings())
+                .isEqualTo(THREADS * REVIEWS_PER_THREAD);
+        assertThat(providerRepository.findById(provider.getProviderId()).orElseThrow().getTotalRatings())
+                .isEqualTo(THREADS * REVIEWS_PER_THREAD);
+    }
+}
@@ -0,0 +1,102 @@
+package com.FindMyService.benchmark;
+
+import com.FindMyService.model.Provider;
+import com.FindMyService.model.ServiceAttribute;
+import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.repository.ProviderRepository;
+import com.FindMyService.repository.ServiceAttributeRepository;
+import com.FindMyService.repository.ServiceCatalogRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Insert throughput with one statement per row (what IDENTITY keys force, since each insert must run to learn its id)
+// versus ids assigned up front and inserts flushed in JDBC batches. Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+class IdInsertBenchmarkTest {
+
+    private static final int ROWS = 1000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private ServiceCatalogRepository serviceCatalogRepository;
+
+    @Autowired
+    private ServiceAttributeRepository serviceAttributeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void insertThroughput() {
+        Provider provider = providerRepository.save(Provider.builder()
+                .providerName("Benchmark").email("id-provider@example.com").password("x").phone("0")
+                .imageUrls(List.of("x")).build());
+        ServiceCatalog service = serviceCatalogRepository.save(ServiceCatalog.builder()
+                .providerId(provider).serviceName("Benchmark").cost(new BigDecimal("10")).active(true).build());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        double rowAtATime = measure(() -> transaction.executeWithoutResult(status -> {
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist(attribute(service, i));
+                entityManager.flush();
+            }
+        }));
+        double batched = measure(() -> transaction.executeWithoutResult(status -> {
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist(attribute(service, i));
+            }
+            entityManager.flush();
+        }));
+
+        System.out.printf("%n%-22s %14s%n", "inserts of " + ROWS, "p50 rows/s");
+        System.out.printf("%-22s %14.0f%n", "row at a time", rowAtATime);
+        System.out.printf("%-22s %14.0f%n", "batched", batched);
+
+        assertThat(serviceAttributeRepository.count())
+                .isEqualTo(2L * (WARMUP_ROUNDS + MEASURED_ROUNDS) * ROWS);
+    }
+
+    private static double measure(Runnable round) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round.run();
+        }
+        double[] rowsPerSecond = new double[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long started = System.nanoTime();
+            round.run();
+            rowsPerSecond[i] = ROWS / ((System.nanoTime() - started) / 1_000_000_000.0);
+        }
+        Arrays.sort(rowsPerSecond);
+        return rowsPerSecond[MEASURED_ROUNDS / 2];
+    }
+
+    private static ServiceAttribute attribute(ServiceCatalog service, int i) {
+        return ServiceAttribute.builder()
+                .serviceId(service)
+                .attributeName("attribute-" + i)
+                .attributeValue("value")
+                .valueType("string")
+                .build();
+    }
+}
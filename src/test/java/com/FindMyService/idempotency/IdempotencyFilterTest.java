@@ -0,0 +1,169 @@
+package com.FindMyService.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest {
+
+    private final IdempotencyFilter filter =
+            new IdempotencyFilter(new IdempotencyStore(Duration.ofHours(1), DataSize.ofMegabytes(1)), new ObjectMapper());
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private final FilterChain createOrders = (request, response) -> {
+        executions.incrementAndGet();
+        String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        HttpServletResponse http = (HttpServletResponse) response;
+        http.setStatus(201);
+        http.setContentType("application/json");
+        http.getWriter().write("{\"created\":" + executions.get() + ",\"echo\":" + body + "}");
+    };
+
+    @Test
+    void retryWithSameKeyReplaysStoredResponseWithoutExecuting() throws Exception {
+        // Given
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(checkout("key-1", "[1]"), first, createOrders);
+
+        // When
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(checkout("key-1", "[1]"), retry, createOrders);
+
+        // Then
+        assertThat(executions).hasValue(1);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getContentAsString()).isEqualTo("{\"created\":1,\"echo\":[1]}");
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void reusedKeyWithDifferentBodyIsRejected() throws Exception {
+        // Given
+        filter.doFilter(checkout("key-1", "[1]"), new MockHttpServletResponse(), createOrders);
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(checkout("key-1", "[2]"), response, createOrders);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void retryWhileFirstRequestIsRunningGetsConflict() throws Exception {
+        // Given
+        MockHttpServletResponse concurrent = new MockHttpServletResponse();
+        FilterChain retryDuringExecution = (request, response) -> {
+            filter.doFilter(checkout("key-1", "[1]"), concurrent, createOrders);
+            createOrders.doFilter(request, response);
+        };
+
+        // When
+        filter.doFilter(checkout("key-1", "[1]"), new MockHttpServletResponse(), retryDuringExecution);
+
+        // Then
+        assertThat(concurrent.getStatus()).isEqualTo(409);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void serverErrorsAreNotStored() throws Exception {
+        // Given
+        FilterChain failing = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        };
+        filter.doFilter(checkout("key-1", "[1]"), new MockHttpServletResponse(), failing);
+
+        // When
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(checkout("key-1", "[1]"), retry, createOrders);
+
+        // Then
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void requestsWithoutKeyAreNotDeduplicated() throws Exception {
+        // When
+        filter.doFilter(checkout(null, "[1]"), new MockHttpServletResponse(), createOrders);
+        filter.doFilter(checkout(null, "[1]"), new MockHttpServletResponse(), createOrders);
+
+        // Then
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void cachedBodyCanBeReadAsynchronouslyAndAsText() throws Exception {
+        // Given
+        MockHttpServletRequest request = checkout("key-1", "[]");
+        request.setCharacterEncoding("ISO-8859-1");
+        request.setContent("[\"café\"]".getBytes(StandardCharsets.ISO_8859_1));
+        ByteArrayOutputStream async = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        FilterChain readers = (wrapped, response) -> {
+            ServletInputStream in = wrapped.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    events.add("data");
+                    while (in.isReady() && !in.isFinished()) {
+                        async.write(in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    events.add("done");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    events.add("error");
+                }
+            });
+            text.append(wrapped.getReader().readLine());
+            ((HttpServletResponse) response).setStatus(201);
+        };
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), readers);
+
+        // Then
+        assertThat(events).containsExactly("data", "done");
+        assertThat(async.toByteArray()).isEqualTo("[\"café\"]".getBytes(StandardCharsets.ISO_8859_1));
+        assertThat(text).hasToString("[\"café\"]");
+    }
+
+    private static MockHttpServletRequest checkout(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/orders/checkout");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.KEY_HEADER, key);
+        }
+        return request;
+    }
+}
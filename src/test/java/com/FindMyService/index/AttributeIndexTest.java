@@ -0,0 +1,140 @@
+package com.FindMyService.index;
+
+import com.FindMyService.model.ServiceAttribute;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AttributeIndexTest {
+
+    private AttributeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AttributeIndex();
+        index.replace(1L, List.of(
+                attribute("voltage", "230", "integer"),
+                attribute("brand", "Bosch", "enum"),
+                attribute("certified", "true", "boolean")));
+        index.replace(2L, List.of(
+                attribute("voltage", "110", "integer"),
+                attribute("brand", "Makita", "enum"),
+                attribute("certified", "false", "boolean")));
+        index.replace(3L, List.of(
+                attribute("voltage", "220", "integer"),
+                attribute("brand", "DeWalt", "enum"),
+                attribute("serviced", "2024-03-01", "date")));
+    }
+
+    @Test
+    void matchEvaluatesNumericRanges() {
+        // When/Then
+        assertThat(index.match(AttributeFilter.parseAll("voltage>=220"))).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.match(AttributeFilter.parseAll("voltage<220"))).containsExactly(2L);
+        assertThat(index.match(AttributeFilter.parseAll("voltage=220.0"))).containsExactly(3L);
+        assertThat(index.match(AttributeFilter.parseAll("serviced>2024-01-31"))).containsExactly(3L);
+    }
+
+    @Test
+    void matchCombinesFiltersWithAnd() {
+        // When/Then
+        assertThat(index.match(AttributeFilter.parseAll("certified=true;voltage>=220"))).containsExactly(1L);
+        assertThat(index.match(AttributeFilter.parseAll("brand in (makita, 'DeWalt')"))).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(index.match(AttributeFilter.parseAll("brand!=bosch"))).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(index.match(AttributeFilter.parseAll("colour=red"))).isEmpty();
+    }
+
+    @Test
+    void replaceAndRemoveUpdateRanges() {
+        // Given
+        assertThat(index.match(AttributeFilter.parseAll("voltage>200"))).hasSize(2);
+
+        // When
+        index.replace(1L, List.of(attribute("voltage", "12", "integer")));
+        index.remove(3L);
+
+        // Then
+        assertThat(index.match(AttributeFilter.parseAll("voltage>200"))).isEmpty();
+        assertThat(index.match(AttributeFilter.parseAll("voltage<=110"))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.match(AttributeFilter.parseAll("brand=bosch"))).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void replaceHandlesMultiValuedAttributes() {
+        // Given
+        index.replace(4L, List.of(
+                attribute("material", "oak", "enum"),
+                attribute("material", "pine", "enum"),
+                attribute("width", "40", "integer"),
+                attribute("width", "80", "integer")));
+
+        // When
+        index.replace(4L, List.of(attribute("material", "oak", "enum"), attribute("width", "60", "integer")));
+
+        // Then
+        assertThat(index.match(AttributeFilter.parseAll("material=oak"))).containsExactly(4L);
+        assertThat(index.match(AttributeFilter.parseAll("material=pine"))).isEmpty();
+        assertThat(index.match(AttributeFilter.parseAll("width>50;width<70"))).containsExactly(4L);
+        assertThat(index.match(AttributeFilter.parseAll("width>70"))).isEmpty();
+
+        index.remove(4L);
+        assertThat(index.match(AttributeFilter.parseAll("material=oak"))).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void rangesStayCorrectAcrossIncrementalRebuilds() {
+        // Given
+        Random random = new Random(42);
+        Map<Long, Integer> expected = new HashMap<>();
+
+        for (int round = 0; round < 50; round++) {
+            // When
+            for (int i = 0; i < 20; i++) {
+                long serviceId = 100 + random.nextInt(200);
+                if (random.nextInt(4) == 0) {
+                    index.remove(serviceId);
+                    expected.remove(serviceId);
+                } else {
+                    int score = random.nextInt(1000);
+                    index.replace(serviceId, List.of(attribute("score", Integer.toString(score), "integer")));
+                    expected.put(serviceId, score);
+                }
+            }
+            int bound = random.nextInt(1000);
+
+            // Then
+            assertThat(index.match(AttributeFilter.parseAll("score>=" + bound)))
+                    .containsExactly(expected.entrySet().stream()
+                            .filter(entry -> entry.getValue() >= bound)
+                            .mapToLong(Map.Entry::getKey)
+                            .sorted()
+                            .toArray());
+        }
+    }
+
+    @Test
+    void invalidFiltersAreRejected() {
+        // When/Then
+        assertThatThrownBy(() -> AttributeFilter.parseAll("voltage"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.match(AttributeFilter.parseAll("brand>bosch")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ServiceAttribute attribute(String name, String value, String type) {
+        return ServiceAttribute.builder()
+                .attributeName(name)
+                .attributeValue(value)
+                .valueType(type)
+                .build();
+    }
+}
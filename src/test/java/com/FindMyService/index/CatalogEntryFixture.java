@@ -0,0 +1,101 @@
+package com.FindMyService.index;
+
+import com.FindMyService.model.enums.Availability;
+
+import java.math.BigDecimal;
+
+// Builds CatalogEntry values for index tests by field name; anything a test does not set keeps a neutral default.
+public final class CatalogEntryFixture {
+
+    private final Long serviceId;
+    private Long providerId = 10L;
+    private String providerName = "Acme";
+    private String providerCity;
+    private String serviceName;
+    private String description;
+    private String location;
+    private BigDecimal cost;
+    private Availability availability;
+    private boolean active = true;
+    private BigDecimal avgRating;
+    private int totalRatings;
+    private Double latitude;
+    private Double longitude;
+    private BigDecimal providerAvgRating;
+    private int providerTotalRatings;
+
+    private CatalogEntryFixture(Long serviceId) {
+        this.serviceId = serviceId;
+        this.serviceName = "Service " + serviceId;
+    }
+
+    public static CatalogEntryFixture service(Long serviceId) {
+        return new CatalogEntryFixture(serviceId);
+    }
+
+    public CatalogEntryFixture provider(Long providerId, String providerName) {
+        this.providerId = providerId;
+        this.providerName = providerName;
+        return this;
+    }
+
+    public CatalogEntryFixture providerCity(String providerCity) {
+        this.providerCity = providerCity;
+        return this;
+    }
+
+    public CatalogEntryFixture name(String serviceName) {
+        this.serviceName = serviceName;
+        return this;
+    }
+
+    public CatalogEntryFixture description(String description) {
+        this.description = description;
+        return this;
+    }
+
+    public CatalogEntryFixture location(String location) {
+        this.location = location;
+        return this;
+    }
+
+    public CatalogEntryFixture cost(String cost) {
+        this.cost = new BigDecimal(cost);
+        return this;
+    }
+
+    public CatalogEntryFixture availability(Availability availability) {
+        this.availability = availability;
+        return this;
+    }
+
+    public CatalogEntryFixture active(boolean active) {
+        this.active = active;
+        return this;
+    }
+
+    // rating may be null for a service nobody has rated yet.
+    public CatalogEntryFixture rating(String rating, int totalRatings) {
+        this.avgRating = rating != null ? new BigDecimal(rating) : null;
+        this.totalRatings = totalRatings;
+        return this;
+    }
+
+    public CatalogEntryFixture providerRating(String rating, int totalRatings) {
+        this.providerAvgRating = rating != null ? new BigDecimal(rating) : null;
+        this.providerTotalRatings = totalRatings;
+        return this;
+    }
+
+    public CatalogEntryFixture coordinates(Double latitude, Double longitude) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        return this;
+    }
+
+    public CatalogEntry build() {
+        return new CatalogEntry(serviceId, providerId, providerName, providerCity, serviceName, description, location,
+                cost, availability, null, active, avgRating, totalRatings, null, latitude, longitude,
+                providerAvgRating, providerTotalRatings);
+    }
+}
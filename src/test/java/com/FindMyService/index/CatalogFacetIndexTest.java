@@ -0,0 +1,114 @@
+package com.FindMyService.index;
+
+import com.FindMyService.model.dto.FacetCountsDto;
+import com.FindMyService.model.dto.ServiceCatalogFilter;
+import com.FindMyService.model.enums.Availability;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static com.FindMyService.index.CatalogEntryFixture.service;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogFacetIndexTest {
+
+    private CatalogFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CatalogFacetIndex();
+        index.upsert(service(1L).location("Kolkata").cost("300")
+                .availability(Availability.AVAILABLE).rating("4.8", 12).build());
+        index.upsert(service(2L).location("Kolkata").cost("750")
+                .availability(Availability.UNAVAILABLE).rating("3.5", 5).build());
+        index.upsert(service(3L).location("Mumbai").cost("1200")
+                .availability(Availability.AVAILABLE).build());
+        index.upsert(service(4L).location("mumbai").cost("6000")
+                .availability(Availability.AVAILABLE).rating("4.2", 2).active(false).build());
+    }
+
+    @Test
+    void countWithoutFiltersCountsEveryService() {
+        // When
+        FacetCountsDto facets = index.count(null, null);
+
+        // Then
+        assertThat(facets.getTotal()).isEqualTo(4);
+        assertThat(facets.getCounts().get(CatalogFacetIndex.AVAILABILITY))
+                .containsEntry("AVAILABLE", 3)
+                .containsEntry("UNAVAILABLE", 1);
+        assertThat(facets.getCounts().get(CatalogFacetIndex.LOCATION))
+                .containsEntry("Kolkata", 2)
+                .containsEntry("Mumbai", 2);
+        assertThat(facets.getCounts().get(CatalogFacetIndex.RATING))
+                .containsEntry("4.5+", 1)
+                .containsEntry("unrated", 1);
+    }
+
+    @Test
+    void countExcludesOwnFilterFromFacet() {
+        // Given
+        ServiceCatalogFilter filter = ServiceCatalogFilter.builder()
+                .active(true)
+                .availability(Availability.AVAILABLE)
+                .build();
+
+        // When
+        FacetCountsDto facets = index.count(filter, null);
+
+        // Then
+        assertThat(facets.getTotal()).isEqualTo(2);
+        assertThat(facets.getCounts().get(CatalogFacetIndex.AVAILABILITY))
+                .containsEntry("AVAILABLE", 2)
+                .containsEntry("UNAVAILABLE", 1);
+        assertThat(facets.getCounts().get(CatalogFacetIndex.LOCATION))
+                .containsEntry("Kolkata", 1)
+                .containsEntry("Mumbai", 1);
+    }
+
+    @Test
+    void countAppliesExactCostRangeInsideBuckets() {
+        // Given
+        ServiceCatalogFilter filter = ServiceCatalogFilter.builder()
+                .minCost(new BigDecimal("400"))
+                .maxCost(new BigDecimal("1200"))
+                .build();
+
+        // When
+        FacetCountsDto facets = index.count(filter, null);
+
+        // Then
+        assertThat(facets.getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void upsertMovesServiceBetweenBucketsAndRemoveDropsIt() {
+        // When
+        index.upsert(service(1L).location("Delhi").cost("300")
+                .availability(Availability.UNAVAILABLE).rating("4.8", 12).build());
+        index.remove(2L);
+
+        // Then
+        FacetCountsDto facets = index.count(null, null);
+        assertThat(facets.getTotal()).isEqualTo(3);
+        assertThat(facets.getCounts().get(CatalogFacetIndex.LOCATION))
+                .containsEntry("Delhi", 1)
+                .doesNotContainKey("Kolkata");
+    }
+
+    @Test
+    void matchLocationUsesFacetLocationSemantics() {
+        // Given
+        index.upsert(service(5L).providerCity("Mumbaï").build());
+        index.upsert(service(6L).location(" ").providerCity("Pune").build());
+
+        // When
+        long[] mumbai = index.matchLocation(" MUMBAI ");
+
+        // Then
+        assertThat(mumbai).containsExactly(3L, 4L, 5L);
+        assertThat(index.matchLocation("pune")).containsExactly(6L);
+        assertThat(index.matchLocation("Chennai")).isEmpty();
+    }
+}
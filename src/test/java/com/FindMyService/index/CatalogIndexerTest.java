@@ -0,0 +1,53 @@
+package com.FindMyService.index;
+
+import com.FindMyService.model.ServiceAttribute;
+import com.FindMyService.model.dto.SearchHitDto;
+import com.FindMyService.repository.ServiceCatalogRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static com.FindMyService.index.CatalogEntryFixture.service;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogIndexerTest {
+
+    @Mock
+    private ServiceCatalogRepository serviceCatalogRepository;
+
+    @Test
+    void deletedProviderTakesItsServicesOutOfEveryIndex() {
+        // Given
+        ServiceSearchIndex search = new ServiceSearchIndex();
+        AttributeIndex attributes = new AttributeIndex();
+        CatalogIndexer indexer = new CatalogIndexer(List.of(search, attributes), serviceCatalogRepository);
+        indexer.onCatalogChanged(CatalogChangedEvent.upserted(service(1L).provider(10L, "Acme").name("Plumbing").build()));
+        indexer.onCatalogChanged(CatalogChangedEvent.upserted(service(2L).provider(10L, "Acme").name("Plumbing").build()));
+        indexer.onCatalogChanged(CatalogChangedEvent.upserted(service(3L).provider(20L, "Acme").name("Plumbing").build()));
+        for (long serviceId = 1; serviceId <= 3; serviceId++) {
+            attributes.replace(serviceId, List.of(voltage(220)));
+        }
+
+        // When
+        indexer.onProviderChanged(ProviderChangedEvent.deleted(10L));
+
+        // Then
+        assertThat(search.search("plumbing", 10)).extracting(SearchHitDto::getServiceId).containsExactly(3L);
+        assertThat(search.size()).isEqualTo(1);
+        assertThat(attributes.match(AttributeFilter.parseAll("voltage>=220"))).containsExactly(3L);
+        verifyNoInteractions(serviceCatalogRepository);
+    }
+
+    private static ServiceAttribute voltage(int volts) {
+        return ServiceAttribute.builder()
+                .attributeName("voltage")
+                .attributeValue(Integer.toString(volts))
+                .valueType("integer")
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.FindMyService.index;
+
+import com.FindMyService.model.dto.NearbyServiceDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.FindMyService.index.CatalogEntryFixture.service;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoIndexTest {
+
+    private GeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GeoIndex();
+        index.upsert(service(1L).coordinates(22.5726, 88.3639).build());   // Kolkata
+        index.upsert(service(2L).coordinates(22.5958, 88.2636).build());   // Howrah, ~10 km away
+        index.upsert(service(3L).coordinates(19.0760, 72.8777).build());   // Mumbai
+        index.upsert(service(4L).coordinates(22.5730, 88.3640).active(false).build());  // inactive, never returned
+        index.upsert(service(5L).coordinates(null, null).build());         // no coordinates, never returned
+    }
+
+    @Test
+    void withinRadiusReturnsOnlyCloseServicesSortedByDistance() {
+        // When
+        List<NearbyServiceDto> nearby = index.withinRadius(22.5700, 88.3600, 20, 10);
+
+        // Then
+        assertThat(nearby).extracting(NearbyServiceDto::getServiceId).containsExactly(1L, 2L);
+        assertThat(nearby.get(0).getDistanceKm()).isLessThan(nearby.get(1).getDistanceKm());
+    }
+
+    @Test
+    void nearestExpandsUntilEnoughServicesAreFound() {
+        // When
+        List<NearbyServiceDto> nearest = index.nearest(22.5700, 88.3600, 3);
+
+        // Then
+        assertThat(nearest).extracting(NearbyServiceDto::getServiceId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void nearestReachesDistantServicesWithinMaximumRadius() {
+        // When
+        List<NearbyServiceDto> nearest = index.nearest(19.2, 72.9, 1);
+
+        // Then
+        assertThat(nearest).extracting(NearbyServiceDto::getServiceId).containsExactly(3L);
+        assertThat(nearest.get(0).getDistanceKm()).isBetween(10.0, 20.0);
+    }
+
+    @Test
+    void upsertMovesServiceAndRemoveDropsIt() {
+        // When
+        index.upsert(service(3L).coordinates(22.5800, 88.3700).build());
+        index.remove(2L);
+
+        // Then
+        assertThat(index.withinRadius(22.5700, 88.3600, 20, 10))
+                .extracting(NearbyServiceDto::getServiceId)
+                .containsExactly(1L, 3L);
+    }
+
+    @Test
+    void withinRadiusHandlesAntimeridian() {
+        // Given
+        index.upsert(service(6L).coordinates(-17.0, 179.99).build());
+        index.upsert(service(7L).coordinates(-17.0, -179.99).build());
+
+        // When
+        List<NearbyServiceDto> nearby = index.withinRadius(-17.0, 180.0, 10, 10);
+
+        // Then
+        assertThat(nearby).extracting(NearbyServiceDto::getServiceId).containsExactlyInAnyOrder(6L, 7L);
+    }
+
+}
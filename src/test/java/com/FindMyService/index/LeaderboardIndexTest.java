@@ -0,0 +1,73 @@
+package com.FindMyService.index;
+
+import com.FindMyService.model.dto.LeaderboardEntryDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.FindMyService.index.CatalogEntryFixture.service;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardIndexTest {
+
+    private LeaderboardIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new LeaderboardIndex(3.5, 10);
+        index.upsert(service(1L).provider(10L, "Provider 10").providerCity("Kolkata")
+                .rating("5.0", 1).providerRating("5.0", 1).build());
+        index.upsert(service(2L).provider(10L, "Provider 10").providerCity("Kolkata")
+                .rating("4.6", 80).providerRating("4.6", 80).build());
+        index.upsert(service(3L).provider(20L, "Provider 20").providerCity("Mumbai")
+                .rating("4.2", 40).providerRating("4.2", 40).build());
+        index.upsert(service(4L).provider(20L, "Provider 20").providerCity("Mumbai")
+                .rating("4.9", 200).providerRating("4.9", 200).active(false).build());
+        index.upsert(service(5L).provider(30L, "Provider 30").providerCity("Pune").build());
+    }
+
+    @Test
+    void topServicesPreferWellRatedOverFewPerfectRatings() {
+        // When
+        List<LeaderboardEntryDto> top = index.topServices(null, 10);
+
+        // Then
+        assertThat(top).extracting(LeaderboardEntryDto::getId).containsExactly(2L, 3L, 1L);
+        assertThat(top).extracting(LeaderboardEntryDto::getRank).containsExactly(1, 2, 3);
+        assertThat(top.getFirst().getScore()).isEqualTo(index.score(new BigDecimal("4.6"), 80));
+    }
+
+    @Test
+    void topServicesCanBeScopedByCity() {
+        // When
+        List<LeaderboardEntryDto> top = index.topServices(" kolkata ", 1);
+
+        // Then
+        assertThat(top).extracting(LeaderboardEntryDto::getId).containsExactly(2L);
+        assertThat(index.topServices("Nowhere", 5)).isEmpty();
+    }
+
+    @Test
+    void ratingChangeRepositionsService() {
+        // When
+        index.upsert(service(1L).provider(10L, "Provider 10").providerCity("Kolkata")
+                .rating("5.0", 120).providerRating("5.0", 120).build());
+
+        // Then
+        assertThat(index.topServices(null, 1)).extracting(LeaderboardEntryDto::getId).containsExactly(1L);
+        assertThat(index.rankedServices()).isEqualTo(3);
+    }
+
+    @Test
+    void providerLeavesRankingWithItsLastService() {
+        // When
+        index.remove(3L);
+        index.remove(4L);
+
+        // Then
+        assertThat(index.topProviders(null, 10)).extracting(LeaderboardEntryDto::getId).containsExactly(10L);
+        assertThat(index.topProviders("Mumbai", 10)).isEmpty();
+    }
+}
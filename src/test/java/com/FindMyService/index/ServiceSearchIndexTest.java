@@ -0,0 +1,106 @@
+package com.FindMyService.index;
+
+import com.FindMyService.model.dto.SearchHitDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.FindMyService.index.CatalogEntryFixture.service;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServiceSearchIndexTest {
+
+    private ServiceSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ServiceSearchIndex();
+        index.upsert(plumbing().build());
+        index.upsert(service(2L).name("House Cleaning")
+                .description("Deep cleaning for kitchens and bathrooms").location("Kolkata").build());
+        index.upsert(service(3L).name("Pipe Fitting")
+                .description("Plumbing installations").location("Mumbai").build());
+    }
+
+    @Test
+    void searchRanksServiceNameMatchesFirst() {
+        // When
+        List<SearchHitDto> hits = index.search("plumbing", 10);
+
+        // Then
+        assertThat(hits).extracting(SearchHitDto::getServiceId).containsExactly(1L, 3L);
+        assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+    }
+
+    @Test
+    void searchIsCaseAndAccentInsensitive() {
+        // When
+        List<SearchHitDto> hits = index.search("MUMBAÍ", 10);
+
+        // Then
+        assertThat(hits).extracting(SearchHitDto::getServiceId).containsExactly(3L);
+    }
+
+    @Test
+    void upsertReplacesPreviousTerms() {
+        // When
+        index.upsert(service(1L).name("Electrical Repairs")
+                .description("Wiring").location("Kolkata").build());
+
+        // Then
+        assertThat(index.search("plumbing", 10)).extracting(SearchHitDto::getServiceId).containsExactly(3L);
+        assertThat(index.search("wiring", 10)).extracting(SearchHitDto::getServiceId).containsExactly(1L);
+    }
+
+    @Test
+    void removeAndInactiveServicesAreNotReturned() {
+        // When
+        index.remove(3L);
+        index.upsert(service(2L).name("House Cleaning")
+                .description("Deep cleaning").location("Kolkata").active(false).build());
+
+        // Then
+        assertThat(index.search("plumbing", 10)).extracting(SearchHitDto::getServiceId).containsExactly(1L);
+        assertThat(index.search("cleaning", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void searchHonoursLimit() {
+        // When
+        List<SearchHitDto> hits = index.search("kolkata", 1);
+
+        // Then
+        assertThat(hits).hasSize(1);
+    }
+
+    @Test
+    void ratingOnlyUpsertKeepsTheDocumentSearchable() {
+        // When
+        index.upsert(plumbing().rating("4.50", 12).build());
+
+        // Then
+        assertThat(index.search("plumbing", 10)).extracting(SearchHitDto::getServiceId).containsExactly(1L, 3L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void removeKeepsRemainingPostingsReachable() {
+        // When: removing the first document of a shared posting list moves the last one into its slot
+        index.remove(1L);
+        index.remove(3L);
+        index.upsert(service(4L).name("Plumbing Checks")
+                .description("Pipes").location("Kolkata").build());
+        index.remove(2L);
+
+        // Then
+        assertThat(index.search("kolkata", 10)).extracting(SearchHitDto::getServiceId).containsExactly(4L);
+        assertThat(index.search("plumbing", 10)).extracting(SearchHitDto::getServiceId).containsExactly(4L);
+        assertThat(index.search("cleaning", 10)).isEmpty();
+    }
+
+    private static CatalogEntryFixture plumbing() {
+        return service(1L).name("Emergency Plumbing").description("Fix leaking pipes and taps").location("Kolkata");
+    }
+}
@@ -0,0 +1,75 @@
+package com.FindMyService.index;
+
+import com.FindMyService.model.dto.SuggestionDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.FindMyService.index.CatalogEntryFixture.service;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionIndexTest {
+
+    private SuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SuggestionIndex();
+        index.upsert(service(1L).provider(10L, "Acme Services")
+                .name("Emergency Plumbing").location("Kolkata").rating(null, 4).build());
+        index.upsert(service(2L).provider(10L, "Pipe Masters")
+                .name("Plumbing Repairs").location("Mumbai").rating(null, 40).build());
+        index.upsert(service(3L).provider(10L, "Acme Services")
+                .name("House Cleaning").location("Kolkata").build());
+    }
+
+    @Test
+    void suggestMatchesWordStartsOrderedByPopularity() {
+        // When
+        List<SuggestionDto> suggestions = index.suggest("plu", 10);
+
+        // Then
+        assertThat(suggestions).extracting(SuggestionDto::getText)
+                .containsExactly("Plumbing Repairs", "Emergency Plumbing");
+    }
+
+    @Test
+    void suggestAggregatesWeightAcrossServices() {
+        // When
+        List<SuggestionDto> suggestions = index.suggest("ACME", 10);
+
+        // Then
+        assertThat(suggestions).singleElement().satisfies(suggestion -> {
+            assertThat(suggestion.getType()).isEqualTo("PROVIDER");
+            assertThat(suggestion.getWeight()).isEqualTo(6);
+        });
+    }
+
+    @Test
+    void upsertReweightsAndRemoveDropsSuggestions() {
+        // When
+        index.upsert(service(1L).provider(10L, "Acme Services")
+                .name("Emergency Plumbing").location("Kolkata").rating(null, 100).build());
+        index.remove(2L);
+        index.upsert(service(3L).provider(10L, "Acme Services")
+                .name("House Cleaning").location("Kolkata").active(false).build());
+
+        // Then
+        assertThat(index.suggest("plumbing", 10)).extracting(SuggestionDto::getText)
+                .containsExactly("Emergency Plumbing");
+        assertThat(index.suggest("mum", 10)).isEmpty();
+        assertThat(index.suggest("clean", 10)).isEmpty();
+        assertThat(index.suggest("kol", 10)).singleElement()
+                .extracting(SuggestionDto::getWeight).isEqualTo(101L);
+    }
+
+    @Test
+    void suggestHonoursLimit() {
+        // When
+        List<SuggestionDto> suggestions = index.suggest("k", 1);
+
+        // Then
+        assertThat(suggestions).hasSize(1);
+    }
+}
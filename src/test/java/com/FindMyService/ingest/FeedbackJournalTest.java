@@ -0,0 +1,158 @@
+package com.FindMyService.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedbackJournalTest {
+
+    private static final long SEGMENT_BYTES = 1 << 20;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void recoverSkipsAppliedEntriesAndCutsTornTail() throws IOException {
+        // Given
+        try (FeedbackJournal journal = journal(SEGMENT_BYTES)) {
+            journal.recover(0);
+            journal.append(entry("4.5"));
+            journal.append(entry("3.0"));
+            journal.append(entry("1.0"));
+        }
+        Path segment = single(segments());
+        Files.writeString(segment, "{\"sequence\":4,\"serv", StandardOpenOption.APPEND);
+
+        // When
+        List<PendingFeedback> pending;
+        PendingFeedback next;
+        try (FeedbackJournal journal = journal(SEGMENT_BYTES)) {
+            pending = journal.recover(1);
+            next = journal.append(entry("5.0"));
+        }
+
+        // Then
+        assertThat(pending).extracting(PendingFeedback::sequence).containsExactly(2L, 3L);
+        assertThat(next.sequence()).isEqualTo(4);
+        assertThat(Files.readString(segment, StandardCharsets.UTF_8).lines()).hasSize(4)
+                .allMatch(line -> line.startsWith("{"));
+    }
+
+    @Test
+    void releaseAppliedKeepsUnappliedEntries() throws IOException {
+        // Given
+        try (FeedbackJournal journal = journal(SEGMENT_BYTES)) {
+            journal.recover(0);
+            journal.append(entry("4.5"));
+            journal.append(entry("3.0"));
+
+            // When
+            journal.releaseApplied(1);
+            long afterPartial = Files.size(single(segments()));
+            journal.releaseApplied(2);
+
+            // Then
+            assertThat(afterPartial).isPositive();
+            assertThat(Files.size(single(segments()))).isZero();
+            assertThat(journal.append(entry("2.0")).sequence()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void segmentsRotateAndAreDeletedOnceApplied() throws IOException {
+        // Given: every segment fills up after two entries
+        long lineBytes = objectMapper.writeValueAsBytes(entry("4.5").withSequence(1)).length + 1;
+        try (FeedbackJournal journal = journal(2 * lineBytes)) {
+            journal.recover(0);
+            for (int i = 0; i < 7; i++) {
+                journal.append(entry("4.5"));
+            }
+            assertThat(segments()).hasSize(4);
+
+            // When: a continuous backlog never catches up with the last sequence
+            journal.releaseApplied(5);
+        }
+
+        // Then
+        assertThat(segments()).hasSize(2);
+        try (FeedbackJournal journal = journal(2 * lineBytes)) {
+            assertThat(journal.recover(5)).extracting(PendingFeedback::sequence).containsExactly(6L, 7L);
+        }
+    }
+
+    @Test
+    void recoverDeletesAppliedSegmentsAndAdoptsLegacyJournal() throws IOException {
+        // Given
+        long lineBytes = objectMapper.writeValueAsBytes(entry("4.5").withSequence(1)).length + 1;
+        try (FeedbackJournal journal = journal(2 * lineBytes)) {
+            journal.recover(0);
+            for (int i = 0; i < 5; i++) {
+                journal.append(entry("4.5"));
+            }
+        }
+        Files.writeString(dir.resolve("other.ndjson"), objectMapper.writeValueAsString(entry("1.0").withSequence(1)) + "\n");
+
+        // When
+        List<PendingFeedback> pending;
+        List<PendingFeedback> legacy;
+        try (FeedbackJournal journal = journal(2 * lineBytes);
+             FeedbackJournal other = new FeedbackJournal(dir, "other", objectMapper, false, SEGMENT_BYTES)) {
+            pending = journal.recover(4);
+            legacy = other.recover(0);
+        }
+
+        // Then
+        assertThat(pending).extracting(PendingFeedback::sequence).containsExactly(5L);
+        assertThat(segments()).hasSize(1);
+        assertThat(legacy).extracting(PendingFeedback::rating).containsExactly(new BigDecimal("1.0"));
+        assertThat(dir.resolve("other.ndjson")).doesNotExist();
+    }
+
+    @Test
+    void syncCoversEverythingAppendedBeforeIt() throws IOException {
+        try (FeedbackJournal journal = new FeedbackJournal(dir, "journal", objectMapper, true, SEGMENT_BYTES)) {
+            journal.recover(0);
+            PendingFeedback first = journal.append(entry("4.5"));
+            PendingFeedback second = journal.append(entry("3.0"));
+
+            journal.sync(second.sequence());
+            journal.sync(first.sequence());
+
+            assertThat(Files.readString(single(segments())).lines()).hasSize(2);
+        }
+    }
+
+    private FeedbackJournal journal(long segmentBytes) throws IOException {
+        return new FeedbackJournal(dir, "journal", objectMapper, false, segmentBytes);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("journal.")).sorted().toList();
+        }
+    }
+
+    private static Path single(List<Path> segments) {
+        assertThat(segments).hasSize(1);
+        return segments.getFirst();
+    }
+
+    private static PendingFeedback entry(String rating) {
+        return new PendingFeedback(0, 1L, 3L, 5L, "ok", new BigDecimal(rating), Instant.parse("2025-01-01T00:00:00Z"));
+    }
+}
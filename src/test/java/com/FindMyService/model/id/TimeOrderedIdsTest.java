@@ -0,0 +1,136 @@
+package com.FindMyService.model.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeOrderedIdsTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+
+    @Test
+    void nextIdEncodesTimestampAndNode() {
+        // Given
+        TimeOrderedIds ids = new TimeOrderedIds(7, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // When
+        long id = ids.nextId();
+
+        // Then
+        assertThat(id & TimeOrderedIds.MAX_NODE_ID).isEqualTo(7);
+        assertThat(TimeOrderedIds.timestampOf(id)).isEqualTo(NOW);
+        assertThat(id).isLessThan(1L << 53);
+    }
+
+    @Test
+    void nextIdWaitsForTheNextMillisecondWhenSequenceIsExhausted() {
+        // Given
+        TickingClock clock = new TickingClock(NOW, 200);
+        TimeOrderedIds ids = new TimeOrderedIds(1, clock);
+
+        // When
+        List<Long> allocated = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            long id = ids.nextId();
+            assertThat(TimeOrderedIds.timestampOf(id)).isBeforeOrEqualTo(clock.instant);
+            allocated.add(id);
+        }
+
+        // Then
+        assertThat(allocated).isSorted().doesNotHaveDuplicates();
+        assertThat(allocated.stream().filter(id -> TimeOrderedIds.timestampOf(id).equals(NOW)))
+                .hasSize(1 << TimeOrderedIds.SEQUENCE_BITS);
+    }
+
+    @Test
+    void nextIdWaitsForTheClockWhenItStepsBack() throws Exception {
+        // Given
+        MutableClock clock = new MutableClock(NOW);
+        TimeOrderedIds ids = new TimeOrderedIds(0, clock);
+        long before = ids.nextId();
+        clock.instant = NOW.minusSeconds(5);
+
+        // When
+        CompletableFuture<Long> after = CompletableFuture.supplyAsync(ids::nextId);
+        Thread.sleep(50);
+        boolean issuedWhileBehind = after.isDone();
+        clock.instant = NOW.plusMillis(1);
+
+        // Then
+        assertThat(issuedWhileBehind).isFalse();
+        assertThat(after.get(5, TimeUnit.SECONDS)).isGreaterThan(before);
+        assertThat(TimeOrderedIds.timestampOf(after.get())).isEqualTo(NOW.plusMillis(1));
+    }
+
+    @Test
+    void rejectsNodeIdOutOfRange() {
+        assertThatThrownBy(() -> new TimeOrderedIds(TimeOrderedIds.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimeOrderedIds(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Advances by one millisecond after every ticksPerMilli reads.
+    private static final class TickingClock extends Clock {
+        private final int ticksPerMilli;
+        private volatile Instant instant;
+        private int reads;
+
+        private TickingClock(Instant instant, int ticksPerMilli) {
+            this.instant = instant;
+            this.ticksPerMilli = ticksPerMilli;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            Instant current = instant;
+            if (++reads % ticksPerMilli == 0) {
+                instant = current.plusMillis(1);
+            }
+            return current;
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.FindMyService.notification;
+
+import com.FindMyService.model.dto.OrderDto;
+import com.FindMyService.model.enums.OrderStatus;
+import com.FindMyService.model.id.TimeOrderedIds;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxDispatcherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<Notification>> deliveries = new ArrayList<>();
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private NotificationOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table outbox_events (event_id bigint primary key, event_type varchar(32) not null, "
+                + "aggregate_id bigint not null, payload clob not null, status varchar(16) not null, attempts int not null, "
+                + "available_at timestamp(6) not null, created_at timestamp(6) not null, last_error varchar(512))");
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        outbox = new NotificationOutbox(jdbcTemplate, new TimeOrderedIds(0), objectMapper);
+    }
+
+    @Test
+    void dispatchDeliversBacklogInBatchesAndDeletesDeliveredRows() {
+        // Given
+        appendOrders(1, 2, 3);
+        OutboxDispatcher dispatcher = dispatcher(deliveries::add, 2, 3);
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        assertThat(deliveries).extracting(List::size).containsExactly(2, 1);
+        assertThat(deliveries.getFirst().getFirst().eventId()).isNotNull();
+        assertThat(deliveries.getFirst().getFirst().status()).isEqualTo("REQUESTED");
+        assertThat(deliveries).flatMap(batch -> batch).extracting(Notification::aggregateId).containsExactly(1L, 2L, 3L);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from outbox_events", Long.class)).isZero();
+        assertThat(meterRegistry.get("notifications.outbox.delivered").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("notifications.outbox.delivery.lag").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("notifications.outbox.lag.seconds").gauge().value()).isZero();
+    }
+
+    @Test
+    void dispatchRetriesRejectedNotificationAloneAndDeadLettersItAfterLastAttempt() {
+        // Given
+        appendOrders(1, 2, 3);
+        OutboxDispatcher dispatcher = dispatcher(notifications -> {
+            if (notifications.stream().anyMatch(notification -> notification.aggregateId() == 2L)) {
+                throw new IllegalStateException("Receiver rejected order 2");
+            }
+            deliveries.add(notifications);
+        }, 100, 2);
+
+        // When
+        dispatcher.dispatch();
+        Map<String, Object> retried = jdbcTemplate.queryForMap("select status, attempts from outbox_events");
+        dispatcher.dispatch();
+
+        // Then
+        assertThat(deliveries).flatMap(batch -> batch).extracting(Notification::aggregateId).containsExactly(1L, 3L);
+        assertThat(retried).containsEntry("status", "PENDING").containsEntry("attempts", 1);
+        assertThat(jdbcTemplate.queryForMap("select aggregate_id, status, attempts, last_error from outbox_events"))
+                .containsEntry("aggregate_id", 2L)
+                .containsEntry("status", "DEAD")
+                .containsEntry("attempts", 2)
+                .containsEntry("last_error", "Receiver rejected order 2");
+        assertThat(meterRegistry.get("notifications.outbox.retried").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notifications.outbox.dead").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void dispatchStopsWhenTheSinkIsUnreachable() {
+        // Given
+        appendOrders(1, 2, 3, 4, 5);
+        List<Integer> attempts = new ArrayList<>();
+        OutboxDispatcher dispatcher = dispatcher(notifications -> {
+            attempts.add(notifications.size());
+            if (attempts.size() == 1) {
+                throw new IllegalStateException("Receiver rejected the batch");
+            }
+            throw new NotificationTransportException("Connection refused", null);
+        }, 2, 5);
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        assertThat(attempts).containsExactly(2, 1);
+        assertThat(jdbcTemplate.queryForList("select attempts from outbox_events order by event_id", Integer.class))
+                .containsExactly(1, 1, 0, 0, 0);
+        assertThat(meterRegistry.get("notifications.outbox.retried").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void backoffDoublesWithEachAttemptUpToTheCap() {
+        OutboxDispatcher dispatcher = new OutboxDispatcher(jdbcTemplate, transactionManager, deliveries::add,
+                objectMapper, meterRegistry, 100, 10, Duration.ofMinutes(5), Duration.ofSeconds(1), Duration.ofSeconds(10));
+
+        assertThat(dispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(dispatcher.backoff(3)).isEqualTo(Duration.ofSeconds(4));
+        assertThat(dispatcher.backoff(40)).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    private OutboxDispatcher dispatcher(NotificationSink sink, int batchSize, int maxAttempts) {
+        return new OutboxDispatcher(jdbcTemplate, transactionManager, sink, objectMapper, meterRegistry,
+                batchSize, maxAttempts, Duration.ofMinutes(5), Duration.ZERO, Duration.ZERO);
+    }
+
+    private void appendOrders(long... orderIds) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> outbox.appendAll(LongStream.of(orderIds)
+                .mapToObj(orderId -> Notification.orderCreated(OrderDto.builder()
+                        .orderId(orderId)
+                        .userId(5L)
+                        .providerId(3L)
+                        .serviceId(10L)
+                        .orderStatus(OrderStatus.REQUESTED)
+                        .build()))
+                .toList()));
+    }
+}
@@ -0,0 +1,132 @@
+package com.FindMyService.service;
+
+import com.FindMyService.index.CatalogChangedEvent;
+import com.FindMyService.index.CatalogEntry;
+import com.FindMyService.index.ProviderChangedEvent;
+import com.FindMyService.model.Provider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static com.FindMyService.index.CatalogEntryFixture.service;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotServiceTest {
+
+    @Mock
+    private ServiceCatalogService serviceCatalogService;
+
+    @Mock
+    private ProviderService providerService;
+
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        catalogSnapshotService = new CatalogSnapshotService(new ObjectMapper(), serviceCatalogService, providerService,
+                Duration.ofHours(1));
+        Provider provider = new Provider();
+        provider.setProviderId(1L);
+        provider.setProviderName("Acme");
+        when(providerService.getAllProviders()).thenReturn(List.of(provider));
+    }
+
+    @Test
+    void providersSnapshotIsBuiltOnceAndServedCompressedWhenAccepted() throws IOException {
+        // When
+        ResponseEntity<byte[]> plain = catalogSnapshotService.providers().toResponse(null);
+        ResponseEntity<byte[]> gzipped = catalogSnapshotService.providers().toResponse("br;q=1.0, gzip;q=0.8");
+
+        // Then
+        String json = new String(plain.getBody(), StandardCharsets.UTF_8);
+        assertThat(json).contains("\"providerName\":\"Acme\"");
+        assertThat(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody())).readAllBytes())
+                .isEqualTo(plain.getBody());
+        verify(providerService, times(1)).getAllProviders();
+    }
+
+    @Test
+    void providerChangeInvalidatesSnapshot() {
+        // Given
+        CatalogSnapshotService.Snapshot before = catalogSnapshotService.providers();
+
+        // When
+        catalogSnapshotService.onProviderChanged(ProviderChangedEvent.updated(1L));
+        CatalogSnapshotService.Snapshot after = catalogSnapshotService.providers();
+
+        // Then
+        assertThat(after.version()).isGreaterThan(before.version());
+        assertThat(after.toResponse(null).getHeaders().getETag()).isEqualTo(before.toResponse(null).getHeaders().getETag());
+        assertThat(catalogSnapshotService.providers().toResponse("gzip;q=0").getHeaders()
+                .getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        verify(providerService, times(2)).getAllProviders();
+    }
+
+    @Test
+    void representationsCarryDistinctEtags() {
+        // When
+        String plain = catalogSnapshotService.providers().toResponse(null).getHeaders().getETag();
+        String gzipped = catalogSnapshotService.providers().toResponse("gzip").getHeaders().getETag();
+
+        // Then
+        assertThat(plain).startsWith("\"").endsWith("\"");
+        assertThat(gzipped).isNotEqualTo(plain);
+    }
+
+    @Test
+    void serviceChangesLeaveProvidersSnapshotAlone() {
+        // Given
+        CatalogSnapshotService.Snapshot before = catalogSnapshotService.providers();
+
+        // When
+        catalogSnapshotService.onCatalogChanged(CatalogChangedEvent.removed(1L));
+
+        // Then
+        assertThat(catalogSnapshotService.providers()).isSameAs(before);
+        assertThat(catalogSnapshotService.generation()).isEqualTo(before.version() + 1);
+        verify(providerService, times(1)).getAllProviders();
+    }
+
+    @Test
+    void ratingUpdatesAreCoalescedUntilTheRefreshIntervalPasses() {
+        // Given
+        CatalogSnapshotService.Snapshot before = catalogSnapshotService.providers();
+        CatalogSnapshotService refreshing = new CatalogSnapshotService(new ObjectMapper(), serviceCatalogService,
+                providerService, Duration.ZERO);
+        refreshing.providers();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            catalogSnapshotService.onCatalogChanged(CatalogChangedEvent.rated(rated()));
+            refreshing.onCatalogChanged(CatalogChangedEvent.rated(rated()));
+        }
+        CatalogSnapshotService.Snapshot coalesced = catalogSnapshotService.providers();
+        CatalogSnapshotService.Snapshot refreshed = refreshing.providers();
+
+        // Then
+        assertThat(coalesced).isSameAs(before);
+        assertThat(refreshed.version()).isEqualTo(3);
+        assertThat(refreshing.providers()).isSameAs(refreshed);
+        verify(providerService, times(3)).getAllProviders();
+    }
+
+    private static CatalogEntry rated() {
+        return service(1L).provider(1L, "Acme").rating("4.0", 1).providerRating("4.0", 1).build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.FindMyService.service;
+
+import com.FindMyService.model.Order;
+import com.FindMyService.model.User;
+import com.FindMyService.model.enums.DataFormat;
+import com.FindMyService.model.enums.OrderStatus;
+import com.FindMyService.model.enums.Role;
+import com.FindMyService.repository.FeedbackRepository;
+import com.FindMyService.repository.OrderRepository;
+import com.FindMyService.repository.ProviderRepository;
+import com.FindMyService.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private FeedbackRepository feedbackRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProviderRepository providerRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportService(orderRepository, feedbackRepository, userRepository, providerRepository,
+                entityManager, transactionManager, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void exportOrdersWritesOneJsonLinePerRowAndClearsEachChunk() throws IOException {
+        // Given
+        int rows = ExportService.CHUNK_SIZE + 1;
+        when(orderRepository.streamAll()).thenReturn(IntStream.rangeClosed(1, rows).mapToObj(id -> Order.builder()
+                .orderId((long) id)
+                .orderStatus(OrderStatus.REQUESTED)
+                .build()));
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = exportService.exportOrders(DataFormat.NDJSON);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        // Then
+        List<String> lines = out.toString().lines().toList();
+        assertThat(response.getHeaders().getContentType()).hasToString("application/x-ndjson");
+        assertThat(lines).hasSize(rows);
+        assertThat(lines.getFirst()).startsWith("{\"orderId\":1,");
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void exportUsersAsCsvWritesHeaderWithoutPasswords() throws IOException {
+        // Given
+        User user = User.builder().userId(7L).name("Asha").email("asha@example.com").password("secret").role(Role.USER).build();
+        when(userRepository.streamAll()).thenReturn(Stream.of(user));
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = exportService.exportUsers(DataFormat.CSV);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        // Then
+        List<String> lines = out.toString().lines().toList();
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)).contains("users.csv");
+        assertThat(lines.getFirst()).startsWith("userId,name,email,role").doesNotContain("password");
+        assertThat(lines.get(1)).startsWith("7,Asha,asha@example.com,USER");
+    }
+}
@@ -0,0 +1,273 @@
+package com.FindMyService.service;
+
+import com.FindMyService.index.CatalogChangedEvent;
+import com.FindMyService.model.Feedback;
+import com.FindMyService.model.Provider;
+import com.FindMyService.model.RatingHistogramBucket;
+import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.User;
+import com.FindMyService.model.dto.CursorPageDto;
+import com.FindMyService.model.dto.FeedbackDto;
+import com.FindMyService.model.dto.FeedbackSummaryDto;
+import com.FindMyService.model.dto.RatingHistogramDto;
+import com.FindMyService.model.enums.FeedbackSort;
+import com.FindMyService.model.enums.NotificationType;
+import com.FindMyService.model.enums.RatingScope;
+import com.FindMyService.notification.NotificationOutbox;
+import com.FindMyService.repository.FeedbackRepository;
+import com.FindMyService.repository.ProviderRepository;
+import com.FindMyService.repository.RatingHistogramRepository;
+import com.FindMyService.repository.ServiceCatalogRepository;
+import com.FindMyService.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeedbackServiceTest {
+
+    @Mock
+    private FeedbackRepository feedbackRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ServiceCatalogRepository serviceCatalogRepository;
+
+    @Mock
+    private ProviderRepository providerRepository;
+
+    @Mock
+    private RatingHistogramRepository ratingHistogramRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private NotificationOutbox notificationOutbox;
+
+    @InjectMocks
+    private FeedbackService feedbackService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getAllFeedbacksForProviderResumesAfterCursor() {
+        // Given
+        FeedbackDto first = feedback(9L, "4.5");
+        FeedbackDto second = feedback(7L, "4.5");
+        FeedbackDto third = feedback(3L, "2.0");
+        when(feedbackRepository.findDtoPageByProviderId(eq(1L), eq(FeedbackSort.RATING), isNull(), isNull(), eq(3)))
+                .thenReturn(List.of(first, second, third));
+        when(feedbackRepository.findDtoPageByProviderId(1L, FeedbackSort.RATING, new BigDecimal("4.5"), 7L, 3))
+                .thenReturn(List.of(third));
+
+        // When
+        ResponseEntity<?> firstPage = feedbackService.getAllFeedbacksForProvider(1L, FeedbackSort.RATING, null, 2);
+        String cursor = ((CursorPageDto<FeedbackDto>) firstPage.getBody()).getNextCursor();
+        ResponseEntity<?> secondPage = feedbackService.getAllFeedbacksForProvider(1L, FeedbackSort.RATING, cursor, 2);
+
+        // Then
+        CursorPageDto<FeedbackDto> page = (CursorPageDto<FeedbackDto>) secondPage.getBody();
+        assertThat(((CursorPageDto<FeedbackDto>) firstPage.getBody()).getItems()).containsExactly(first, second);
+        assertThat(page.getItems()).containsExactly(third);
+        assertThat(page.isHasMore()).isFalse();
+        verifyNoInteractions(serviceCatalogRepository);
+    }
+
+    @Test
+    void getAllFeedbacksForServiceReturnsNotFoundForUnknownService() {
+        // Given
+        when(feedbackRepository.findDtoPageByServiceId(eq(42L), eq(FeedbackSort.CREATED_AT), isNull(), isNull(), eq(21)))
+                .thenReturn(List.of());
+        when(serviceCatalogRepository.existsById(42L)).thenReturn(false);
+
+        // When
+        ResponseEntity<?> response = feedbackService.getAllFeedbacksForService(42L, null, null, null);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void getAllFeedbacksForServiceWithCursorForDifferentSortThrowsException() {
+        // Given
+        when(feedbackRepository.findDtoPageByServiceId(eq(1L), eq(FeedbackSort.CREATED_AT), isNull(), isNull(), eq(2)))
+                .thenReturn(List.of(feedback(2L, "3.0"), feedback(1L, "3.0")));
+        @SuppressWarnings("unchecked")
+        String cursor = ((CursorPageDto<FeedbackDto>) feedbackService
+                .getAllFeedbacksForService(1L, FeedbackSort.CREATED_AT, null, 1).getBody()).getNextCursor();
+
+        // When / Then
+        assertThatThrownBy(() -> feedbackService.getAllFeedbacksForService(1L, FeedbackSort.RATING, cursor, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Cursor does not match sort");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getFeedbackSummariesForServiceUsesPreviewProjection() {
+        // Given
+        FeedbackSummaryDto first = FeedbackSummaryDto.builder().feedbackId(8L).serviceId(1L).authorName("Asha")
+                .rating(new BigDecimal("4.0")).commentPreview("Quick and tidy\u2026")
+                .createdAt(Instant.parse("2025-01-02T00:00:00Z")).build();
+        FeedbackSummaryDto second = FeedbackSummaryDto.builder().feedbackId(5L).serviceId(1L).authorName("Ravi")
+                .rating(new BigDecimal("3.0")).createdAt(Instant.parse("2025-01-01T00:00:00Z")).build();
+        when(feedbackRepository.findSummaryPageByServiceId(eq(1L), eq(FeedbackSort.CREATED_AT), isNull(), isNull(), eq(2)))
+                .thenReturn(List.of(first, second));
+
+        // When
+        ResponseEntity<?> response = feedbackService.getFeedbackSummariesForService(1L, null, null, 1);
+
+        // Then
+        CursorPageDto<FeedbackSummaryDto> page = (CursorPageDto<FeedbackSummaryDto>) response.getBody();
+        assertThat(page.getItems()).containsExactly(first);
+        assertThat(page.getNextCursor()).isNotNull();
+        verify(feedbackRepository, never()).findDtoPageByServiceId(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getFeedbackCommentReturnsNotFoundForUnknownFeedback() {
+        // Given
+        when(feedbackRepository.findCommentByFeedbackId(9L)).thenReturn(Optional.empty());
+
+        // When
+        ResponseEntity<?> response = feedbackService.getFeedbackComment(9L);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void commentPreviewKeepsFirstLineWithinLimit() {
+        assertThat(Feedback.previewOf(null)).isNull();
+        assertThat(Feedback.previewOf("  Great work  ")).isEqualTo("Great work");
+        assertThat(Feedback.previewOf("Great work\nArrived late though")).isEqualTo("Great work\u2026");
+        assertThat(Feedback.previewOf("x".repeat(300))).hasSize(Feedback.PREVIEW_LENGTH).endsWith("\u2026");
+    }
+
+    @Test
+    void createFeedbackIncrementsProviderAndServiceAggregatesAtomically() {
+        // Given
+        Provider provider = Provider.builder().providerId(3L).providerName("Acme").build();
+        ServiceCatalog service = ServiceCatalog.builder().serviceId(1L).providerId(provider).serviceName("Plumbing").build();
+        User user = new User();
+        user.setUserId(5L);
+        when(userRepository.findById(5L)).thenReturn(Optional.of(user));
+        when(serviceCatalogRepository.findById(1L)).thenReturn(Optional.of(service));
+        when(feedbackRepository.save(any(Feedback.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(providerRepository.addRatings(eq(3L), eq(new BigDecimal("4.5")), eq(1), any(Instant.class))).thenReturn(1);
+        when(serviceCatalogRepository.addRatings(eq(1L), eq(new BigDecimal("4.5")), eq(1), any(Instant.class))).thenReturn(1);
+        when(serviceCatalogRepository.findWithProviderByServiceIdIn(Set.of(1L))).thenReturn(List.of(service));
+
+        // When
+        ResponseEntity<?> response = feedbackService.createFeedback(FeedbackDto.builder()
+                .serviceId(1L)
+                .userId(5L)
+                .rating(new BigDecimal("4.5"))
+                .build());
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        InOrder inOrder = inOrder(providerRepository, serviceCatalogRepository, feedbackRepository);
+        inOrder.verify(providerRepository).addRatings(eq(3L), eq(new BigDecimal("4.5")), eq(1), any(Instant.class));
+        inOrder.verify(serviceCatalogRepository).addRatings(eq(1L), eq(new BigDecimal("4.5")), eq(1), any(Instant.class));
+        inOrder.verify(feedbackRepository).save(any(Feedback.class));
+        verify(ratingHistogramRepository).increment("PROVIDER", 3L, 9, 1);
+        verify(ratingHistogramRepository).increment("SERVICE", 1L, 9, 1);
+        verify(providerRepository, never()).save(any());
+        verify(serviceCatalogRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(any(CatalogChangedEvent.class));
+        verify(notificationOutbox).append(argThat(notification -> notification.type() == NotificationType.FEEDBACK_CREATED
+                && notification.providerId() == 3L && notification.userId() == 5L));
+    }
+
+    @Test
+    void applyRatingsCoalescesUpdatesPerProviderAndService() {
+        // Given
+        Provider provider = Provider.builder().providerId(3L).providerName("Acme").build();
+        when(providerRepository.addRatings(eq(3L), eq(new BigDecimal("11.5")), eq(3), any(Instant.class))).thenReturn(1);
+        when(serviceCatalogRepository.addRatings(eq(1L), eq(new BigDecimal("9.0")), eq(2), any(Instant.class))).thenReturn(1);
+        when(serviceCatalogRepository.addRatings(eq(2L), eq(new BigDecimal("2.5")), eq(1), any(Instant.class))).thenReturn(1);
+        when(serviceCatalogRepository.findWithProviderByServiceIdIn(Set.of(1L, 2L))).thenReturn(List.of(
+                ServiceCatalog.builder().serviceId(1L).providerId(provider).serviceName("Plumbing").build(),
+                ServiceCatalog.builder().serviceId(2L).providerId(provider).serviceName("Wiring").build()));
+
+        // When
+        feedbackService.applyRatings(List.of(
+                new FeedbackService.RatingDelta(1L, 3L, new BigDecimal("4.5")),
+                new FeedbackService.RatingDelta(2L, 3L, new BigDecimal("2.5")),
+                new FeedbackService.RatingDelta(1L, 3L, new BigDecimal("4.5"))));
+
+        // Then
+        verify(providerRepository).addRatings(eq(3L), eq(new BigDecimal("11.5")), eq(3), any(Instant.class));
+        verify(ratingHistogramRepository).increment("PROVIDER", 3L, 9, 2);
+        verify(ratingHistogramRepository).increment("PROVIDER", 3L, 5, 1);
+        verify(ratingHistogramRepository).increment("SERVICE", 1L, 9, 2);
+        verify(ratingHistogramRepository).increment("SERVICE", 2L, 5, 1);
+        verify(eventPublisher, times(2)).publishEvent(any(CatalogChangedEvent.class));
+    }
+
+    @Test
+    void getRatingHistogramFillsEmptyBuckets() {
+        // Given
+        when(ratingHistogramRepository.findByScopeAndOwnerId(RatingScope.SERVICE, 1L)).thenReturn(List.of(
+                RatingHistogramBucket.builder().scope(RatingScope.SERVICE).ownerId(1L).bucket(10).ratings(4).build(),
+                RatingHistogramBucket.builder().scope(RatingScope.SERVICE).ownerId(1L).bucket(7).ratings(1).build()));
+
+        // When
+        ResponseEntity<?> response = feedbackService.getRatingHistogram(RatingScope.SERVICE, 1L);
+
+        // Then
+        RatingHistogramDto histogram = (RatingHistogramDto) response.getBody();
+        assertThat(histogram.getTotalRatings()).isEqualTo(5);
+        assertThat(histogram.getBuckets()).hasSize(FeedbackService.HISTOGRAM_BUCKETS)
+                .containsEntry(new BigDecimal("5.0"), 4L)
+                .containsEntry(new BigDecimal("3.5"), 1L)
+                .containsEntry(new BigDecimal("0.0"), 0L);
+        verifyNoInteractions(serviceCatalogRepository);
+    }
+
+    @Test
+    void bucketOfRoundsToNearestHalfStar() {
+        assertThat(FeedbackService.bucketOf(new BigDecimal("0.0"))).isZero();
+        assertThat(FeedbackService.bucketOf(new BigDecimal("4.3"))).isEqualTo(9);
+        assertThat(FeedbackService.bucketOf(new BigDecimal("4.2"))).isEqualTo(8);
+        assertThat(FeedbackService.bucketOf(new BigDecimal("5.0"))).isEqualTo(10);
+    }
+
+    private static FeedbackDto feedback(Long id, String rating) {
+        return FeedbackDto.builder()
+                .feedbackId(id)
+                .serviceId(1L)
+                .userId(5L)
+                .rating(new BigDecimal(rating))
+                .createdAt(Instant.parse("2025-01-01T00:00:00Z").plusSeconds(id))
+                .build();
+    }
+}
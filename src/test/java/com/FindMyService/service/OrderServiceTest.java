@@ -0,0 +1,298 @@
+package com.FindMyService.service;
+
+import com.FindMyService.config.CacheConfig;
+import com.FindMyService.model.Order;
+import com.FindMyService.model.Provider;
+import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.User;
+import com.FindMyService.model.dto.CursorPageDto;
+import com.FindMyService.model.dto.OrderDto;
+import com.FindMyService.model.dto.OrderFilter;
+import com.FindMyService.model.enums.NotificationType;
+import com.FindMyService.model.enums.OrderStatus;
+import com.FindMyService.model.id.TimeOrderedIds;
+import com.FindMyService.notification.NotificationOutbox;
+import com.FindMyService.repository.OrderRepository;
+import com.FindMyService.repository.ProviderRepository;
+import com.FindMyService.repository.ServiceCatalogRepository;
+import com.FindMyService.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProviderRepository providerRepository;
+
+    @Mock
+    private ServiceCatalogRepository serviceCatalogRepository;
+
+    @Mock
+    private ProviderService providerService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private NotificationOutbox notificationOutbox;
+
+    @Spy
+    private TimeOrderedIds timeOrderedIds = new TimeOrderedIds(0);
+
+    @InjectMocks
+    private OrderService orderService;
+
+    @Test
+    void createOrdersBatchLooksUpEachTableOnceAndInsertsInOneBatch() {
+        // Given
+        Provider provider = Provider.builder().providerId(3L).providerName("Acme").build();
+        stubCart(provider, provider);
+
+        // When
+        List<OrderDto> created = orderService.createOrdersBatch(List.of(
+                order(10L, 3L, null),
+                order(11L, 3L, new BigDecimal("25")),
+                order(10L, 3L, null)));
+
+        // Then
+        assertThat(created).hasSize(3);
+        assertThat(created).extracting(OrderDto::getTotalCost)
+                .containsExactly(new BigDecimal("40"), new BigDecimal("25"), new BigDecimal("40"));
+        assertThat(created).allMatch(dto -> dto.getOrderStatus() == OrderStatus.REQUESTED && dto.getQuantity() == 1);
+        assertThat(created).extracting(OrderDto::getOrderId).doesNotContainNull().isSorted().doesNotHaveDuplicates();
+        verify(serviceCatalogRepository).findAllById(Set.of(10L, 11L));
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList(), eq(3), any(ParameterizedPreparedStatementSetter.class));
+        verify(notificationOutbox).appendAll(argThat(notifications -> notifications.size() == 3
+                && notifications.stream().allMatch(n -> n.type() == NotificationType.ORDER_CREATED && n.providerId() == 3L)));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void createOrdersBatchUsesCachedEntitiesBeforeQuerying() {
+        // Given
+        Provider provider = Provider.builder().providerId(3L).providerName("Acme").build();
+        User user = new User();
+        user.setUserId(5L);
+        ConcurrentMapCache users = new ConcurrentMapCache(CacheConfig.USERS);
+        users.put(5L, user);
+        ConcurrentMapCache providers = new ConcurrentMapCache(CacheConfig.PROVIDERS);
+        providers.put(3L, provider);
+        ConcurrentMapCache services = new ConcurrentMapCache(CacheConfig.SERVICES);
+        services.put(10L, ServiceCatalog.builder().serviceId(10L).providerId(provider).serviceName("Plumbing")
+                .cost(new BigDecimal("40")).build());
+        when(cacheManager.getCache(CacheConfig.USERS)).thenReturn(users);
+        when(cacheManager.getCache(CacheConfig.PROVIDERS)).thenReturn(providers);
+        when(cacheManager.getCache(CacheConfig.SERVICES)).thenReturn(services);
+        when(serviceCatalogRepository.findAllById(Set.of(11L))).thenReturn(List.of(
+                ServiceCatalog.builder().serviceId(11L).providerId(provider).serviceName("Wiring")
+                        .cost(new BigDecimal("55")).build()));
+
+        // When
+        List<OrderDto> created = orderService.createOrdersBatch(List.of(order(10L, 3L, null), order(11L, 3L, null)));
+
+        // Then
+        assertThat(created).extracting(OrderDto::getTotalCost)
+                .containsExactly(new BigDecimal("40"), new BigDecimal("55"));
+        verifyNoInteractions(userRepository, providerRepository);
+    }
+
+    @Test
+    void createOrdersBatchRejectsServiceOfAnotherProvider() {
+        // Given
+        Provider provider = Provider.builder().providerId(3L).providerName("Acme").build();
+        Provider other = Provider.builder().providerId(4L).providerName("Other").build();
+        stubCart(provider, other);
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.createOrdersBatch(List.of(order(10L, 3L, null), order(11L, 3L, null))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Service 11 is not offered by provider 3");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void createOrdersBatchRejectsUnknownService() {
+        // Given
+        User user = new User();
+        user.setUserId(5L);
+        when(userRepository.findAllById(Set.of(5L))).thenReturn(List.of(user));
+        when(providerRepository.findAllById(Set.of(3L)))
+                .thenReturn(List.of(Provider.builder().providerId(3L).providerName("Acme").build()));
+        when(serviceCatalogRepository.findAllById(Set.of(99L))).thenReturn(List.of());
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.createOrdersBatch(List.of(order(99L, 3L, null))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Service not found with id: 99");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void updateOrderAppliesStatusTransitionWithConditionalUpdate() {
+        // Given
+        asAdmin();
+        Order order = order(OrderStatus.SCHEDULED, 4L);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.transitionStatus(eq(1L), eq(OrderStatus.SCHEDULED), eq(4L), eq(OrderStatus.COMPLETED), any()))
+                .thenReturn(1);
+
+        // When
+        OrderDto updated = orderService.updateOrder(1L, OrderDto.builder().orderStatus(OrderStatus.COMPLETED).build());
+
+        // Then
+        assertThat(updated.getOrderStatus()).isEqualTo(OrderStatus.COMPLETED);
+        assertThat(updated.getVersion()).isEqualTo(5L);
+        verify(orderRepository, never()).saveAndFlush(any());
+        verify(notificationOutbox).append(argThat(notification -> notification.type() == NotificationType.ORDER_STATUS_CHANGED
+                && notification.aggregateId() == 1L && "COMPLETED".equals(notification.status())));
+    }
+
+    @Test
+    void updateOrderRejectsTransitionOutOfFinalStatus() {
+        // Given
+        asAdmin();
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order(OrderStatus.COMPLETED, 2L)));
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.updateOrder(1L, OrderDto.builder().orderStatus(OrderStatus.CANCELLED).build()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Cannot change order status from COMPLETED to CANCELLED");
+        verify(orderRepository, never()).transitionStatus(any(), any(), any(), any(), any());
+        verifyNoInteractions(notificationOutbox);
+    }
+
+    @Test
+    void updateOrderFailsWhenAnotherRequestChangedTheOrderFirst() {
+        // Given
+        asAdmin();
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order(OrderStatus.SCHEDULED, 4L)));
+        when(orderRepository.transitionStatus(any(), any(), any(), any(), any())).thenReturn(0);
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.updateOrder(1L, OrderDto.builder().orderStatus(OrderStatus.CANCELLED).build()))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void updateOrderRejectsStaleClientVersion() {
+        // Given
+        asAdmin();
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order(OrderStatus.REQUESTED, 3L)));
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.updateOrder(1L,
+                OrderDto.builder().orderStatus(OrderStatus.CANCELLED).version(2L).build()))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        verify(orderRepository, never()).transitionStatus(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getOrdersByProviderReturnsOnePageWithCursorToTheNext() {
+        // Given
+        Instant newest = Instant.parse("2026-05-01T10:00:00Z");
+        OrderFilter filter = OrderFilter.builder().status(OrderStatus.REQUESTED).build();
+        when(orderRepository.findPageByProviderId(3L, filter, null, null, 3)).thenReturn(List.of(
+                OrderDto.builder().orderId(30L).createdAt(newest).build(),
+                OrderDto.builder().orderId(20L).createdAt(newest.minusSeconds(60)).build(),
+                OrderDto.builder().orderId(10L).createdAt(newest.minusSeconds(120)).build()));
+
+        // When
+        ResponseEntity<?> response = orderService.getOrdersByProvider(3L, filter, null, 2);
+
+        // Then
+        CursorPageDto<?> page = (CursorPageDto<?>) response.getBody();
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.isHasMore()).isTrue();
+        orderService.getOrdersByProvider(3L, filter, page.getNextCursor(), 2);
+        verify(orderRepository).findPageByProviderId(3L, filter, newest.minusSeconds(60), 20L, 3);
+        verifyNoInteractions(providerService);
+    }
+
+    @Test
+    void getOrdersByProviderReturnsNotFoundForUnknownProvider() {
+        // Given
+        OrderFilter filter = OrderFilter.builder().build();
+        when(orderRepository.findPageByProviderId(99L, filter, null, null, 21)).thenReturn(List.of());
+        when(providerService.getProviderById(99L)).thenReturn(Optional.empty());
+
+        // When
+        ResponseEntity<?> response = orderService.getOrdersByProvider(99L, filter, null, null);
+
+        // Then
+        assertThat(response.getStatusCode().value()).isEqualTo(404);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void asAdmin() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin@example.com", null, List.of(new SimpleGrantedAuthority("ADMIN"))));
+    }
+
+    private static Order order(OrderStatus status, Long version) {
+        return Order.builder()
+                .orderId(1L)
+                .orderStatus(status)
+                .version(version)
+                .build();
+    }
+
+    private void stubCart(Provider firstProvider, Provider secondProvider) {
+        User user = new User();
+        user.setUserId(5L);
+        when(userRepository.findAllById(Set.of(5L))).thenReturn(List.of(user));
+        when(providerRepository.findAllById(Set.of(3L))).thenReturn(List.of(firstProvider));
+        when(serviceCatalogRepository.findAllById(Set.of(10L, 11L))).thenReturn(List.of(
+                ServiceCatalog.builder().serviceId(10L).providerId(firstProvider).serviceName("Plumbing")
+                        .cost(new BigDecimal("40")).build(),
+                ServiceCatalog.builder().serviceId(11L).providerId(secondProvider).serviceName("Wiring")
+                        .cost(new BigDecimal("55")).build()));
+    }
+
+    private static OrderDto order(Long serviceId, Long providerId, BigDecimal totalCost) {
+        return OrderDto.builder()
+                .userId(5L)
+                .providerId(providerId)
+                .serviceId(serviceId)
+                .totalCost(totalCost)
+                .build();
+    }
+}
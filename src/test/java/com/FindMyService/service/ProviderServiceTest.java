@@ -1,14 +1,19 @@
 package com.FindMyService.service;
 
+import com.FindMyService.geo.ZipCentroidDirectory;
+import com.FindMyService.index.ProviderChangedEvent;
 import com.FindMyService.model.Provider;
 import com.FindMyService.repository.ProviderRepository;
+import com.FindMyService.repository.RatingHistogramRepository;
 import com.FindMyService.utils.OwnerCheck;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -35,6 +40,15 @@ class ProviderServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ZipCentroidDirectory zipCentroidDirectory;
+
+    @Mock
+    private RatingHistogramRepository ratingHistogramRepository;
+
     @InjectMocks
     private ProviderService providerService;
 
@@ -67,7 +81,7 @@ class ProviderServiceTest {
     @Test
     void getProviderByIdWithValidIdReturnsProvider() {
         // Given
-        when(providerRepository.findById(1L)).thenReturn(Optional.of(testProvider));
+        when(providerRepository.findWithImageUrlsByProviderId(1L)).thenReturn(Optional.of(testProvider));
 
         // When
         Optional<Provider> result = providerService.getProviderById(1L);
@@ -75,20 +89,20 @@ class ProviderServiceTest {
         // Then
         assertThat(result).isPresent();
         assertThat(result.get().getProviderId()).isEqualTo(1L);
-        verify(providerRepository).findById(1L);
+        verify(providerRepository).findWithImageUrlsByProviderId(1L);
     }
 
     @Test
     void getProviderByIdWithInvalidIdReturnsEmpty() {
         // Given
-        when(providerRepository.findById(999L)).thenReturn(Optional.empty());
+        when(providerRepository.findWithImageUrlsByProviderId(999L)).thenReturn(Optional.empty());
 
         // When
         Optional<Provider> result = providerService.getProviderById(999L);
 
         // Then
         assertThat(result).isEmpty();
-        verify(providerRepository).findById(999L);
+        verify(providerRepository).findWithImageUrlsByProviderId(999L);
     }
 
     @Test
@@ -183,4 +197,20 @@ class ProviderServiceTest {
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    @Test
+    void deleteProviderDropsTheHistogramsOfTheProviderAndItsServices() {
+        // Given
+        when(providerRepository.findById(1L)).thenReturn(Optional.of(testProvider));
+
+        // When
+        providerService.deleteProvider(1L);
+
+        // Then
+        InOrder inOrder = inOrder(ratingHistogramRepository, providerRepository);
+        inOrder.verify(ratingHistogramRepository).deleteServicesOfProvider(1L);
+        inOrder.verify(ratingHistogramRepository).deleteByOwner("PROVIDER", 1L);
+        inOrder.verify(providerRepository).delete(testProvider);
+        verify(eventPublisher).publishEvent(ProviderChangedEvent.deleted(1L));
+    }
 }
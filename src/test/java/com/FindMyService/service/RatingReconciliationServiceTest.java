@@ -0,0 +1,120 @@
+package com.FindMyService.service;
+
+import com.FindMyService.index.CatalogChangedEvent;
+import com.FindMyService.index.ProviderChangedEvent;
+import com.FindMyService.model.Provider;
+import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.dto.RatingReconciliationReportDto;
+import com.FindMyService.repository.ServiceCatalogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingReconciliationServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ServiceCatalogRepository serviceCatalogRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    private RatingReconciliationService ratingReconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        ratingReconciliationService = new RatingReconciliationService(jdbcTemplate, serviceCatalogRepository,
+                eventPublisher, cacheManager, transactionManager, 2, 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reconcileWritesOnlyDriftedRowsAndReportsDrift() {
+        // Given
+        when(jdbcTemplate.queryForList(startsWith("select provider_id"), eq(Long.class), eq(Long.MIN_VALUE), eq(2)))
+                .thenReturn(List.of());
+        when(jdbcTemplate.queryForList(startsWith("select service_id"), eq(Long.class), eq(Long.MIN_VALUE), eq(2)))
+                .thenReturn(List.of(1L, 2L));
+        when(jdbcTemplate.queryForList(startsWith("select service_id"), eq(Long.class), eq(2L), eq(2)))
+                .thenReturn(List.of(3L, 40000L));
+        when(jdbcTemplate.queryForList(startsWith("select service_id"), eq(Long.class), eq(40000L), eq(2)))
+                .thenReturn(List.of());
+        when(jdbcTemplate.query(startsWith("select s.service_id"), any(RowMapper.class), eq(1L), eq(2L))).thenReturn(List.of(
+                row(1, 2, "9.0", "4.5", 2, "9.0"),
+                row(2, 3, "12.0", "4.0", 2, "7.0")));
+        when(jdbcTemplate.query(startsWith("select s.service_id"), any(RowMapper.class), eq(3L), eq(40000L))).thenReturn(List.of(
+                row(3, 0, null, null, 0, "0"),
+                row(40000, 5, null, "4.2", 5, "21.0")));
+        when(jdbcTemplate.batchUpdate(startsWith("update services"), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> new int[][]{new int[((Collection<?>) invocation.getArgument(1)).size()]})
+                .thenAnswer(invocation -> new int[][]{{1}});
+        Provider provider = Provider.builder().providerId(7L).providerName("Acme").build();
+        when(serviceCatalogRepository.findWithProviderByServiceIdIn(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .map(id -> ServiceCatalog.builder().serviceId(id).providerId(provider).serviceName("S" + id).build())
+                    .toList();
+        });
+
+        // When
+        RatingReconciliationReportDto report = ratingReconciliationService.reconcile();
+
+        // Then
+        assertThat(report.getServicesScanned()).isEqualTo(4);
+        assertThat(report.getServicesCorrected()).isEqualTo(1);
+        assertThat(report.getSkipped()).isEqualTo(1);
+        assertThat(report.getProvidersScanned()).isZero();
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("update services"), anyCollection(), eq(1),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(eventPublisher).publishEvent(any(CatalogChangedEvent.class));
+        verify(eventPublisher, never()).publishEvent(any(ProviderChangedEvent.class));
+        verify(jdbcTemplate).update(startsWith("delete from rating_histograms"), eq("SERVICE"), eq(40000L));
+        verify(jdbcTemplate).update(contains("from feedbacks f where f.service_id = ?"), eq(40000L));
+        verify(jdbcTemplate, times(2)).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void aggregateRowDetectsDrift() {
+        assertThat(row(1, 2, "9.0", "4.5", 2, "9.0").drifted()).isFalse();
+        assertThat(row(1, 0, null, null, 0, "0").drifted()).isFalse();
+        assertThat(row(1, 3, "12.0", "4.0", 2, "7.0").drifted()).isTrue();
+        assertThat(row(1, 5, null, "4.2", 5, "21.0").drifted()).isTrue();
+        assertThat(row(1, 1, "3.0", "3.0", 0, "0").drifted()).isTrue();
+        assertThat(row(1, 3, "12.0", "4.0", 2, "7.0").averageDrift()).isEqualByComparingTo("0.5");
+        assertThat(row(1, 3, "13.0", null, 3, "13.0").actualAverage()).isEqualByComparingTo("4.3");
+    }
+
+    private static RatingReconciliationService.AggregateRow row(long id, int storedCount, String storedSum,
+                                                                String storedAverage, int actualCount, String actualSum) {
+        return new RatingReconciliationService.AggregateRow(id, storedCount,
+                storedSum != null ? new BigDecimal(storedSum) : null,
+                storedAverage != null ? new BigDecimal(storedAverage) : null,
+                actualCount, new BigDecimal(actualSum));
+    }
+}
@@ -0,0 +1,96 @@
+package com.FindMyService.service;
+
+import com.FindMyService.index.AttributesChangedEvent;
+import com.FindMyService.model.ServiceAttribute;
+import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.dto.ServiceAttributeDto;
+import com.FindMyService.repository.ServiceAttributeRepository;
+import com.FindMyService.repository.ServiceCatalogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceAttributeServiceTest {
+
+    @Mock
+    private ServiceAttributeRepository serviceAttributeRepository;
+
+    @Mock
+    private ServiceCatalogRepository serviceCatalogRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ServiceAttributeService serviceAttributeService;
+
+    private ServiceCatalog testService;
+
+    @BeforeEach
+    void setUp() {
+        testService = new ServiceCatalog();
+        testService.setServiceId(1L);
+    }
+
+    @Test
+    void addAttributeStoresCanonicalValueAndPublishesEvent() {
+        // Given
+        ServiceAttributeDto dto = ServiceAttributeDto.builder()
+                .attributeName("rating")
+                .attributeValue(" 4.50 ")
+                .valueType("FLOAT")
+                .build();
+        when(serviceCatalogRepository.findById(1L)).thenReturn(Optional.of(testService));
+        when(serviceAttributeRepository.save(any(ServiceAttribute.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ServiceAttributeDto result = serviceAttributeService.addAttribute(1L, dto);
+
+        // Then
+        assertThat(result.getAttributeValue()).isEqualTo("4.5");
+        assertThat(result.getValueType()).isEqualTo("float");
+        assertThat(result.getServiceId()).isEqualTo(1L);
+        verify(eventPublisher).publishEvent(new AttributesChangedEvent(1L));
+    }
+
+    @Test
+    void addAttributeWithValueNotMatchingTypeThrowsException() {
+        // Given
+        ServiceAttributeDto dto = ServiceAttributeDto.builder()
+                .attributeName("voltage")
+                .attributeValue("high")
+                .valueType("integer")
+                .build();
+        when(serviceCatalogRepository.findById(1L)).thenReturn(Optional.of(testService));
+
+        // When/Then
+        assertThatThrownBy(() -> serviceAttributeService.addAttribute(1L, dto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not a valid integer");
+        verify(serviceAttributeRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteAttributeWithUnknownIdThrowsException() {
+        // Given
+        when(serviceAttributeRepository.findByAttributeIdAndServiceId_ServiceId(9L, 1L)).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThatThrownBy(() -> serviceAttributeService.deleteAttribute(1L, 9L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Attribute not found");
+    }
+}
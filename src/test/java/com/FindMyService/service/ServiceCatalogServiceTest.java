@@ -1,24 +1,41 @@
 package com.FindMyService.service;
 
+import com.FindMyService.geo.ZipCentroidDirectory;
+import com.FindMyService.index.AttributeIndex;
+import com.FindMyService.index.CatalogChangedEvent;
+import com.FindMyService.index.CatalogFacetIndex;
 import com.FindMyService.model.Provider;
 import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.dto.CursorPageDto;
 import com.FindMyService.model.dto.ServiceCatalogDto;
+import com.FindMyService.model.dto.ServiceCatalogFilter;
+import com.FindMyService.model.enums.ServiceSort;
 import com.FindMyService.repository.ProviderRepository;
+import com.FindMyService.repository.RatingHistogramRepository;
 import com.FindMyService.repository.ServiceCatalogRepository;
+import com.FindMyService.utils.DtoMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +47,21 @@ class ServiceCatalogServiceTest {
     @Mock
     private ProviderRepository providerRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ZipCentroidDirectory zipCentroidDirectory;
+
+    @Mock
+    private CatalogFacetIndex catalogFacetIndex;
+
+    @Mock
+    private AttributeIndex attributeIndex;
+
+    @Mock
+    private RatingHistogramRepository ratingHistogramRepository;
+
     @InjectMocks
     private ServiceCatalogService serviceCatalogService;
 
@@ -67,10 +99,146 @@ class ServiceCatalogServiceTest {
         verify(serviceCatalogRepository).findAll();
     }
 
+    @Test
+    void getServicesPageReturnsNextCursorWhenMoreRowsExist() {
+        // Given
+        ServiceCatalogDto second = ServiceCatalogDto.builder().serviceId(2L).providerId(1L).build();
+        ServiceCatalogFilter filter = ServiceCatalogFilter.builder().active(true).build();
+        when(serviceCatalogRepository.findDtoPage(eq(filter), isNull(), eq(ServiceSort.SERVICE_ID), isNull(), isNull(), eq(2)))
+                .thenReturn(Arrays.asList(DtoMapper.toDto(testService), second));
+
+        // When
+        CursorPageDto<ServiceCatalogDto> page = serviceCatalogService.getServicesPage(filter, ServiceSort.SERVICE_ID, null, 1);
+
+        // Then
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getNextCursor()).isNotNull();
+    }
+
+    @Test
+    void getServicesPageResumesAfterCursor() {
+        // Given
+        when(serviceCatalogRepository.findDtoPage(any(), any(), eq(ServiceSort.SERVICE_ID), any(), any(), anyInt()))
+                .thenReturn(Arrays.asList(DtoMapper.toDto(testService), DtoMapper.toDto(testService)))
+                .thenReturn(List.of());
+        String cursor = serviceCatalogService.getServicesPage(null, ServiceSort.SERVICE_ID, null, 1).getNextCursor();
+
+        // When
+        CursorPageDto<ServiceCatalogDto> page = serviceCatalogService.getServicesPage(null, ServiceSort.SERVICE_ID, cursor, 1);
+
+        // Then
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        verify(serviceCatalogRepository).findDtoPage(isNull(), isNull(), eq(ServiceSort.SERVICE_ID), isNull(), eq(1L), eq(2));
+    }
+
+    @Test
+    void getServicesPageWithCursorForDifferentSortThrowsException() {
+        // Given
+        when(serviceCatalogRepository.findDtoPage(any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(Arrays.asList(DtoMapper.toDto(testService), DtoMapper.toDto(testService)));
+        String cursor = serviceCatalogService.getServicesPage(null, ServiceSort.SERVICE_ID, null, 1).getNextCursor();
+
+        // When/Then
+        assertThatThrownBy(() -> serviceCatalogService.getServicesPage(null, ServiceSort.AVG_RATING, cursor, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Cursor does not match sort");
+    }
+
+    @Test
+    void getServicesPageWithUnmatchedAttributeFilterSkipsQuery() {
+        // Given
+        ServiceCatalogFilter filter = ServiceCatalogFilter.builder().attributes("voltage>=220").build();
+        when(attributeIndex.match(any())).thenReturn(new long[0]);
+
+        // When
+        CursorPageDto<ServiceCatalogDto> page = serviceCatalogService.getServicesPage(filter, ServiceSort.SERVICE_ID, null, 10);
+
+        // Then
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.isHasMore()).isFalse();
+        verify(serviceCatalogRepository, never()).findDtoPage(any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getServicesPageWalksBroadAttributeMatchInBoundedIdChunks() {
+        // Given
+        ServiceCatalogFilter filter = ServiceCatalogFilter.builder().attributes("voltage>=220").build();
+        long[] matched = LongStream.rangeClosed(1, 2500).toArray();
+        when(attributeIndex.match(any())).thenReturn(matched);
+        when(serviceCatalogRepository.findDtoPage(any(), any(), any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        // When
+        serviceCatalogService.getServicesPage(filter, ServiceSort.SERVICE_ID, null, 10);
+
+        // Then
+        ArgumentCaptor<Collection<Long>> chunks = ArgumentCaptor.captor();
+        verify(serviceCatalogRepository, times(3))
+                .findDtoPage(eq(filter), chunks.capture(), eq(ServiceSort.SERVICE_ID), isNull(), isNull(), eq(11));
+        assertThat(chunks.getAllValues()).extracting(Collection::size)
+                .containsExactly(ServiceCatalogService.MAX_IN_LIST, ServiceCatalogService.MAX_IN_LIST, 500);
+        assertThat(filter.getAttributes()).isEqualTo("voltage>=220");
+    }
+
+    @Test
+    void getServicesPageFiltersBroadAttributeMatchInMemoryForOtherSorts() {
+        // Given
+        ServiceCatalogFilter filter = ServiceCatalogFilter.builder().attributes("voltage>=220").build();
+        long[] matched = LongStream.rangeClosed(1, 2000).map(id -> id * 2).toArray();
+        when(attributeIndex.match(any())).thenReturn(matched);
+        List<ServiceCatalogDto> scanned = LongStream.rangeClosed(1, 6)
+                .mapToObj(id -> ServiceCatalogDto.builder().serviceId(id).avgRating(new BigDecimal("4.5")).build())
+                .toList();
+        when(serviceCatalogRepository.findDtoPage(eq(filter), isNull(), eq(ServiceSort.AVG_RATING), isNull(), isNull(),
+                eq(ServiceCatalogService.MAX_IN_LIST))).thenReturn(scanned);
+
+        // When
+        CursorPageDto<ServiceCatalogDto> page = serviceCatalogService.getServicesPage(filter, ServiceSort.AVG_RATING, null, 2);
+
+        // Then
+        assertThat(page.getItems()).extracting(ServiceCatalogDto::getServiceId).containsExactly(2L, 4L);
+        assertThat(page.isHasMore()).isTrue();
+    }
+
+    @Test
+    void getServicesPageResolvesLocationThroughFacetIndexAndIntersectsAttributes() {
+        // Given
+        ServiceCatalogFilter filter = ServiceCatalogFilter.builder().location("Zurich").attributes("voltage>=220").build();
+        when(attributeIndex.match(any())).thenReturn(new long[]{1L, 2L, 5L});
+        when(catalogFacetIndex.matchLocation("Zurich")).thenReturn(new long[]{2L, 3L, 5L});
+        when(serviceCatalogRepository.findDtoPage(any(), any(), any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        // When
+        serviceCatalogService.getServicesPage(filter, ServiceSort.SERVICE_ID, null, 10);
+
+        // Then
+        verify(serviceCatalogRepository)
+                .findDtoPage(eq(filter), eq(List.of(2L, 5L)), eq(ServiceSort.SERVICE_ID), isNull(), isNull(), eq(11));
+    }
+
+    @Test
+    void getIndexedMatchVersionChangesWhenMatchedServicesChange() {
+        // Given
+        ServiceCatalogFilter filter = ServiceCatalogFilter.builder().attributes("voltage>=220").build();
+        when(attributeIndex.match(any())).thenReturn(new long[]{1L, 3L}, new long[]{1L, 3L}, new long[]{1L, 4L});
+
+        // When
+        String first = serviceCatalogService.getIndexedMatchVersion(filter);
+        String unchanged = serviceCatalogService.getIndexedMatchVersion(filter);
+        String moved = serviceCatalogService.getIndexedMatchVersion(filter);
+
+        // Then
+        assertThat(unchanged).isEqualTo(first);
+        assertThat(moved).isNotEqualTo(first);
+        assertThat(serviceCatalogService.getIndexedMatchVersion(ServiceCatalogFilter.builder().build())).isEmpty();
+    }
+
     @Test
     void getServiceByIdWithValidIdReturnsService() {
         // Given
-        when(serviceCatalogRepository.findById(1L)).thenReturn(Optional.of(testService));
+        when(serviceCatalogRepository.findWithProviderByServiceId(1L)).thenReturn(Optional.of(testService));
 
         // When
         Optional<ServiceCatalog> result = serviceCatalogService.getServiceById(1L);
@@ -78,45 +246,46 @@ class ServiceCatalogServiceTest {
         // Then
         assertThat(result).isPresent();
         assertThat(result.get().getServiceId()).isEqualTo(1L);
-        verify(serviceCatalogRepository).findById(1L);
+        verify(serviceCatalogRepository).findWithProviderByServiceId(1L);
     }
 
     @Test
     void getServiceByIdWithInvalidIdReturnsEmpty() {
         // Given
-        when(serviceCatalogRepository.findById(999L)).thenReturn(Optional.empty());
+        when(serviceCatalogRepository.findWithProviderByServiceId(999L)).thenReturn(Optional.empty());
 
         // When
         Optional<ServiceCatalog> result = serviceCatalogService.getServiceById(999L);
 
         // Then
         assertThat(result).isEmpty();
-        verify(serviceCatalogRepository).findById(999L);
+        verify(serviceCatalogRepository).findWithProviderByServiceId(999L);
     }
 
     @Test
     void getServicesByProviderWithValidProviderIdReturnsServices() {
         // Given
         when(providerRepository.existsById(1L)).thenReturn(true);
-        when(serviceCatalogRepository.findByProviderId_ProviderId(1L))
-                .thenReturn(Arrays.asList(testService));
+        when(serviceCatalogRepository.findDtosByProviderId(1L))
+                .thenReturn(List.of(DtoMapper.toDto(testService)));
 
         // When
-        List<ServiceCatalog> result = serviceCatalogService.getServicesByProvider(1L);
+        List<ServiceCatalogDto> result = serviceCatalogService.getServicesByProvider(1L);
 
         // Then
         assertThat(result).hasSize(1);
-        verify(serviceCatalogRepository).findByProviderId_ProviderId(1L);
+        assertThat(result.getFirst().getProviderName()).isEqualTo(testProvider.getProviderName());
+        verify(serviceCatalogRepository).findDtosByProviderId(1L);
     }
 
     @Test
     void getServicesByProviderWithNullProviderIdReturnsEmptyList() {
         // When
-        List<ServiceCatalog> result = serviceCatalogService.getServicesByProvider(null);
+        List<ServiceCatalogDto> result = serviceCatalogService.getServicesByProvider(null);
 
         // Then
         assertThat(result).isEmpty();
-        verify(serviceCatalogRepository, never()).findByProviderId_ProviderId(any());
+        verify(serviceCatalogRepository, never()).findDtosByProviderId(any());
     }
 
     @Test
@@ -125,11 +294,11 @@ class ServiceCatalogServiceTest {
         when(providerRepository.existsById(999L)).thenReturn(false);
 
         // When
-        List<ServiceCatalog> result = serviceCatalogService.getServicesByProvider(999L);
+        List<ServiceCatalogDto> result = serviceCatalogService.getServicesByProvider(999L);
 
         // Then
         assertThat(result).isEmpty();
-        verify(serviceCatalogRepository, never()).findByProviderId_ProviderId(any());
+        verify(serviceCatalogRepository, never()).findDtosByProviderId(any());
     }
 
     @Test
@@ -145,6 +314,7 @@ class ServiceCatalogServiceTest {
         assertThat(result).isNotNull();
         verify(providerRepository).findById(1L);
         verify(serviceCatalogRepository).save(any(ServiceCatalog.class));
+        verify(eventPublisher).publishEvent(any(CatalogChangedEvent.class));
     }
 
     @Test
@@ -176,6 +346,44 @@ class ServiceCatalogServiceTest {
         verify(serviceCatalogRepository).save(any(ServiceCatalog.class));
     }
 
+    @Test
+    void updateServiceMovedToUnknownLocationClearsOldCoordinates() {
+        // Given
+        testService.setLocation("411001");
+        testService.setLatitude(18.52);
+        testService.setLongitude(73.85);
+        when(serviceCatalogRepository.findById(1L)).thenReturn(Optional.of(testService));
+        when(zipCentroidDirectory.resolve("Somewhere else")).thenReturn(Optional.empty());
+        when(serviceCatalogRepository.save(any(ServiceCatalog.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ServiceCatalogDto result = serviceCatalogService.updateService(1L,
+                ServiceCatalogDto.builder().location("Somewhere else").build());
+
+        // Then
+        assertThat(result.getLocation()).isEqualTo("Somewhere else");
+        assertThat(result.getLatitude()).isNull();
+        assertThat(result.getLongitude()).isNull();
+    }
+
+    @Test
+    void updateServiceWithUnchangedLocationKeepsCoordinates() {
+        // Given
+        testService.setLocation("Somewhere");
+        testService.setLatitude(18.52);
+        testService.setLongitude(73.85);
+        when(serviceCatalogRepository.findById(1L)).thenReturn(Optional.of(testService));
+        when(serviceCatalogRepository.save(any(ServiceCatalog.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ServiceCatalogDto result = serviceCatalogService.updateService(1L,
+                ServiceCatalogDto.builder().location("Somewhere").build());
+
+        // Then
+        assertThat(result.getLatitude()).isEqualTo(18.52);
+        verifyNoInteractions(zipCentroidDirectory);
+    }
+
     @Test
     void updateServiceWithInvalidServiceIdThrowsException() {
         // Given
@@ -201,5 +409,7 @@ class ServiceCatalogServiceTest {
         // Then
         verify(serviceCatalogRepository).findById(1L);
         verify(serviceCatalogRepository).delete(any(ServiceCatalog.class));
+        verify(ratingHistogramRepository).deleteByOwner("SERVICE", 1L);
+        verify(eventPublisher).publishEvent(CatalogChangedEvent.removed(1L));
     }
 }
@@ -0,0 +1,185 @@
+package com.FindMyService.service;
+
+import com.FindMyService.geo.ZipCentroidDirectory;
+import com.FindMyService.index.CatalogChangedEvent;
+import com.FindMyService.model.Provider;
+import com.FindMyService.model.ServiceCatalog;
+import com.FindMyService.model.dto.ImportErrorDto;
+import com.FindMyService.model.dto.ImportReportDto;
+import com.FindMyService.model.enums.DataFormat;
+import com.FindMyService.model.id.TimeOrderedIds;
+import com.FindMyService.repository.ProviderRepository;
+import com.FindMyService.repository.ServiceCatalogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ProviderRepository providerRepository;
+
+    @Mock
+    private ServiceCatalogRepository serviceCatalogRepository;
+
+    @Mock
+    private ZipCentroidDirectory zipCentroidDirectory;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    private ServiceImportService serviceImportService;
+
+    @BeforeEach
+    void setUp() {
+        serviceImportService = new ServiceImportService(jdbcTemplate, providerRepository, serviceCatalogRepository,
+                zipCentroidDirectory, eventPublisher, cacheManager, transactionManager, new ObjectMapper(),
+                new TimeOrderedIds(0));
+    }
+
+    @Test
+    void importServicesRejectsUnknownProvider() {
+        // Given
+        when(providerRepository.existsById(99L)).thenReturn(false);
+
+        // When / Then
+        assertThatThrownBy(() -> serviceImportService.importServices(99L, DataFormat.CSV, body("serviceName\nA\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Provider not found");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void importServicesReportsInvalidRowsWithoutWriting() throws IOException {
+        // Given
+        when(providerRepository.existsById(1L)).thenReturn(true);
+        String ndjson = """
+                {"serviceName":"Plumbing","cost":-5}
+                {"serviceName":"Wiring","providerId":2}
+                {"cost":10}
+                {"serviceName":
+
+                {"serviceName":"Painting","latitude":91,"longitude":10}
+                """;
+
+        // When
+        ImportReportDto report = serviceImportService.importServices(1L, DataFormat.NDJSON, body(ndjson));
+
+        // Then
+        assertThat(report.getReceived()).isEqualTo(5);
+        assertThat(report.getFailed()).isEqualTo(5);
+        assertThat(report.getCreated()).isZero();
+        assertThat(report.getErrors()).extracting(ImportErrorDto::getRow).containsExactly(1, 2, 3, 4, 5);
+        assertThat(report.getErrors().get(3).getMessage()).startsWith("Malformed row");
+        verifyNoInteractions(jdbcTemplate, eventPublisher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importServicesUpsertsValidRowsAndPublishesChanges() throws IOException {
+        // Given
+        when(providerRepository.existsById(1L)).thenReturn(true);
+        Provider provider = Provider.builder().providerId(1L).providerName("Acme").build();
+        when(serviceCatalogRepository.findWithProviderByProviderId_ProviderIdAndUpdatedAt(eq(1L), any(Instant.class)))
+                .thenAnswer(invocation -> {
+                    Instant now = invocation.getArgument(1);
+                    return List.of(
+                            ServiceCatalog.builder().serviceId(10L).providerId(provider).serviceName("Plumbing")
+                                    .cost(new BigDecimal("40")).active(true).createdAt(now).updatedAt(now).build(),
+                            ServiceCatalog.builder().serviceId(11L).providerId(provider).serviceName("Wiring")
+                                    .cost(new BigDecimal("55")).active(true).createdAt(now.minusSeconds(3600)).updatedAt(now).build());
+                });
+        String csv = """
+                serviceName,cost,location
+                Plumbing,40,Pune
+                Wiring,55,
+                plumbing,12,
+                """;
+
+        // When
+        ImportReportDto report = serviceImportService.importServices(1L, DataFormat.CSV, body(csv));
+
+        // Then
+        assertThat(report.getReceived()).isEqualTo(3);
+        assertThat(report.getCreated()).isEqualTo(1);
+        assertThat(report.getUpdated()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getErrors().getFirst().getMessage()).isEqualTo("Duplicate serviceName in import");
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList(), eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(eventPublisher, times(2)).publishEvent(any(CatalogChangedEvent.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importServicesRetriesFailedBatchRowByRowAndReportsRejectedRows() throws IOException {
+        // Given
+        when(providerRepository.existsById(1L)).thenReturn(true);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    List<?> rows = invocation.getArgument(1);
+                    if (rows.size() > 1 || rows.toString().contains("Wiring")) {
+                        throw new DataIntegrityViolationException("Data too long for column 'description'");
+                    }
+                    return new int[][]{{1}};
+                });
+        Provider provider = Provider.builder().providerId(1L).providerName("Acme").build();
+        when(serviceCatalogRepository.findWithProviderByProviderId_ProviderIdAndUpdatedAt(eq(1L), any(Instant.class)))
+                .thenAnswer(invocation -> {
+                    Instant now = invocation.getArgument(1);
+                    return List.of(ServiceCatalog.builder().serviceId(10L).providerId(provider).serviceName("Row")
+                            .active(true).createdAt(now).updatedAt(now).build());
+                });
+        String csv = "serviceName,imageUrl\nPlumbing,\nTiling," + "x".repeat(256) + "\nWiring,\nPainting,\n";
+
+        // When
+        ImportReportDto report = serviceImportService.importServices(1L, DataFormat.CSV, body(csv));
+
+        // Then
+        assertThat(report.getReceived()).isEqualTo(4);
+        assertThat(report.getCreated()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(ImportErrorDto::getRow).containsExactly(2, 3);
+        assertThat(report.getErrors().get(0).getMessage()).isEqualTo("imageUrl must be at most 255 characters");
+        assertThat(report.getErrors().get(1).getServiceName()).isEqualTo("Wiring");
+        assertThat(report.getErrors().get(1).getMessage()).startsWith("Rejected by the database");
+        verify(jdbcTemplate, times(4)).batchUpdate(anyString(), anyList(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}